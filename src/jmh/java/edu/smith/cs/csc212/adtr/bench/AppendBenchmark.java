@@ -0,0 +1,46 @@
+package edu.smith.cs.csc212.adtr.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+
+/**
+ * Build a list of n items with addBack, like an event log. If addBack is O(1) the time grows
+ * linearly with n (10x the items, 10x the time); if it walks the list, it grows quadratically (100x).
+ *
+ * @author jfoley
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppendBenchmark {
+	@Param({"SINGLY", "DOUBLY", "GROWABLE"})
+	public ListKind kind;
+
+	@Param({"1000", "10000", "100000"})
+	public int n;
+
+	@Benchmark
+	public ListADT<Integer> appendAll() {
+		ListADT<Integer> list = kind.make(n, 64);
+		for (int i=0; i<n; i++) {
+			list.addBack(i);
+		}
+		return list;
+	}
+}
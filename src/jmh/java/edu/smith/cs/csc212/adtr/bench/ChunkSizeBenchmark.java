@@ -0,0 +1,96 @@
+package edu.smith.cs.csc212.adtr.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.real.ChunkyArrayList;
+
+/**
+ * ChunkyArrayList's one knob: small chunks make adds in the middle cheap, big chunks make
+ * getIndex and iteration cheap. This measures both sides at a few sizes.
+ *
+ * @author jfoley
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkSizeBenchmark {
+	private static final int INDEXES = 1024;
+
+	@Param({"8", "64", "512", "4096"})
+	public int chunkSize;
+
+	@Param({"1000", "100000", "10000000"})
+	public int size;
+
+	private ListADT<Integer> list;
+	private int[] indexes;
+	private int next;
+	private Integer item;
+
+	@Setup
+	public void setup() {
+		list = new ChunkyArrayList<>(chunkSize);
+		for (int i=0; i<size; i++) {
+			list.addBack(i);
+		}
+		Random rand = new Random(13);
+		indexes = new int[INDEXES];
+		for (int i=0; i<INDEXES; i++) {
+			indexes[i] = rand.nextInt(size);
+		}
+		item = 42;
+	}
+
+	private int nextIndex() {
+		return indexes[(next++) & (INDEXES - 1)];
+	}
+
+	@Benchmark
+	public Integer addRemoveIndex() {
+		int index = nextIndex();
+		list.addIndex(index, item);
+		return list.removeIndex(index);
+	}
+
+	@Benchmark
+	public Integer addRemoveFront() {
+		list.addFront(item);
+		return list.removeFront();
+	}
+
+	@Benchmark
+	public Integer getIndex() {
+		return list.getIndex(nextIndex());
+	}
+
+	@Benchmark
+	public void setIndex() {
+		list.setIndex(nextIndex(), item);
+	}
+
+	@Benchmark
+	public void iterate(Blackhole bh) {
+		for (Integer x : list) {
+			bh.consume(x);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package edu.smith.cs.csc212.adtr.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.real.DoublyLinkedList;
+import edu.smith.cs.csc212.adtr.real.SinglyLinkedList;
+
+/**
+ * A busy queue: push on the back, pop off the front, with and without a node pool.
+ * Run it with the GC profiler to see the allocation per op drop:
+ * <pre>java -jar target/benchmarks.jar ChurnBenchmark -prof gc</pre>
+ *
+ * @author jfoley
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChurnBenchmark {
+	@Param({"SINGLY", "DOUBLY"})
+	public ListKind kind;
+
+	/**
+	 * How many spare nodes each list keeps; 0 is no pool.
+	 */
+	@Param({"0", "1024"})
+	public int poolCapacity;
+
+	/**
+	 * Jobs already waiting in the queue.
+	 */
+	@Param({"1000"})
+	public int backlog;
+
+	private ListADT<Integer> queue;
+	private final Integer job = 42;
+
+	@Setup
+	public void setup() {
+		switch (kind) {
+		case SINGLY:
+			queue = new SinglyLinkedList<>(poolCapacity);
+			break;
+		case DOUBLY:
+			queue = new DoublyLinkedList<>(poolCapacity);
+			break;
+		default:
+			throw new IllegalArgumentException("only linked lists have node pools: "+kind);
+		}
+		for (int i=0; i<backlog; i++) {
+			queue.addBack(i);
+		}
+	}
+
+	@Benchmark
+	public Integer pushPop() {
+		queue.addBack(job);
+		return queue.removeFront();
+	}
+}
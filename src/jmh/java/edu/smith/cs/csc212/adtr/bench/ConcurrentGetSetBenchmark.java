@@ -0,0 +1,95 @@
+package edu.smith.cs.csc212.adtr.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.concurrent.ConcurrentChunkyArrayList;
+import edu.smith.cs.csc212.adtr.real.ChunkyArrayList;
+
+/**
+ * Random getIndex/setIndex from many threads: ConcurrentChunkyArrayList against a ChunkyArrayList
+ * behind one synchronized lock. Change the thread count with -t, e.g.
+ * <pre>java -jar target/benchmarks.jar ConcurrentGetSetBenchmark -t 1 -t 32</pre>
+ * (JMH runs each -t separately; compare the total ops/s to see how it scales.)
+ *
+ * @author jfoley
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentGetSetBenchmark {
+	@Param({"CONCURRENT", "SYNCHRONIZED"})
+	public String locking;
+
+	@Param({"1000000"})
+	public int size;
+
+	@Param({"256"})
+	public int chunkSize;
+
+	private ListADT<Integer> list;
+	private boolean synchronize;
+	private final Integer item = 42;
+
+	@Setup
+	public void setup() {
+		synchronize = locking.equals("SYNCHRONIZED");
+		list = synchronize ? new ChunkyArrayList<>(chunkSize) : new ConcurrentChunkyArrayList<>(chunkSize);
+		for (int i=0; i<size; i++) {
+			list.addBack(i);
+		}
+	}
+
+	@Benchmark
+	public Integer get() {
+		int index = ThreadLocalRandom.current().nextInt(size);
+		if (synchronize) {
+			synchronized (list) {
+				return list.getIndex(index);
+			}
+		}
+		return list.getIndex(index);
+	}
+
+	@Benchmark
+	public void set() {
+		int index = ThreadLocalRandom.current().nextInt(size);
+		if (synchronize) {
+			synchronized (list) {
+				list.setIndex(index, item);
+			}
+			return;
+		}
+		list.setIndex(index, item);
+	}
+
+	/**
+	 * 90% reads, 10% writes.
+	 */
+	@Benchmark
+	public Integer mixed() {
+		ThreadLocalRandom rand = ThreadLocalRandom.current();
+		if (rand.nextInt(10) == 0) {
+			set();
+			return null;
+		}
+		return get();
+	}
+}
@@ -0,0 +1,71 @@
+package edu.smith.cs.csc212.adtr.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.concurrent.LockFreeDeque;
+import edu.smith.cs.csc212.adtr.real.DoublyLinkedList;
+
+/**
+ * A job queue: every thread puts a job on the back and takes one off the front.
+ * LockFreeDeque against a DoublyLinkedList behind one synchronized lock; change the thread count with -t:
+ * <pre>java -jar target/benchmarks.jar DequeThroughputBenchmark -t 1 -t 2 -t 4 -t 8 -t 16 -t 32</pre>
+ *
+ * @author jfoley
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DequeThroughputBenchmark {
+	@Param({"LOCK_FREE", "SYNCHRONIZED"})
+	public String locking;
+
+	/**
+	 * Jobs already waiting; every thread adds before it removes, so the queue never runs dry.
+	 */
+	@Param({"1000"})
+	public int backlog;
+
+	private ListADT<Integer> queue;
+	private boolean synchronize;
+	private final Integer job = 42;
+
+	@Setup
+	public void setup() {
+		synchronize = locking.equals("SYNCHRONIZED");
+		queue = synchronize ? new DoublyLinkedList<>() : new LockFreeDeque<>();
+		for (int i=0; i<backlog; i++) {
+			queue.addBack(i);
+		}
+	}
+
+	@Benchmark
+	public Integer addBackRemoveFront() {
+		if (synchronize) {
+			synchronized (queue) {
+				queue.addBack(job);
+			}
+			synchronized (queue) {
+				return queue.removeFront();
+			}
+		}
+		queue.addBack(job);
+		return queue.removeFront();
+	}
+}
@@ -0,0 +1,70 @@
+package edu.smith.cs.csc212.adtr.bench;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.real.ChunkyArrayList;
+import edu.smith.cs.csc212.adtr.real.DoublyLinkedList;
+import edu.smith.cs.csc212.adtr.real.FixedSizeList;
+import edu.smith.cs.csc212.adtr.real.GrowableDeque;
+import edu.smith.cs.csc212.adtr.real.GrowableList;
+import edu.smith.cs.csc212.adtr.real.IndexLinkedList;
+import edu.smith.cs.csc212.adtr.real.JavaList;
+import edu.smith.cs.csc212.adtr.real.SinglyLinkedList;
+import edu.smith.cs.csc212.adtr.real.SkipList;
+import edu.smith.cs.csc212.adtr.real.TreeList;
+
+/**
+ * Every ListADT we want numbers for, by name, so JMH can take it as a @Param.
+ *
+ * @author jfoley
+ *
+ */
+public enum ListKind {
+	GROWABLE, DEQUE, CHUNKY, FIXED, SINGLY, DOUBLY, INDEXED, SKIP, TREE, JAVA;
+
+	/**
+	 * Make an empty list of this kind.
+	 * @param capacity - how many items it will hold (only FixedSizeList needs to know).
+	 * @param chunkSize - the chunk size for ChunkyArrayList.
+	 * @return a new, empty list.
+	 */
+	public ListADT<Integer> make(int capacity, int chunkSize) {
+		switch (this) {
+		case GROWABLE:
+			return new GrowableList<>();
+		case DEQUE:
+			return new GrowableDeque<>();
+		case CHUNKY:
+			return new ChunkyArrayList<>(chunkSize);
+		case FIXED:
+			return new FixedSizeList<>(capacity);
+		case SINGLY:
+			return new SinglyLinkedList<>();
+		case DOUBLY:
+			return new DoublyLinkedList<>();
+		case INDEXED:
+			return new IndexLinkedList<>();
+		case SKIP:
+			return new SkipList<>();
+		case TREE:
+			return new TreeList<>();
+		case JAVA:
+			return new JavaList<>();
+		default:
+			throw new IllegalArgumentException(this.name());
+		}
+	}
+
+	/**
+	 * Make a list of this kind holding 0, 1, ..., size-1.
+	 * @param size - how many items.
+	 * @param chunkSize - the chunk size for ChunkyArrayList.
+	 * @return the filled list, with room for a few more items.
+	 */
+	public ListADT<Integer> filled(int size, int chunkSize) {
+		ListADT<Integer> list = make(size + 16, chunkSize);
+		for (int i=0; i<size; i++) {
+			list.addBack(i);
+		}
+		return list;
+	}
+}
@@ -0,0 +1,126 @@
+package edu.smith.cs.csc212.adtr.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+
+/**
+ * Every ListADT operation, on every kind of list, at sizes from 10 to 10 million.
+ *
+ * Adds are paired with a remove at the same end, so the list stays the same size for the whole run.
+ * Run with "-prof gc" to see allocation rates too, e.g.
+ * <pre>java -jar target/benchmarks.jar ListOpsBenchmark -p kind=GROWABLE,CHUNKY -prof gc</pre>
+ * Positional operations on the linked lists are O(n), so the 10M runs of those take a while.
+ *
+ * @author jfoley
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListOpsBenchmark {
+	/**
+	 * How many random indexes we cycle through; a power of two, so we can use a mask.
+	 */
+	private static final int INDEXES = 1024;
+
+	@Param({"GROWABLE", "DEQUE", "CHUNKY", "FIXED", "SINGLY", "DOUBLY", "INDEXED", "SKIP", "TREE", "JAVA"})
+	public ListKind kind;
+
+	@Param({"10", "1000", "100000", "10000000"})
+	public int size;
+
+	/**
+	 * Only used by CHUNKY; see ChunkSizeBenchmark for other chunk sizes.
+	 */
+	@Param({"64"})
+	public int chunkSize;
+
+	private ListADT<Integer> list;
+	private int[] indexes;
+	private int next;
+	private Integer item;
+
+	@Setup
+	public void setup() {
+		list = kind.filled(size, chunkSize);
+		Random rand = new Random(13);
+		indexes = new int[INDEXES];
+		for (int i=0; i<INDEXES; i++) {
+			indexes[i] = rand.nextInt(size);
+		}
+		item = 42;
+	}
+
+	private int nextIndex() {
+		return indexes[(next++) & (INDEXES - 1)];
+	}
+
+	@Benchmark
+	public Integer addRemoveFront() {
+		list.addFront(item);
+		return list.removeFront();
+	}
+
+	@Benchmark
+	public Integer addRemoveBack() {
+		list.addBack(item);
+		return list.removeBack();
+	}
+
+	@Benchmark
+	public Integer addRemoveIndex() {
+		int index = nextIndex();
+		list.addIndex(index, item);
+		return list.removeIndex(index);
+	}
+
+	@Benchmark
+	public Integer getIndex() {
+		return list.getIndex(nextIndex());
+	}
+
+	@Benchmark
+	public void setIndex() {
+		list.setIndex(nextIndex(), item);
+	}
+
+	@Benchmark
+	public Integer getFront() {
+		return list.getFront();
+	}
+
+	@Benchmark
+	public Integer getBack() {
+		return list.getBack();
+	}
+
+	@Benchmark
+	public int size() {
+		return list.size();
+	}
+
+	@Benchmark
+	public void iterate(Blackhole bh) {
+		for (Integer x : list) {
+			bh.consume(x);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package edu.smith.cs.csc212.adtr.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.concurrent.CopyOnWriteList;
+import edu.smith.cs.csc212.adtr.real.GrowableList;
+
+/**
+ * A small table that every thread reads: CopyOnWriteList against a GrowableList behind one
+ * synchronized lock. Change the thread count with -t, e.g.
+ * <pre>java -jar target/benchmarks.jar ReadMostlyBenchmark -t 1 -t 8</pre>
+ *
+ * @author jfoley
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadMostlyBenchmark {
+	@Param({"COPY_ON_WRITE", "SYNCHRONIZED"})
+	public String locking;
+
+	@Param({"100", "10000"})
+	public int size;
+
+	private ListADT<Integer> table;
+	private boolean synchronize;
+
+	@Setup
+	public void setup() {
+		synchronize = locking.equals("SYNCHRONIZED");
+		table = synchronize ? new GrowableList<>() : new CopyOnWriteList<>();
+		for (int i=0; i<size; i++) {
+			table.addBack(i);
+		}
+	}
+
+	@Benchmark
+	public Integer get() {
+		int index = ThreadLocalRandom.current().nextInt(size);
+		if (synchronize) {
+			synchronized (table) {
+				return table.getIndex(index);
+			}
+		}
+		return table.getIndex(index);
+	}
+
+	/**
+	 * Walk the whole table, like looking up a route by scanning it.
+	 */
+	@Benchmark
+	public long scan() {
+		if (synchronize) {
+			synchronized (table) {
+				return sum();
+			}
+		}
+		return sum();
+	}
+
+	private long sum() {
+		long total = 0;
+		for (int x : table) {
+			total += x;
+		}
+		return total;
+	}
+}
@@ -0,0 +1,75 @@
+package edu.smith.cs.csc212.adtr.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.real.DoublyLinkedList;
+import edu.smith.cs.csc212.adtr.real.IndexLinkedList;
+
+/**
+ * Walk a linked list that was built by inserting at random places, so neighbors were made far apart in time.
+ * DoublyLinkedList chases Node pointers; IndexLinkedList follows int links through arrays,
+ * and after defragment() reads the arrays straight through.
+ *
+ * @author jfoley
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraversalBenchmark {
+	@Param({"DOUBLY", "INDEXED", "DEFRAGMENTED"})
+	public String layout;
+
+	@Param({"100000", "1000000"})
+	public int size;
+
+	private ListADT<Integer> list;
+
+	@Setup
+	public void setup() {
+		IndexLinkedList<Integer> indexed = null;
+		if (layout.equals("DOUBLY")) {
+			list = new DoublyLinkedList<>();
+		} else {
+			list = indexed = new IndexLinkedList<>();
+		}
+		Random rand = new Random(42);
+		for (int i=0; i<size; i++) {
+			// the finger makes inserts near the last one cheap, so hop around only a little.
+			int where = Math.max(0, list.size() - rand.nextInt(64));
+			list.addIndex(Math.min(where, list.size()), i);
+			if (i % 64 == 0 && list.size() > 1) {
+				list.removeIndex(rand.nextInt(list.size()));
+			}
+		}
+		if (layout.equals("DEFRAGMENTED")) {
+			indexed.defragment();
+		}
+	}
+
+	@Benchmark
+	public long sum() {
+		long total = 0;
+		for (int x : list) {
+			total += x;
+		}
+		return total;
+	}
+}
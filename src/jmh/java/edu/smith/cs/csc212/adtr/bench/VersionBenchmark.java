@@ -0,0 +1,78 @@
+package edu.smith.cs.csc212.adtr.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.smith.cs.csc212.adtr.persistent.PersistentVector;
+import edu.smith.cs.csc212.adtr.real.GrowableList;
+
+/**
+ * "Version N+1 is version N with one change": a PersistentVector shares everything but one path,
+ * while a GrowableList has to be copied in full first.
+ *
+ * @author jfoley
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionBenchmark {
+	@Param({"1000", "1000000"})
+	public int size;
+
+	private PersistentVector<Integer> vector;
+	private GrowableList<Integer> list;
+	private final Integer item = 42;
+
+	@Setup
+	public void setup() {
+		PersistentVector.Builder<Integer> builder = PersistentVector.builder();
+		list = new GrowableList<>(size);
+		for (int i=0; i<size; i++) {
+			builder.addBack(i);
+			list.addBack(i);
+		}
+		vector = builder.build();
+	}
+
+	@Benchmark
+	public PersistentVector<Integer> persistentSet() {
+		return vector.withIndex(ThreadLocalRandom.current().nextInt(size), item);
+	}
+
+	@Benchmark
+	public PersistentVector<Integer> persistentAppend() {
+		return vector.withBack(item);
+	}
+
+	@Benchmark
+	public GrowableList<Integer> copySet() {
+		GrowableList<Integer> copy = new GrowableList<>(size);
+		copy.addAllBack(list);
+		copy.setIndex(ThreadLocalRandom.current().nextInt(size), item);
+		return copy;
+	}
+
+	@Benchmark
+	public GrowableList<Integer> copyAppend() {
+		GrowableList<Integer> copy = new GrowableList<>(size + 1);
+		copy.addAllBack(list);
+		copy.addBack(item);
+		return copy;
+	}
+}
@@ -1,9 +1,15 @@
 package edu.smith.cs.csc212.adtr;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import edu.smith.cs.csc212.adtr.errors.BadIndexError;
 import edu.smith.cs.csc212.adtr.errors.EmptyListError;
@@ -16,6 +22,19 @@ import edu.smith.cs.csc212.adtr.errors.EmptyListError;
  * @param <ItemType> - the type of the item stored in this list.
  */
 public abstract class ListADT<ItemType> implements Iterable<ItemType> {
+	/**
+	 * How many times has this list been added to or removed from?
+	 * Implementations bump this on every add or remove (but not setIndex),
+	 * so iterators can notice the list changing underneath them.
+	 */
+	protected int modCount = 0;
+	
+	/**
+	 * Lists that keep a running count of their items double-check it against a full walk
+	 * whenever size() is called, if you run with -Dadtr.verifySize=true.
+	 * This makes size() O(n) again, so it's only for tests and debugging.
+	 */
+	protected static final boolean VERIFY_SIZE = Boolean.getBoolean("adtr.verifySize");
 
 	/**
 	 * Is this list of size zero? Might be easier than counting all the elements.
@@ -82,6 +101,81 @@ public abstract class ListADT<ItemType> implements Iterable<ItemType> {
 	 */
 	public abstract void addBack(ItemType value);
 
+	/**
+	 * Add all of these items before the item at the given index, in order.
+	 * Implementations make room for all of them at once, instead of once per item.
+	 * 
+	 * @param index - a number from 0 to size (inclusive).
+	 * @param items - the items to insert; may be this list itself.
+	 */
+	public void addAll(int index, ListADT<? extends ItemType> items) {
+		checkInclusiveIndex(index);
+		Object[] array = items.toArray();
+		insertAll(index, array, array.length);
+	}
+	
+	/**
+	 * Add all of these items before the item at the given index, in order.
+	 * 
+	 * @param index - a number from 0 to size (inclusive).
+	 * @param items - the items to insert; the array is copied, not kept.
+	 */
+	public void addAll(int index, ItemType[] items) {
+		checkInclusiveIndex(index);
+		insertAll(index, items, items.length);
+	}
+	
+	/**
+	 * Add all of these items before the item at the given index, in order.
+	 * 
+	 * @param index - a number from 0 to size (inclusive).
+	 * @param items - the items to insert.
+	 */
+	public void addAll(int index, Iterable<? extends ItemType> items) {
+		checkInclusiveIndex(index);
+		Object[] array = toArray(items);
+		insertAll(index, array, array.length);
+	}
+	
+	/**
+	 * Add all of these items to the back of the list, in order.
+	 * @param items - the items to add; may be this list itself.
+	 */
+	public void addAllBack(ListADT<? extends ItemType> items) {
+		addAll(size(), items);
+	}
+	
+	/**
+	 * Add all of these items to the back of the list, in order.
+	 * @param items - the items to add; the array is copied, not kept.
+	 */
+	public void addAllBack(ItemType[] items) {
+		addAll(size(), items);
+	}
+	
+	/**
+	 * Add all of these items to the back of the list, in order.
+	 * @param items - the items to add.
+	 */
+	public void addAllBack(Iterable<? extends ItemType> items) {
+		addAll(size(), items);
+	}
+	
+	/**
+	 * The one method all the addAll methods end up calling. Implementations should override it
+	 * to make room once and copy everything in, since this version just calls addIndex over and over.
+	 * 
+	 * @param index - a number from 0 to size (inclusive); already checked.
+	 * @param items - the new items are items[0] to items[count-1]; don't keep this array!
+	 * @param count - how many items to insert.
+	 */
+	@SuppressWarnings("unchecked")
+	protected void insertAll(int index, Object[] items, int count) {
+		for (int i=0; i<count; i++) {
+			this.addIndex(index+i, (ItemType) items[i]);
+		}
+	}
+
 	/**
 	 * Remove the item from the list at the given index.
 	 * 
@@ -90,6 +184,70 @@ public abstract class ListADT<ItemType> implements Iterable<ItemType> {
 	 */
 	public abstract ItemType removeIndex(int index);
 
+	/**
+	 * Remove the items from fromIndex up to (but not including) toIndex.
+	 * Implementations close the gap once, instead of once per item.
+	 * 
+	 * @param fromIndex - the first index to remove, from 0 to size (inclusive).
+	 * @param toIndex - the index after the last one to remove, from fromIndex to size (inclusive).
+	 */
+	public void removeRange(int fromIndex, int toIndex) {
+		checkInclusiveIndex(fromIndex);
+		checkInclusiveIndex(toIndex);
+		if (toIndex < fromIndex) {
+			throw new BadIndexError(toIndex);
+		}
+		if (fromIndex < toIndex) {
+			deleteRange(fromIndex, toIndex);
+		}
+	}
+	
+	/**
+	 * The method removeRange ends up calling. Implementations should override it to close
+	 * the gap all at once, since this version just calls removeIndex over and over.
+	 * 
+	 * @param fromIndex - the first index to remove; already checked.
+	 * @param toIndex - the index after the last one to remove; already checked, and more than fromIndex.
+	 */
+	protected void deleteRange(int fromIndex, int toIndex) {
+		for (int i=fromIndex; i<toIndex; i++) {
+			this.removeIndex(fromIndex);
+		}
+	}
+	
+	/**
+	 * Remove every item that filter says yes to, in one pass over the list.
+	 * This version copies the survivors out and puts them back with addAllBack;
+	 * implementations can do it without the copy.
+	 * 
+	 * @param filter - which items to remove.
+	 * @return true if anything was removed.
+	 */
+	public boolean removeIf(Predicate<? super ItemType> filter) {
+		List<ItemType> kept = new ArrayList<>();
+		for (ItemType x : this) {
+			if (!filter.test(x)) {
+				kept.add(x);
+			}
+		}
+		if (kept.size() == this.size()) {
+			return false;
+		}
+		this.clear();
+		this.addAllBack(kept);
+		return true;
+	}
+	
+	/**
+	 * Remove every item that isn't in keep.
+	 * 
+	 * @param keep - the items to keep; a HashSet makes this O(n).
+	 * @return true if anything was removed.
+	 */
+	public boolean retainAll(Collection<?> keep) {
+		return removeIf(x -> !keep.contains(x));
+	}
+
 	/**
 	 * Remove the item from the back of the list.
 	 * 
@@ -104,25 +262,98 @@ public abstract class ListADT<ItemType> implements Iterable<ItemType> {
 	 */
 	public abstract ItemType removeFront();
 
+	/**
+	 * Remove every item from this list.
+	 * This version takes them off the back one at a time; implementations can do better.
+	 */
+	public void clear() {
+		while (!this.isEmpty()) {
+			this.removeBack();
+		}
+	}
+
 	/**
 	 * Java requires this method for it's "for (ItemType x : list) { }" loop.
+	 * Implementations should return their own {@link ListADTIterator} cursor if getIndex is slow.
 	 */
 	public Iterator<ItemType> iterator() {
 		return new ListADTIterator<>(this);
 	}
 	
+	/**
+	 * Java's streams are built out of a Spliterator: an iterator that can be cut in half.
+	 * This default one only knows how to split by copying batches out of iterator();
+	 * array-based lists should override it with something that splits for free.
+	 * 
+	 * @return a spliterator over every item in this list, in order.
+	 */
+	@Override
+	public Spliterator<ItemType> spliterator() {
+		return Spliterators.spliterator(this.iterator(), this.size(), Spliterator.ORDERED);
+	}
+	
+	/**
+	 * Walk this list with Java's streams, e.g. {@code list.stream().filter(...).count()}.
+	 * 
+	 * @return a sequential stream over this list.
+	 */
+	public Stream<ItemType> stream() {
+		return StreamSupport.stream(this.spliterator(), false);
+	}
+	
+	/**
+	 * Walk this list with Java's streams, spread across all of your cores.
+	 * Only as fast as {@link #spliterator()} is at splitting!
+	 * 
+	 * @return a parallel stream over this list.
+	 */
+	public Stream<ItemType> parallelStream() {
+		return StreamSupport.stream(this.spliterator(), true);
+	}
+	
 	/**
 	 * Convert this to a Java data structure; probably useful for unit-test errors.
 	 * @return - a Java List object.
 	 */
 	public List<ItemType> toJava() {
-		List<ItemType> output = new ArrayList<>();
+		List<ItemType> output = new ArrayList<>(this.size());
 		for (ItemType x : this) {
 			output.add(x);
 		}
 		return output;
 	}
 	
+	/**
+	 * Copy this list into a new array.
+	 * @return an array of length size(), with the items in order.
+	 */
+	public Object[] toArray() {
+		Object[] output = new Object[this.size()];
+		int i = 0;
+		for (ItemType x : this) {
+			output[i++] = x;
+		}
+		return output;
+	}
+	
+	/**
+	 * Copy anything we can loop over into a new array, using its size if it knows it.
+	 * @param items - a ListADT, a Java Collection, or any other Iterable.
+	 * @return an array with the items in order.
+	 */
+	private static Object[] toArray(Iterable<?> items) {
+		if (items instanceof ListADT) {
+			return ((ListADT<?>) items).toArray();
+		} else if (items instanceof Collection) {
+			return ((Collection<?>) items).toArray();
+		}
+		List<Object> output = new ArrayList<>();
+		for (Object x : items) {
+			output.add(x);
+		}
+		return output.toArray();
+	}
+	
 	/**
 	 * If this list is empty, throw an error; useful for implementing classes.
 	 */
@@ -132,6 +363,17 @@ public abstract class ListADT<ItemType> implements Iterable<ItemType> {
 		}
 	}
 	
+	/**
+	 * If a list's running count disagrees with what it found by counting, crash; see {@link #VERIFY_SIZE}.
+	 * @param cached - the running count the list kept.
+	 * @param counted - the number of items actually found by walking the list.
+	 */
+	protected void checkSize(int cached, int counted) {
+		if (cached != counted) {
+			throw new IllegalStateException("size() says "+cached+" but there are "+counted+" items.");
+		}
+	}
+	
 	/**
 	 * Check the index for a get/set/remove method.
 	 * Not for LinkedList classes!
@@ -175,16 +417,53 @@ public abstract class ListADT<ItemType> implements Iterable<ItemType> {
 		return out.toString();
 	}
 	
-	@SuppressWarnings("rawtypes")
+	/**
+	 * Two lists are equal if they have equal items in the same order.
+	 * A ListADT can also equal a Java List (but the List won't agree; it only knows about Lists).
+	 * We check sizes first and then walk both lists together, without copying either.
+	 */
 	@Override
 	public boolean equals(Object other) {
-		if (other instanceof List) {
-			return Objects.equals(this.toJava(), other);
+		if (other == this) {
+			return true;
 		} else if (other instanceof ListADT) {
-			return Objects.equals(this.toJava(), ((ListADT) other).toJava());
+			ListADT<?> that = (ListADT<?>) other;
+			return this.size() == that.size() && sameItems(this.iterator(), that.iterator());
+		} else if (other instanceof List) {
+			List<?> that = (List<?>) other;
+			return this.size() == that.size() && sameItems(this.iterator(), that.iterator());
 		} else {
 			return false;
 		}
 	}
+	
+	/**
+	 * The same formula as {@link List#hashCode()}, so equal lists have equal hash codes,
+	 * and you can use a ListADT as a HashMap key (as long as you don't change it!).
+	 * Immutable implementations may want to remember the answer.
+	 */
+	@Override
+	public int hashCode() {
+		int hash = 1;
+		for (ItemType x : this) {
+			hash = 31*hash + Objects.hashCode(x);
+		}
+		return hash;
+	}
+	
+	/**
+	 * Walk two iterators of the same length in lock-step.
+	 * @param mine - one iterator.
+	 * @param theirs - another, with just as many items.
+	 * @return true if every pair of items is equal.
+	 */
+	private static boolean sameItems(Iterator<?> mine, Iterator<?> theirs) {
+		while (mine.hasNext()) {
+			if (!Objects.equals(mine.next(), theirs.next())) {
+				return false;
+			}
+		}
+		return true;
+	}
 
 }
@@ -1,10 +1,16 @@
 package edu.smith.cs.csc212.adtr;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * This is an object that walks/loops/iterates/traverses through a ListADT type.
- * 
+ *
+ * By itself, it walks with getIndex(i), which is only fast for array-based lists.
+ * Implementations plug in their own cursor by overriding {@link #hasNext()} and
+ * {@link #advance()}; this class takes care of the error checking in {@link #next()}.
+ *
  * @author jfoley
  *
  * @param <ItemType>
@@ -18,14 +24,24 @@ public class ListADTIterator<ItemType> implements Iterator<ItemType> {
 	 * How far are we?
 	 */
 	int i = 0;
+	/**
+	 * How big was the list when we started? It can't change without us noticing.
+	 */
+	int end;
+	/**
+	 * What was source.modCount when we started?
+	 */
+	int expectedModCount;
 
 	/**
 	 * Construct this kind of object from a ListADT object.
-	 * 
+	 *
 	 * @param list - the list to loop/traverse/iterate over.
 	 */
 	public ListADTIterator(ListADT<ItemType> list) {
 		this.source = list;
+		this.end = list.size();
+		this.expectedModCount = list.modCount;
 	}
 
 	/**
@@ -33,14 +49,37 @@ public class ListADTIterator<ItemType> implements Iterator<ItemType> {
 	 */
 	@Override
 	public boolean hasNext() {
-		return i < source.size();
+		return i < end;
 	}
 
 	/**
 	 * Get me the next item to use in my loop.
 	 */
 	@Override
-	public ItemType next() {
+	public final ItemType next() {
+		checkForComodification();
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return advance();
+	}
+
+	/**
+	 * Step the cursor forward by one. Only called after {@link #hasNext()} said yes.
+	 *
+	 * @return the item the cursor was on.
+	 */
+	protected ItemType advance() {
 		return source.getIndex(i++);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * If somebody added or removed items since we started, crash rather than
+	 * quietly skip or repeat items.
+	 */
+	protected final void checkForComodification() {
+		if (source.modCount != expectedModCount) {
+			throw new ConcurrentModificationException();
+		}
+	}
+}
@@ -0,0 +1,583 @@
+package edu.smith.cs.csc212.adtr.concurrent;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.internal.FenwickTree;
+import edu.smith.cs.csc212.adtr.real.GrowableList;
+
+/**
+ * A ChunkyArrayList that many threads can use at once, without one big lock.
+ *
+ * There are two kinds of locks:
+ * <ul>
+ * <li>one "structure" lock, held (for writing) by anything that changes the size: adds, removes, splitting a
+ * full chunk, dropping an empty one.</li>
+ * <li>one lock per chunk, held by setIndex while it changes an item, and by structural changes while they
+ * shift items inside that chunk.</li>
+ * </ul>
+ * getIndex and setIndex only <em>peek</em> at the structure lock (StampedLock's optimistic read), so threads
+ * reading and writing different chunks never wait for each other, or even touch the same memory.
+ * If a structural change happens while they're looking, they notice and try again with a real read lock.
+ *
+ * Every single method is atomic, and so are addAll, removeRange and removeIf. Iterators are
+ * "weakly consistent", like java.util.concurrent's: they never throw ConcurrentModificationException,
+ * and they may or may not see changes made after they were created.
+ *
+ * Index-based code like "if (i &lt; list.size()) list.getIndex(i)" is still a race; use getFront, removeBack, etc.
+ *
+ * @author jfoley
+ * @param <T> - the type of item stored in the list.
+ */
+public class ConcurrentChunkyArrayList<T> extends ListADT<T> {
+	/**
+	 * How big should each chunk be?
+	 */
+	private final int chunkSize;
+	/**
+	 * Held for writing by anything that changes which chunk an index is in.
+	 */
+	private final StampedLock structure = new StampedLock();
+	/**
+	 * The chunks; none of them are empty.
+	 */
+	private final GrowableList<Chunk> chunks;
+	/**
+	 * chunkSizes.prefixSum(c) is how many items are in the chunks before chunk c.
+	 */
+	private final FenwickTree chunkSizes;
+	/**
+	 * The total number of items; volatile so size() doesn't need a lock.
+	 */
+	private volatile int size;
+
+	/**
+	 * One chunk: an array of items and the lock that protects them.
+	 */
+	private static final class Chunk {
+		final Object[] items;
+		int fill;
+		final StampedLock lock = new StampedLock();
+
+		Chunk(int chunkSize) {
+			this.items = new Object[chunkSize];
+			this.fill = 0;
+		}
+
+		boolean isFull() {
+			return fill == items.length;
+		}
+	}
+
+	/**
+	 * @param chunkSize - how many items per chunk; bigger chunks mean fewer locks but more shifting.
+	 */
+	public ConcurrentChunkyArrayList(int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be positive: "+chunkSize);
+		}
+		this.chunkSize = chunkSize;
+		this.chunks = new GrowableList<>();
+		this.chunkSizes = new FenwickTree();
+		this.size = 0;
+	}
+
+	/**
+	 * Keep the "guessing" the objects are actually a T here.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T itemAt(Chunk chunk, int offset) {
+		return (T) chunk.items[offset];
+	}
+
+	/**
+	 * Re-count every chunk; after we add or remove a chunk in the middle. Needs the structure write lock.
+	 */
+	private void rebuildChunkSizes() {
+		chunkSizes.rebuild(chunks.size(), c -> chunks.getIndex(c).fill);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public T getIndex(int index) {
+		long stamp = structure.tryOptimisticRead();
+		if (stamp != 0 && index >= 0 && index < size) {
+			try {
+				int c = chunkSizes.find(index);
+				Chunk chunk = chunks.getIndex(c);
+				int offset = index - chunkSizes.prefixSum(c);
+				long chunkStamp = chunk.lock.tryOptimisticRead();
+				T item = itemAt(chunk, offset);
+				if (chunk.lock.validate(chunkStamp) && structure.validate(stamp)) {
+					return item;
+				}
+			} catch (RuntimeException raced) {
+				// something moved while we looked; fall through and do it properly.
+			}
+		}
+		stamp = structure.readLock();
+		try {
+			checkNotEmpty();
+			checkExclusiveIndex(index);
+			int c = chunkSizes.find(index);
+			Chunk chunk = chunks.getIndex(c);
+			long chunkStamp = chunk.lock.readLock();
+			try {
+				return itemAt(chunk, index - chunkSizes.prefixSum(c));
+			} finally {
+				chunk.lock.unlockRead(chunkStamp);
+			}
+		} finally {
+			structure.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		long stamp = structure.tryOptimisticRead();
+		if (stamp != 0 && index >= 0 && index < size) {
+			try {
+				int c = chunkSizes.find(index);
+				Chunk chunk = chunks.getIndex(c);
+				int offset = index - chunkSizes.prefixSum(c);
+				long chunkStamp = chunk.lock.writeLock();
+				try {
+					// if nothing structural happened since we looked, it can't happen now: it would need this chunk's lock.
+					if (structure.validate(stamp) && offset < chunk.fill) {
+						chunk.items[offset] = value;
+						return;
+					}
+				} finally {
+					chunk.lock.unlockWrite(chunkStamp);
+				}
+			} catch (RuntimeException raced) {
+				// something moved while we looked; fall through and do it properly.
+			}
+		}
+		stamp = structure.readLock();
+		try {
+			checkNotEmpty();
+			checkExclusiveIndex(index);
+			int c = chunkSizes.find(index);
+			Chunk chunk = chunks.getIndex(c);
+			long chunkStamp = chunk.lock.writeLock();
+			try {
+				chunk.items[index - chunkSizes.prefixSum(c)] = value;
+			} finally {
+				chunk.lock.unlockWrite(chunkStamp);
+			}
+		} finally {
+			structure.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public T getFront() {
+		long stamp = structure.readLock();
+		try {
+			checkNotEmpty();
+			return itemAt(chunks.getFront(), 0);
+		} finally {
+			structure.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public T getBack() {
+		long stamp = structure.readLock();
+		try {
+			checkNotEmpty();
+			Chunk last = chunks.getBack();
+			return itemAt(last, last.fill-1);
+		} finally {
+			structure.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public void addFront(T item) {
+		addIndex(0, item);
+	}
+
+	@Override
+	public void addBack(T item) {
+		long stamp = structure.writeLock();
+		try {
+			addLocked(size, item);
+		} finally {
+			structure.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		long stamp = structure.writeLock();
+		try {
+			checkInclusiveIndex(index);
+			addLocked(index, item);
+		} finally {
+			structure.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Add item at index; needs the structure write lock.
+	 */
+	private void addLocked(int index, T item) {
+		int c;
+		int offset;
+		Chunk chunk;
+		if (index == size) {
+			c = chunks.size() - 1;
+			if (c < 0 || chunks.getBack().isFull()) {
+				chunks.addBack(new Chunk(chunkSize));
+				chunkSizes.append(0);
+				c++;
+			}
+			chunk = chunks.getIndex(c);
+			offset = chunk.fill;
+		} else {
+			c = chunkSizes.find(index);
+			offset = index - chunkSizes.prefixSum(c);
+			chunk = chunks.getIndex(c);
+			if (chunk.isFull()) {
+				// split it in half; nobody can see upper until we add it to chunks.
+				Chunk upper = new Chunk(chunkSize);
+				int half = chunk.fill / 2;
+				long chunkStamp = chunk.lock.writeLock();
+				try {
+					upper.fill = chunk.fill - half;
+					System.arraycopy(chunk.items, half, upper.items, 0, upper.fill);
+					Arrays.fill(chunk.items, half, chunk.fill, null);
+					chunk.fill = half;
+				} finally {
+					chunk.lock.unlockWrite(chunkStamp);
+				}
+				chunks.addIndex(c+1, upper);
+				rebuildChunkSizes();
+				if (offset > half) {
+					c++;
+					offset -= half;
+					chunk = upper;
+				}
+			}
+		}
+		long chunkStamp = chunk.lock.writeLock();
+		try {
+			System.arraycopy(chunk.items, offset, chunk.items, offset+1, chunk.fill - offset);
+			chunk.items[offset] = item;
+			chunk.fill++;
+		} finally {
+			chunk.lock.unlockWrite(chunkStamp);
+		}
+		chunkSizes.add(c, 1);
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public T removeFront() {
+		long stamp = structure.writeLock();
+		try {
+			checkNotEmpty();
+			return removeLocked(0);
+		} finally {
+			structure.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public T removeBack() {
+		long stamp = structure.writeLock();
+		try {
+			checkNotEmpty();
+			return removeLocked(size-1);
+		} finally {
+			structure.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		long stamp = structure.writeLock();
+		try {
+			checkNotEmpty();
+			checkExclusiveIndex(index);
+			return removeLocked(index);
+		} finally {
+			structure.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Remove the item at index; needs the structure write lock.
+	 */
+	private T removeLocked(int index) {
+		int c = chunkSizes.find(index);
+		int offset = index - chunkSizes.prefixSum(c);
+		Chunk chunk = chunks.getIndex(c);
+		T removed;
+		long chunkStamp = chunk.lock.writeLock();
+		try {
+			removed = itemAt(chunk, offset);
+			System.arraycopy(chunk.items, offset+1, chunk.items, offset, chunk.fill - offset - 1);
+			chunk.items[--chunk.fill] = null;
+		} finally {
+			chunk.lock.unlockWrite(chunkStamp);
+		}
+		if (chunk.fill == 0) {
+			chunks.removeIndex(c);
+			if (c == chunks.size()) {
+				chunkSizes.removeLast();
+			} else {
+				rebuildChunkSizes();
+			}
+		} else {
+			chunkSizes.add(c, -1);
+		}
+		size--;
+		modCount++;
+		return removed;
+	}
+
+	/**
+	 * All the items go in at once; nobody sees half of them.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void insertAll(int index, Object[] items, int count) {
+		long stamp = structure.writeLock();
+		try {
+			// addAll checked index before we had the lock.
+			checkInclusiveIndex(index);
+			for (int i=0; i<count; i++) {
+				addLocked(index + i, (T) items[i]);
+			}
+		} finally {
+			structure.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Find the back while holding the lock, so another thread's add or remove can't move it first.
+	 */
+	@Override
+	public void addAllBack(ListADT<? extends T> items) {
+		// copy first: items might be this list, and we can't read it while we hold the write lock.
+		Object[] array = items.toArray();
+		appendAll(array, array.length);
+	}
+
+	@Override
+	public void addAllBack(T[] items) {
+		appendAll(items, items.length);
+	}
+
+	@Override
+	public void addAllBack(Iterable<? extends T> items) {
+		if (items instanceof ListADT) {
+			addAllBack((ListADT<? extends T>) items);
+			return;
+		}
+		GrowableList<T> copy = new GrowableList<>();
+		for (T x : items) {
+			copy.addBack(x);
+		}
+		addAllBack(copy);
+	}
+
+	/**
+	 * Add items[0] to items[count-1] at whatever the back is once we have the lock.
+	 */
+	@SuppressWarnings("unchecked")
+	private void appendAll(Object[] items, int count) {
+		long stamp = structure.writeLock();
+		try {
+			for (int i=0; i<count; i++) {
+				addLocked(size, (T) items[i]);
+			}
+		} finally {
+			structure.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * All the items go away at once.
+	 */
+	@Override
+	protected void deleteRange(int fromIndex, int toIndex) {
+		long stamp = structure.writeLock();
+		try {
+			// removeRange checked these before we had the lock.
+			checkInclusiveIndex(toIndex);
+			for (int i=fromIndex; i<toIndex; i++) {
+				removeLocked(fromIndex);
+			}
+		} finally {
+			structure.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Rebuild the chunks from the survivors, all under the lock; filter must not use this list.
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		long stamp = structure.writeLock();
+		// lock each old chunk before reading it, and keep them all locked until the swap:
+		// a setIndex that got past its optimistic check just before us finishes first, so we copy its value.
+		Chunk[] old = new Chunk[chunks.size()];
+		long[] chunkStamps = new long[old.length];
+		int locked = 0;
+		try {
+			GrowableList<Chunk> kept = new GrowableList<>();
+			Chunk current = null;
+			int survivors = 0;
+			for (Chunk chunk : chunks) {
+				chunkStamps[locked] = chunk.lock.writeLock();
+				old[locked++] = chunk;
+				for (int i=0; i<chunk.fill; i++) {
+					T item = itemAt(chunk, i);
+					if (!filter.test(item)) {
+						if (current == null || current.isFull()) {
+							current = new Chunk(chunkSize);
+							kept.addBack(current);
+						}
+						current.items[current.fill++] = item;
+						survivors++;
+					}
+				}
+			}
+			if (survivors == size) {
+				return false;
+			}
+			chunks.clear();
+			chunks.addAllBack(kept);
+			rebuildChunkSizes();
+			size = survivors;
+			modCount++;
+			return true;
+		} finally {
+			for (int c=0; c<locked; c++) {
+				old[c].lock.unlockWrite(chunkStamps[c]);
+			}
+			structure.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void clear() {
+		long stamp = structure.writeLock();
+		try {
+			chunks.clear();
+			chunkSizes.rebuild(0, c -> 0);
+			size = 0;
+			modCount++;
+		} finally {
+			structure.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * How many chunks are we using right now?
+	 * @return the number of chunks.
+	 */
+	public int chunkCount() {
+		long stamp = structure.readLock();
+		try {
+			return chunks.size();
+		} finally {
+			structure.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * A weakly consistent iterator: it copies one chunk at a time, so it never crashes because of
+	 * other threads, but it can miss or repeat items that move between chunks while it runs.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new Cursor();
+	}
+
+	/**
+	 * Weakly consistent, like the iterator; it doesn't promise an exact size.
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.CONCURRENT);
+	}
+
+	/**
+	 * Walks the chunks by number, copying each one under its lock.
+	 */
+	private class Cursor implements Iterator<T> {
+		/**
+		 * Which chunk to copy next.
+		 */
+		private int nextChunk = 0;
+		/**
+		 * The copy of the current chunk.
+		 */
+		private Object[] buffer = new Object[0];
+		private int position = 0;
+
+		@Override
+		public boolean hasNext() {
+			while (position >= buffer.length) {
+				if (!loadNextChunk()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Copy the next chunk into buffer.
+		 * @return false if there are no more chunks.
+		 */
+		private boolean loadNextChunk() {
+			long stamp = structure.readLock();
+			try {
+				if (nextChunk >= chunks.size()) {
+					return false;
+				}
+				Chunk chunk = chunks.getIndex(nextChunk++);
+				long chunkStamp = chunk.lock.readLock();
+				try {
+					buffer = Arrays.copyOf(chunk.items, chunk.fill);
+				} finally {
+					chunk.lock.unlockRead(chunkStamp);
+				}
+				position = 0;
+				return true;
+			} finally {
+				structure.unlockRead(stamp);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return (T) buffer[position++];
+		}
+	}
+}
@@ -0,0 +1,332 @@
+package edu.smith.cs.csc212.adtr.concurrent;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.errors.BadIndexError;
+import edu.smith.cs.csc212.adtr.errors.EmptyListError;
+import edu.smith.cs.csc212.adtr.real.GrowableList;
+
+/**
+ * A list for data that is read all the time and changed once in a while, like a config table.
+ *
+ * The items live in an array that is never changed once other threads can see it. Every change
+ * makes a new array and then swaps it in, so:
+ * <ul>
+ * <li>Reads never lock: getIndex, size and friends just look at whichever array is current.</li>
+ * <li>Iterators never crash: each one walks the array that was current when it was made.</li>
+ * <li>Writes cost O(n) each, so do a group of changes with {@link #update(Consumer)},
+ * which pays O(n) once for the whole group instead of once per change.</li>
+ * </ul>
+ * Two calls like getIndex(0) and getIndex(1) may see different versions; use {@link #snapshot()}
+ * if you need several reads to agree.
+ *
+ * @author jfoley
+ * @param <T> - the type of item stored in the list.
+ */
+public class CopyOnWriteList<T> extends ListADT<T> {
+	private static final Object[] EMPTY = new Object[0];
+
+	/**
+	 * The current items; never modified after it is stored here.
+	 */
+	private volatile Object[] array;
+	/**
+	 * Writers take turns on this; readers never touch it.
+	 */
+	private final Object writeLock = new Object();
+
+	/**
+	 * Make an empty list.
+	 */
+	public CopyOnWriteList() {
+		this.array = EMPTY;
+	}
+
+	/**
+	 * Make a list holding these items, in order.
+	 * @param items - the items to start with; copied, not kept.
+	 */
+	public CopyOnWriteList(Iterable<? extends T> items) {
+		GrowableList<T> start = new GrowableList<>();
+		start.addAllBack(items);
+		this.array = start.toArray();
+	}
+
+	/**
+	 * Share an array that nobody will change; used by snapshot().
+	 */
+	private CopyOnWriteList(Object[] array) {
+		this.array = array;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T item(Object[] items, int index) {
+		if (index < 0 || index >= items.length) {
+			throw new BadIndexError(index);
+		}
+		return (T) items[index];
+	}
+
+	/**
+	 * Swap in a new array; only call this while holding writeLock.
+	 */
+	private void publish(Object[] items) {
+		array = items;
+		modCount++;
+	}
+
+	/**
+	 * Make a bunch of changes, and pay for copying the array once for all of them, not once per change.
+	 *
+	 * edits gets a private GrowableList holding the current items; when it returns, whatever is in that
+	 * list becomes the new contents, all at once. That's two copies of the array (into the GrowableList,
+	 * and out of it at the exact size, since size() is the array's length), plus any growing the
+	 * GrowableList has to do if edits adds a lot. Readers see either every change or none of them.
+	 * If edits crashes, nothing changes. Don't keep the GrowableList around afterwards.
+	 *
+	 * @param edits - the changes to make.
+	 */
+	@SuppressWarnings("unchecked")
+	public void update(Consumer<? super GrowableList<T>> edits) {
+		synchronized (writeLock) {
+			Object[] current = array;
+			GrowableList<T> work = new GrowableList<>(Math.max(GrowableList.START_SIZE, current.length));
+			work.addAll(0, (T[]) current);
+			edits.accept(work);
+			publish(work.isEmpty() ? EMPTY : work.toArray());
+		}
+	}
+
+	/**
+	 * Get a list that will never change, holding exactly what this list holds right now. O(1):
+	 * it shares the current array, since nobody ever changes that array.
+	 * @return a frozen copy of this list; writing to it doesn't affect this list.
+	 */
+	public CopyOnWriteList<T> snapshot() {
+		return new CopyOnWriteList<>(array);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return array.length == 0;
+	}
+
+	@Override
+	public int size() {
+		return array.length;
+	}
+
+	@Override
+	public T getIndex(int index) {
+		return item(array, index);
+	}
+
+	@Override
+	public T getFront() {
+		Object[] items = array;
+		if (items.length == 0) {
+			throw new EmptyListError();
+		}
+		return item(items, 0);
+	}
+
+	@Override
+	public T getBack() {
+		Object[] items = array;
+		if (items.length == 0) {
+			throw new EmptyListError();
+		}
+		return item(items, items.length - 1);
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		synchronized (writeLock) {
+			Object[] items = array;
+			if (items.length == 0) {
+				throw new EmptyListError();
+			}
+			item(items, index);
+			Object[] changed = items.clone();
+			changed[index] = value;
+			// setIndex doesn't count as a modification, like every other list.
+			array = changed;
+		}
+	}
+
+	@Override
+	public void addIndex(int index, T value) {
+		insertAll(index, new Object[] { value }, 1);
+	}
+
+	@Override
+	public void addFront(T value) {
+		addIndex(0, value);
+	}
+
+	@Override
+	public void addBack(T value) {
+		appendAll(new Object[] { value });
+	}
+
+	/**
+	 * One copy for the whole group. The index is checked again under the lock,
+	 * since another thread may have shrunk the list since addAll looked.
+	 */
+	@Override
+	protected void insertAll(int index, Object[] items, int count) {
+		synchronized (writeLock) {
+			Object[] current = array;
+			if (index < 0 || index > current.length) {
+				throw new BadIndexError(index);
+			}
+			Object[] changed = new Object[current.length + count];
+			System.arraycopy(current, 0, changed, 0, index);
+			System.arraycopy(items, 0, changed, index, count);
+			System.arraycopy(current, index, changed, index + count, current.length - index);
+			publish(changed);
+		}
+	}
+
+	/**
+	 * Add to whatever the back is when we get the lock, so another writer can't make the index stale.
+	 */
+	private void appendAll(Object[] items) {
+		synchronized (writeLock) {
+			Object[] current = array;
+			Object[] changed = Arrays.copyOf(current, current.length + items.length);
+			System.arraycopy(items, 0, changed, current.length, items.length);
+			publish(changed);
+		}
+	}
+
+	@Override
+	public void addAllBack(ListADT<? extends T> items) {
+		appendAll(items.toArray());
+	}
+
+	@Override
+	public void addAllBack(T[] items) {
+		appendAll(items);
+	}
+
+	@Override
+	public void addAllBack(Iterable<? extends T> items) {
+		GrowableList<T> copy = new GrowableList<>();
+		copy.addAllBack(items);
+		appendAll(copy.toArray());
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		synchronized (writeLock) {
+			Object[] current = array;
+			if (current.length == 0) {
+				throw new EmptyListError();
+			}
+			T removed = item(current, index);
+			deleteRange(index, index + 1);
+			return removed;
+		}
+	}
+
+	@Override
+	public T removeFront() {
+		return removeIndex(0);
+	}
+
+	@Override
+	public T removeBack() {
+		synchronized (writeLock) {
+			return removeIndex(array.length - 1);
+		}
+	}
+
+	/**
+	 * One copy that skips the range. The indexes are checked again under the lock.
+	 */
+	@Override
+	protected void deleteRange(int fromIndex, int toIndex) {
+		synchronized (writeLock) {
+			Object[] current = array;
+			if (toIndex > current.length) {
+				throw new BadIndexError(toIndex);
+			}
+			Object[] changed = new Object[current.length - (toIndex - fromIndex)];
+			System.arraycopy(current, 0, changed, 0, fromIndex);
+			System.arraycopy(current, toIndex, changed, fromIndex, current.length - toIndex);
+			publish(changed);
+		}
+	}
+
+	/**
+	 * Copy the survivors once; if nothing matches, nothing changes.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		synchronized (writeLock) {
+			Object[] current = array;
+			Object[] kept = new Object[current.length];
+			int count = 0;
+			for (Object x : current) {
+				if (!filter.test((T) x)) {
+					kept[count++] = x;
+				}
+			}
+			if (count == current.length) {
+				return false;
+			}
+			publish(count == 0 ? EMPTY : Arrays.copyOf(kept, count));
+			return true;
+		}
+	}
+
+	@Override
+	public void clear() {
+		synchronized (writeLock) {
+			publish(EMPTY);
+		}
+	}
+
+	@Override
+	public Object[] toArray() {
+		return array.clone();
+	}
+
+	/**
+	 * Walks the array that was current when it was made; never throws ConcurrentModificationException.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		Object[] items = array;
+		return new Iterator<T>() {
+			private int position = 0;
+
+			@Override
+			public boolean hasNext() {
+				return position < items.length;
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return item(items, position++);
+			}
+		};
+	}
+
+	@Override
+	public Spliterator<T> spliterator() {
+		return Spliterators.spliterator(array, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+	}
+}
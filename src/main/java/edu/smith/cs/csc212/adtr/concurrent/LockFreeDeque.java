@@ -0,0 +1,329 @@
+package edu.smith.cs.csc212.adtr.concurrent;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.errors.BadIndexError;
+import edu.smith.cs.csc212.adtr.errors.EmptyListError;
+
+/**
+ * A DoublyLinkedList that many threads can add to and remove from at both ends, with no locks at all.
+ *
+ * Inside is a java.util.concurrent.ConcurrentLinkedDeque: the same prev/next nodes as DoublyLinkedList,
+ * but linked and unlinked with compare-and-set, so a thread that gets paused never blocks anyone else.
+ * Getting lock-free linking right is famously subtle, so we use the JDK's well-tested version
+ * instead of writing our own.
+ *
+ * Only the ends are really supported:
+ * <ul>
+ * <li>addFront, addBack, removeFront, removeBack, getFront and getBack are atomic. The removes
+ * throw EmptyListError if there is nothing to take at that moment.</li>
+ * <li>size() is a running count; while other threads are busy it can be a little behind.</li>
+ * <li>getIndex walks from the front and is weakly consistent; removeIf and iteration are too.</li>
+ * <li>setIndex, addIndex, removeIndex (except at the front) and removeRange throw UnsupportedOperationException.</li>
+ * </ul>
+ *
+ * @author jfoley
+ * @param <T> - the type of item stored in the deque.
+ */
+public class LockFreeDeque<T> extends ListADT<T> {
+	/**
+	 * What a Box holds once some remove has claimed it.
+	 */
+	private static final Object TAKEN = new Object();
+
+	/**
+	 * The lock-free deque that does all the real work.
+	 */
+	private final ConcurrentLinkedDeque<Box> deque;
+	/**
+	 * How many items are in the deque; a LongAdder so threads don't fight over one counter.
+	 */
+	private final LongAdder count;
+
+	public LockFreeDeque() {
+		this.deque = new ConcurrentLinkedDeque<>();
+		this.count = new LongAdder();
+	}
+
+	/**
+	 * Every item goes in its own Box. ConcurrentLinkedDeque can't hold null, but a Box can; and a remove
+	 * only counts once it has claimed the Box, so two threads can never both count the same item.
+	 */
+	private static final class Box {
+		private static final AtomicReferenceFieldUpdater<Box, Object> VALUE =
+				AtomicReferenceFieldUpdater.newUpdater(Box.class, Object.class, "value");
+		/**
+		 * The item, or TAKEN.
+		 */
+		volatile Object value;
+
+		Box(Object value) {
+			this.value = value;
+		}
+
+		/**
+		 * Claim this box; value only ever changes to TAKEN, so one compare-and-set is enough.
+		 * @return the item, or TAKEN if another thread claimed it first.
+		 */
+		Object take() {
+			Object item = value;
+			return (item != TAKEN && VALUE.compareAndSet(this, item, TAKEN)) ? item : TAKEN;
+		}
+	}
+
+	@Override
+	public int size() {
+		// an add or remove might have happened but not been counted yet.
+		long n = count.sum();
+		return (int) Math.max(0, Math.min(n, Integer.MAX_VALUE));
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return !iterator().hasNext();
+	}
+
+	@Override
+	public void addFront(T item) {
+		deque.addFirst(new Box(item));
+		count.increment();
+	}
+
+	@Override
+	public void addBack(T item) {
+		deque.addLast(new Box(item));
+		count.increment();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T removeFront() {
+		while (true) {
+			Box box = deque.pollFirst();
+			if (box == null) {
+				throw new EmptyListError();
+			}
+			// removeIf may have claimed it, but not unlinked it yet: then it's theirs, try the next one.
+			Object item = box.take();
+			if (item != TAKEN) {
+				count.decrement();
+				return (T) item;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T removeBack() {
+		while (true) {
+			Box box = deque.pollLast();
+			if (box == null) {
+				throw new EmptyListError();
+			}
+			Object item = box.take();
+			if (item != TAKEN) {
+				count.decrement();
+				return (T) item;
+			}
+		}
+	}
+
+	@Override
+	public T getFront() {
+		Iterator<T> it = iterator();
+		if (!it.hasNext()) {
+			throw new EmptyListError();
+		}
+		return it.next();
+	}
+
+	@Override
+	public T getBack() {
+		Iterator<T> it = new Cursor<>(deque.descendingIterator());
+		if (!it.hasNext()) {
+			throw new EmptyListError();
+		}
+		return it.next();
+	}
+
+	/**
+	 * Walk from the front; O(n), and other threads may move things while we walk.
+	 */
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		if (index < 0) {
+			throw new BadIndexError(index);
+		}
+		int at = 0;
+		for (T item : this) {
+			if (at++ == index) {
+				return item;
+			}
+		}
+		throw new BadIndexError(index);
+	}
+
+	/**
+	 * Not supported: by the time we found the index, it could belong to a different item.
+	 */
+	@Override
+	public void setIndex(int index, T value) {
+		throw new UnsupportedOperationException("LockFreeDeque only supports changes at the ends.");
+	}
+
+	/**
+	 * Only index 0 (addFront) is supported; other indexes could move while we look for them.
+	 */
+	@Override
+	public void addIndex(int index, T item) {
+		if (index != 0) {
+			throw new UnsupportedOperationException("LockFreeDeque only supports changes at the ends.");
+		}
+		addFront(item);
+	}
+
+	/**
+	 * Only index 0 (removeFront) is supported; other indexes could move while we look for them.
+	 */
+	@Override
+	public T removeIndex(int index) {
+		if (index != 0) {
+			throw new UnsupportedOperationException("LockFreeDeque only supports changes at the ends.");
+		}
+		return removeFront();
+	}
+
+	/**
+	 * Only at the front (index 0), in order; each item goes in separately.
+	 */
+	@Override
+	protected void insertAll(int index, Object[] items, int count) {
+		if (index != 0) {
+			throw new UnsupportedOperationException("LockFreeDeque only supports changes at the ends; use addAllBack.");
+		}
+		for (int i=count-1; i>=0; i--) {
+			deque.addFirst(new Box(items[i]));
+			this.count.increment();
+		}
+	}
+
+	@Override
+	public void addAllBack(ListADT<? extends T> items) {
+		addAllBack((Iterable<? extends T>) items);
+	}
+
+	@Override
+	public void addAllBack(T[] items) {
+		for (T item : items) {
+			addBack(item);
+		}
+	}
+
+	/**
+	 * Each item goes on the back separately, so other threads may add between them.
+	 */
+	@Override
+	public void addAllBack(Iterable<? extends T> items) {
+		if (items == this) {
+			// don't chase our own tail forever.
+			items = toJava();
+		}
+		for (T item : items) {
+			addBack(item);
+		}
+	}
+
+	@Override
+	protected void deleteRange(int fromIndex, int toIndex) {
+		throw new UnsupportedOperationException("LockFreeDeque only supports changes at the ends.");
+	}
+
+	/**
+	 * Unlink matching nodes as we pass them, in one O(n) walk; weakly consistent, like the iterator.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		boolean removed = false;
+		for (Iterator<Box> it = deque.iterator(); it.hasNext(); ) {
+			Box box = it.next();
+			Object item = box.value;
+			// only count it if we claimed it; a removeFront on another thread might have beaten us.
+			if (item != TAKEN && filter.test((T) item) && box.take() != TAKEN) {
+				it.remove();
+				count.decrement();
+				removed = true;
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Take items off the front until it's empty; items added meanwhile may or may not be removed.
+	 */
+	@Override
+	public void clear() {
+		for (Box box; (box = deque.pollFirst()) != null; ) {
+			if (box.take() != TAKEN) {
+				count.decrement();
+			}
+		}
+	}
+
+	/**
+	 * Weakly consistent: never throws ConcurrentModificationException, and may or may not see
+	 * changes made after it was created.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new Cursor<>(deque.iterator());
+	}
+
+	/**
+	 * Read the boxes, skipping any that a remove has claimed but not unlinked yet.
+	 */
+	private static class Cursor<T> implements Iterator<T> {
+		private final Iterator<Box> boxes;
+		/**
+		 * The next item to return, or TAKEN if we haven't found it yet.
+		 */
+		private Object upcoming = TAKEN;
+
+		Cursor(Iterator<Box> boxes) {
+			this.boxes = boxes;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (upcoming == TAKEN && boxes.hasNext()) {
+				upcoming = boxes.next().value;
+			}
+			return upcoming != TAKEN;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			T item = (T) upcoming;
+			upcoming = TAKEN;
+			return item;
+		}
+	}
+
+	@Override
+	public Spliterator<T> spliterator() {
+		return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.CONCURRENT);
+	}
+}
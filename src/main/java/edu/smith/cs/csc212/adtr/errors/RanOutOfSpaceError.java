@@ -1,7 +1,7 @@
 package edu.smith.cs.csc212.adtr.errors;
 
 /**
- * This is an error for {@link edu.smith.cs.csc212.p6.FixedSizeList}.
+ * This is an error for {@link edu.smith.cs.csc212.adtr.real.FixedSizeList}.
  * @author jfoley
  *
  */
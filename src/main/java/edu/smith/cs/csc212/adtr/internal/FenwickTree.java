@@ -0,0 +1,127 @@
+package edu.smith.cs.csc212.adtr.internal;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A Fenwick tree (or "binary indexed tree") keeps running totals over a list of counts.
+ * ChunkyArrayList keeps one over how full each chunk is, so finding the chunk that holds
+ * item #i takes O(log #chunks) instead of adding up every chunk in front of it.
+ *
+ * The primitive, concurrent and offheap chunky lists use it the same way. That's why it is public,
+ * in this "internal" package: it's a helper for this library, not part of its API, and it may change.
+ *
+ * Inside, tree[k] (counting from 1) holds the sum of the lowestOneBit(k) counts ending at k.
+ *
+ * @author jfoley
+ *
+ */
+public class FenwickTree {
+	/**
+	 * The partial sums; tree[0] is unused so the bit tricks work out.
+	 */
+	private int[] tree;
+	/**
+	 * How many counts are we keeping track of?
+	 */
+	private int n;
+
+	/**
+	 * Start with no counts at all.
+	 */
+	public FenwickTree() {
+		this.tree = new int[16];
+		this.n = 0;
+	}
+
+	/**
+	 * @return how many counts are in this tree.
+	 */
+	public int size() {
+		return n;
+	}
+
+	/**
+	 * Throw away everything and load n new counts, in O(n).
+	 * @param n - how many counts there are now.
+	 * @param countOf - what is count #i?
+	 */
+	public void rebuild(int n, IntUnaryOperator countOf) {
+		if (n+1 > tree.length) {
+			tree = new int[Math.max(n+1, tree.length*2)];
+		} else {
+			Arrays.fill(tree, 0, this.n+1, 0);
+		}
+		this.n = n;
+		for (int k=1; k<=n; k++) {
+			tree[k] += countOf.applyAsInt(k-1);
+			// push this partial sum up to the one node that covers it.
+			int parent = k + Integer.lowestOneBit(k);
+			if (parent <= n) {
+				tree[parent] += tree[k];
+			}
+		}
+	}
+
+	/**
+	 * Put a new count on the end, in O(log n).
+	 * @param count - the new last count.
+	 */
+	public void append(int count) {
+		if (n+1 >= tree.length) {
+			tree = Arrays.copyOf(tree, tree.length*2);
+		}
+		int k = ++n;
+		// tree[k] covers (k-lowbit, k], which is everything before it in that range, plus count.
+		tree[k] = count + prefixSum(k-1) - prefixSum(k - Integer.lowestOneBit(k));
+	}
+
+	/**
+	 * Drop the last count, in O(1); nothing else in the tree depends on it.
+	 */
+	public void removeLast() {
+		tree[n--] = 0;
+	}
+
+	/**
+	 * Change count #i by delta, in O(log n).
+	 * @param i - which count, from 0 to size (exclusive).
+	 * @param delta - how much to add to it (may be negative).
+	 */
+	public void add(int i, int delta) {
+		for (int k = i+1; k <= n; k += Integer.lowestOneBit(k)) {
+			tree[k] += delta;
+		}
+	}
+
+	/**
+	 * Add up the first i counts, in O(log n).
+	 * @param i - how many counts to add up, from 0 to size (inclusive).
+	 * @return count[0] + ... + count[i-1]
+	 */
+	public int prefixSum(int i) {
+		int sum = 0;
+		for (int k = i; k > 0; k -= Integer.lowestOneBit(k)) {
+			sum += tree[k];
+		}
+		return sum;
+	}
+
+	/**
+	 * Which count does position "target" fall into, in O(log n)?
+	 * That's the i where prefixSum(i) &lt;= target &lt; prefixSum(i+1).
+	 * @param target - a number from 0 to prefixSum(size) (exclusive).
+	 * @return the index of that count.
+	 */
+	public int find(int target) {
+		int position = 0;
+		for (int step = Integer.highestOneBit(n); step > 0; step >>= 1) {
+			int next = position + step;
+			if (next <= n && tree[next] <= target) {
+				position = next;
+				target -= tree[next];
+			}
+		}
+		return position;
+	}
+}
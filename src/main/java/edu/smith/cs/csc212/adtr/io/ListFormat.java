@@ -0,0 +1,39 @@
+package edu.smith.cs.csc212.adtr.io;
+
+/**
+ * The layout shared by {@link ListWriter} and {@link ListReader}. Every number is a big-endian int.
+ *
+ * <pre>
+ * header: MAGIC, VERSION, codec width, how many items
+ * blocks: item count, then that many items of codec width bytes each
+ * end:    a block with an item count of 0
+ * </pre>
+ *
+ * The count in the header lets a reader make room for everything up front; the blocks let a writer
+ * send a list piece by piece (e.g. one block per ChunkyArrayList chunk).
+ *
+ * @author jfoley
+ *
+ */
+final class ListFormat {
+	private ListFormat() {
+		// just constants.
+	}
+
+	/**
+	 * The first 4 bytes of every list: "ADTL".
+	 */
+	static final int MAGIC = 0x4144544c;
+	/**
+	 * Which version of the layout we write; bump this if it changes.
+	 */
+	static final int VERSION = 1;
+	/**
+	 * How many bytes the header takes.
+	 */
+	static final int HEADER_BYTES = 16;
+	/**
+	 * How many bytes we try to read or write at once.
+	 */
+	static final int BUFFER_BYTES = 1 << 16;
+}
@@ -0,0 +1,146 @@
+package edu.smith.cs.csc212.adtr.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.offheap.FixedWidthCodec;
+import edu.smith.cs.csc212.adtr.real.GrowableList;
+
+/**
+ * Reads lists written by a {@link ListWriter} back from a channel, a buffer at a time.
+ *
+ * Items are decoded straight from the buffer and added to the back of whatever list you give it,
+ * so you pick the kind of list (or a {@link edu.smith.cs.csc212.adtr.offheap.MappedChunkyArrayList}
+ * for lists bigger than the heap).
+ *
+ * It reads ahead a buffer at a time, so if a channel holds several lists, read them all with the same reader.
+ *
+ * @author jfoley
+ * @param <T> - the type of item in the lists.
+ */
+public class ListReader<T> {
+	private final ReadableByteChannel channel;
+	private final FixedWidthCodec<T> codec;
+	private final int width;
+	/**
+	 * Bytes we've read but not decoded yet; always ready to be read from (flipped).
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * @param channel - where to read from; we don't close it.
+	 * @param codec - how each item was stored; must be the same width as the writer's.
+	 */
+	public ListReader(ReadableByteChannel channel, FixedWidthCodec<T> codec) {
+		this.channel = channel;
+		this.codec = codec;
+		this.width = codec.width();
+		this.buffer = ByteBuffer.allocateDirect(Math.max(ListFormat.BUFFER_BYTES, ListFormat.HEADER_BYTES + width));
+		// Buffer methods are called through Buffer, so this class also runs on a Java 8 JRE.
+		((Buffer) this.buffer).flip();
+	}
+
+	/**
+	 * Read the next list and add its items to the back of output.
+	 * @param output - where to put the items.
+	 * @return how many items we added.
+	 * @throws IOException if the channel does, or the bytes aren't a list this reader understands.
+	 */
+	public int readInto(ListADT<T> output) throws IOException {
+		need(ListFormat.HEADER_BYTES);
+		int magic = buffer.getInt();
+		if (magic != ListFormat.MAGIC) {
+			throw new IOException("Not a list: bad magic number "+Integer.toHexString(magic));
+		}
+		int version = buffer.getInt();
+		if (version != ListFormat.VERSION) {
+			throw new IOException("List has version "+version+"; we only know "+ListFormat.VERSION);
+		}
+		int storedWidth = buffer.getInt();
+		if (storedWidth != width) {
+			throw new IOException("List items are "+storedWidth+" bytes wide, but the codec is "+width);
+		}
+		int size = buffer.getInt();
+		if (size < 0) {
+			throw new IOException("List has a negative size: "+size);
+		}
+		long left = bytesLeft();
+		if (left >= 0 && (long) size * width > left) {
+			throw new IOException("List says it has "+size+" items, but only "+left+" bytes are left.");
+		}
+		if (output instanceof GrowableList) {
+			// a bad header could ask for 2^31 items: if we couldn't check, only make room for one buffer's worth.
+			int room = left >= 0 ? size : Math.min(size, ListFormat.BUFFER_BYTES / width);
+			GrowableList<T> growable = (GrowableList<T>) output;
+			if ((long) growable.size() + room <= Integer.MAX_VALUE) {
+				growable.ensureCapacity(growable.size() + room);
+			}
+		}
+
+		int read = 0;
+		while (true) {
+			need(Integer.BYTES);
+			int count = buffer.getInt();
+			if (count == 0) {
+				break;
+			}
+			if (count < 0 || count > size - read) {
+				throw new IOException("List has a bad block of "+count+" items.");
+			}
+			for (int i=0; i<count; i++) {
+				need(width);
+				output.addBack(codec.decode(buffer, buffer.position()));
+				((Buffer) buffer).position(buffer.position() + width);
+			}
+			read += count;
+		}
+		if (read != size) {
+			throw new IOException("List should have "+size+" items but had "+read);
+		}
+		return read;
+	}
+
+	/**
+	 * Read the next list into a new GrowableList.
+	 * @return the list.
+	 * @throws IOException if the channel does, or the bytes aren't a list this reader understands.
+	 */
+	public GrowableList<T> read() throws IOException {
+		GrowableList<T> output = new GrowableList<>();
+		readInto(output);
+		return output;
+	}
+
+	/**
+	 * How many bytes are left to read, counting the ones in our buffer?
+	 * @return the count, or -1 if the channel can't tell us (e.g. a socket).
+	 */
+	private long bytesLeft() throws IOException {
+		if (!(channel instanceof SeekableByteChannel)) {
+			return -1;
+		}
+		SeekableByteChannel file = (SeekableByteChannel) channel;
+		return buffer.remaining() + Math.max(0, file.size() - file.position());
+	}
+
+	/**
+	 * Make sure at least bytes bytes are in the buffer, by reading more if we have to.
+	 */
+	private void need(int bytes) throws IOException {
+		if (buffer.remaining() >= bytes) {
+			return;
+		}
+		buffer.compact();
+		while (buffer.position() < bytes) {
+			if (channel.read(buffer) < 0) {
+				throw new EOFException("The list ended early.");
+			}
+		}
+		((Buffer) buffer).flip();
+	}
+}
@@ -0,0 +1,109 @@
+package edu.smith.cs.csc212.adtr.io;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.offheap.FixedWidthCodec;
+import edu.smith.cs.csc212.adtr.real.ChunkyArrayList;
+
+/**
+ * Writes lists to a channel (a file, a socket, ...) in the {@link ListFormat} binary format,
+ * a buffer at a time, without ever copying the whole list.
+ *
+ * A ChunkyArrayList is written as one block per chunk; every other list is cut into blocks that
+ * fill the buffer exactly, so each channel write is one big copy.
+ *
+ * You can write several lists to the same channel, one after another; read them back in the same
+ * order with a {@link ListReader}.
+ *
+ * @author jfoley
+ * @param <T> - the type of item in the lists.
+ */
+public class ListWriter<T> {
+	private final WritableByteChannel channel;
+	private final FixedWidthCodec<T> codec;
+	private final int width;
+	/**
+	 * Where we collect bytes until there's enough to write.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * @param channel - where to write; we don't close it.
+	 * @param codec - how to store each item.
+	 */
+	public ListWriter(WritableByteChannel channel, FixedWidthCodec<T> codec) {
+		this.channel = channel;
+		this.codec = codec;
+		this.width = codec.width();
+		this.buffer = ByteBuffer.allocateDirect(Math.max(ListFormat.BUFFER_BYTES, ListFormat.HEADER_BYTES + width));
+	}
+
+	/**
+	 * Write one whole list.
+	 * @param list - the list to write; don't change it while this runs.
+	 * @throws IOException if the channel does.
+	 */
+	public void write(ListADT<T> list) throws IOException {
+		int size = list.size();
+		room(ListFormat.HEADER_BYTES);
+		buffer.putInt(ListFormat.MAGIC);
+		buffer.putInt(ListFormat.VERSION);
+		buffer.putInt(width);
+		buffer.putInt(size);
+
+		int[] blocks;
+		if (list instanceof ChunkyArrayList) {
+			blocks = ((ChunkyArrayList<T>) list).chunkFills();
+		} else {
+			// as many items as fit in the buffer after the block's count.
+			int perBlock = Math.max(1, (buffer.capacity() - Integer.BYTES) / width);
+			blocks = new int[(size + perBlock - 1) / perBlock];
+			for (int b=0; b<blocks.length; b++) {
+				blocks[b] = Math.min(perBlock, size - b * perBlock);
+			}
+		}
+
+		int b = 0;
+		int left = 0;
+		for (T item : list) {
+			if (left == 0) {
+				left = blocks[b++];
+				room(Integer.BYTES);
+				buffer.putInt(left);
+			}
+			room(width);
+			codec.encode(item, buffer, buffer.position());
+			((Buffer) buffer).position(buffer.position() + width);
+			left--;
+		}
+		room(Integer.BYTES);
+		buffer.putInt(0);
+		flush();
+	}
+
+	/**
+	 * Make sure there are at least bytes bytes free in the buffer, by writing it out if we have to.
+	 */
+	private void room(int bytes) throws IOException {
+		if (buffer.remaining() < bytes) {
+			flush();
+		}
+	}
+
+	/**
+	 * Send everything in the buffer to the channel.
+	 * @throws IOException if the channel does.
+	 */
+	public void flush() throws IOException {
+		// flip and clear through Buffer, so Java 8 can find them.
+		((Buffer) buffer).flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		((Buffer) buffer).clear();
+	}
+}
@@ -0,0 +1,57 @@
+package edu.smith.cs.csc212.adtr.offheap;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Java frees direct (and memory-mapped) buffers only when the garbage collector notices them,
+ * which could be never if the heap is quiet. This frees one right away instead.
+ *
+ * There's no public way to do this, so we look for the hidden ones: Unsafe.invokeCleaner on
+ * Java 9 and later, and the buffer's cleaner() on Java 8. If neither works, we leave it to the GC.
+ *
+ * @author jfoley
+ *
+ */
+final class DirectMemory {
+	private DirectMemory() {
+		// just static methods.
+	}
+
+	/**
+	 * Free the memory behind buffer now. Using buffer (or any view of it) afterwards can crash the JVM!
+	 * @param buffer - a buffer from ByteBuffer.allocateDirect or FileChannel.map; others are ignored.
+	 * @return true if we freed it, false if we had to leave it for the GC.
+	 */
+	static boolean free(ByteBuffer buffer) {
+		if (buffer == null || !buffer.isDirect()) {
+			return false;
+		}
+		try {
+			// Java 9+
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			invokeCleaner.invoke(theUnsafe.get(null), buffer);
+			return true;
+		} catch (ReflectiveOperationException | RuntimeException notJava9) {
+			// fall through to the Java 8 way.
+		}
+		try {
+			Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+			cleanerMethod.setAccessible(true);
+			Object cleaner = cleanerMethod.invoke(buffer);
+			if (cleaner == null) {
+				return false;
+			}
+			Method clean = cleaner.getClass().getMethod("clean");
+			clean.setAccessible(true);
+			clean.invoke(cleaner);
+			return true;
+		} catch (ReflectiveOperationException | RuntimeException notJava8) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package edu.smith.cs.csc212.adtr.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns an item into exactly width() bytes and back, so we can keep items outside of Java objects.
+ *
+ * Every item takes up the same number of bytes; that's what lets item #i live at byte i*width().
+ * A decoded item is a new copy: changing it doesn't change what's stored, so use setIndex.
+ *
+ * @author jfoley
+ * @param <T> - the type of item this can encode.
+ */
+public interface FixedWidthCodec<T> {
+	/**
+	 * How many bytes does every item take?
+	 * @return a positive number.
+	 */
+	int width();
+
+	/**
+	 * Write item into buffer at offset, using exactly width() bytes.
+	 * @param item - the item to store.
+	 * @param buffer - where to store it; its position doesn't matter or change.
+	 * @param offset - the first byte to write.
+	 */
+	void encode(T item, ByteBuffer buffer, int offset);
+
+	/**
+	 * Read an item back out of buffer.
+	 * @param buffer - where it was stored; its position doesn't matter or change.
+	 * @param offset - the first byte of the item.
+	 * @return a new copy of the item.
+	 */
+	T decode(ByteBuffer buffer, int offset);
+
+	/**
+	 * Store Integers in 4 bytes; null is not allowed.
+	 * @return a codec.
+	 */
+	static FixedWidthCodec<Integer> ints() {
+		return new FixedWidthCodec<Integer>() {
+			@Override
+			public int width() {
+				return Integer.BYTES;
+			}
+
+			@Override
+			public void encode(Integer item, ByteBuffer buffer, int offset) {
+				buffer.putInt(offset, item);
+			}
+
+			@Override
+			public Integer decode(ByteBuffer buffer, int offset) {
+				return buffer.getInt(offset);
+			}
+		};
+	}
+
+	/**
+	 * Store Longs in 8 bytes; null is not allowed.
+	 * @return a codec.
+	 */
+	static FixedWidthCodec<Long> longs() {
+		return new FixedWidthCodec<Long>() {
+			@Override
+			public int width() {
+				return Long.BYTES;
+			}
+
+			@Override
+			public void encode(Long item, ByteBuffer buffer, int offset) {
+				buffer.putLong(offset, item);
+			}
+
+			@Override
+			public Long decode(ByteBuffer buffer, int offset) {
+				return buffer.getLong(offset);
+			}
+		};
+	}
+
+	/**
+	 * Store Doubles in 8 bytes; null is not allowed.
+	 * @return a codec.
+	 */
+	static FixedWidthCodec<Double> doubles() {
+		return new FixedWidthCodec<Double>() {
+			@Override
+			public int width() {
+				return Double.BYTES;
+			}
+
+			@Override
+			public void encode(Double item, ByteBuffer buffer, int offset) {
+				buffer.putDouble(offset, item);
+			}
+
+			@Override
+			public Double decode(ByteBuffer buffer, int offset) {
+				return buffer.getDouble(offset);
+			}
+		};
+	}
+
+	/**
+	 * Store Strings as UTF-8, in a 2-byte length and up to maxBytes bytes. null is allowed.
+	 * Strings that need more than maxBytes bytes crash with IllegalArgumentException.
+	 * @param maxBytes - the most bytes of UTF-8 any string may take (at most 65534).
+	 * @return a codec.
+	 */
+	static FixedWidthCodec<String> strings(int maxBytes) {
+		if (maxBytes < 0 || maxBytes > 0xfffe) {
+			throw new IllegalArgumentException("maxBytes must be from 0 to 65534: "+maxBytes);
+		}
+		return new FixedWidthCodec<String>() {
+			// a length we can never have means null.
+			private static final int NULL_LENGTH = 0xffff;
+
+			@Override
+			public int width() {
+				return 2 + maxBytes;
+			}
+
+			@Override
+			public void encode(String item, ByteBuffer buffer, int offset) {
+				if (item == null) {
+					buffer.putShort(offset, (short) NULL_LENGTH);
+					return;
+				}
+				byte[] utf8 = item.getBytes(StandardCharsets.UTF_8);
+				if (utf8.length > maxBytes) {
+					throw new IllegalArgumentException("String needs "+utf8.length+" bytes, but only "+maxBytes+" fit.");
+				}
+				buffer.putShort(offset, (short) utf8.length);
+				for (int i=0; i<utf8.length; i++) {
+					buffer.put(offset + 2 + i, utf8[i]);
+				}
+			}
+
+			@Override
+			public String decode(ByteBuffer buffer, int offset) {
+				int length = buffer.getShort(offset) & 0xffff;
+				if (length == NULL_LENGTH) {
+					return null;
+				}
+				byte[] utf8 = new byte[length];
+				for (int i=0; i<length; i++) {
+					utf8[i] = buffer.get(offset + 2 + i);
+				}
+				return new String(utf8, StandardCharsets.UTF_8);
+			}
+		};
+	}
+}
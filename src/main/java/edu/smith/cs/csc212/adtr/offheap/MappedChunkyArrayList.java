@@ -0,0 +1,611 @@
+package edu.smith.cs.csc212.adtr.offheap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
+import edu.smith.cs.csc212.adtr.internal.FenwickTree;
+import edu.smith.cs.csc212.adtr.primitive.IntGrowableList;
+import edu.smith.cs.csc212.adtr.real.GrowableList;
+
+/**
+ * A ChunkyArrayList whose chunks live in a file, through FileChannel.map.
+ *
+ * The operating system pages chunks in and out for us, so the list can be bigger than the heap,
+ * and opening the same file again (even after a restart) gives back the same list without reading
+ * every item. Items are stored with a {@link FixedWidthCodec}.
+ *
+ * The file looks like this:
+ * <ul>
+ * <li>a {@value #HEADER_BYTES}-byte header: magic, version, codec width, chunkSize, size, the first chunk,
+ * the first free slot, how many slots the file has, and how many chunks are in use.</li>
+ * <li>then "slots", each big enough for one chunk: a count, the slot of the next chunk (-1 at the end),
+ * and room for chunkSize items.</li>
+ * </ul>
+ * Chunks are a linked list of slots, so splitting or dropping a chunk never moves other chunks.
+ * Empty slots go on a free list, linked the same way, and get reused before the file grows.
+ *
+ * Changes reach the file whenever the OS gets around to it; call {@link #force()} to make sure they have.
+ * If the machine crashes between force() calls, the file may not make sense anymore.
+ *
+ * @author jfoley
+ * @param <T> - the type of item stored in the list.
+ */
+public class MappedChunkyArrayList<T> extends ListADT<T> implements Closeable {
+	/**
+	 * The first 4 bytes of every file: "ADTR".
+	 */
+	static final int MAGIC = 0x41445452;
+	/**
+	 * Which version of the layout we write; bump this if it changes.
+	 */
+	static final int VERSION = 1;
+	/**
+	 * How many bytes at the start of the file are the header.
+	 */
+	static final int HEADER_BYTES = 64;
+	/**
+	 * How many bytes (about) to map at once when the file grows.
+	 */
+	static final int EXTENT_BYTES = 64 << 20;
+
+	// where each header field lives.
+	private static final int H_MAGIC = 0;
+	private static final int H_VERSION = 4;
+	private static final int H_WIDTH = 8;
+	private static final int H_CHUNK_SIZE = 12;
+	private static final int H_SIZE = 16;
+	private static final int H_FIRST = 20;
+	private static final int H_FREE = 24;
+	private static final int H_SLOTS = 28;
+	private static final int H_CHUNKS = 32;
+
+	// where each slot field lives; the items start at S_ITEMS.
+	private static final int S_COUNT = 0;
+	private static final int S_NEXT = 4;
+	private static final int S_ITEMS = 8;
+
+	/**
+	 * The "no slot" slot number.
+	 */
+	private static final int NONE = -1;
+
+	private final FileChannel channel;
+	private final FixedWidthCodec<T> codec;
+	private final int width;
+	/**
+	 * How many items fit in a chunk.
+	 */
+	private final int chunkSize;
+	/**
+	 * How many bytes one slot takes.
+	 */
+	private final int slotBytes;
+	/**
+	 * How many slots are in each mapped extent.
+	 */
+	private final int slotsPerExtent;
+	/**
+	 * The header, mapped.
+	 */
+	private MappedByteBuffer header;
+	/**
+	 * The mapped pieces of the file; extent e holds slots [e*slotsPerExtent, (e+1)*slotsPerExtent).
+	 */
+	private GrowableList<MappedByteBuffer> extents;
+	/**
+	 * Which slot holds chunk #c; read from the file when we open it.
+	 */
+	private IntGrowableList order;
+	/**
+	 * chunkSizes.prefixSum(c) is how many items are in the chunks before chunk c.
+	 */
+	private FenwickTree chunkSizes;
+	/**
+	 * The total number of items; also in the header.
+	 */
+	private int size;
+	/**
+	 * Space for shifting items inside a slot.
+	 */
+	private byte[] scratch;
+	/**
+	 * One item's bytes, encoded before an add starts moving things.
+	 */
+	private ByteBuffer pending;
+
+	/**
+	 * Open file as a list, or make a new empty list there if it doesn't exist (or is empty).
+	 * @param file - where the list lives.
+	 * @param chunkSize - how many items per chunk; must match what the file was made with.
+	 * @param codec - how to store each item; its width must match what the file was made with.
+	 * @throws IOException if the file can't be opened, or isn't one of ours.
+	 */
+	public MappedChunkyArrayList(Path file, int chunkSize, FixedWidthCodec<T> codec) throws IOException {
+		this(file, chunkSize, codec, EXTENT_BYTES);
+	}
+
+	/**
+	 * The real constructor; tests use a tiny extentBytes to make the file grow often.
+	 */
+	MappedChunkyArrayList(Path file, int chunkSize, FixedWidthCodec<T> codec, int extentBytes) throws IOException {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be positive: "+chunkSize);
+		}
+		if ((long) chunkSize * codec.width() + S_ITEMS > Integer.MAX_VALUE / 2) {
+			throw new IllegalArgumentException("chunkSize * width is too big to map: "+chunkSize);
+		}
+		this.codec = codec;
+		this.width = codec.width();
+		this.chunkSize = chunkSize;
+		this.slotBytes = S_ITEMS + chunkSize * width;
+		this.slotsPerExtent = Math.max(1, extentBytes / slotBytes);
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			boolean fresh = channel.size() == 0;
+			if (!fresh && channel.size() < HEADER_BYTES) {
+				throw new IOException(file+" is too short to be a MappedChunkyArrayList file.");
+			}
+			this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+			this.extents = new GrowableList<>();
+			this.order = new IntGrowableList();
+			this.chunkSizes = new FenwickTree();
+			if (fresh) {
+				header.putInt(H_MAGIC, MAGIC);
+				header.putInt(H_VERSION, VERSION);
+				header.putInt(H_WIDTH, width);
+				header.putInt(H_CHUNK_SIZE, chunkSize);
+				header.putInt(H_SIZE, 0);
+				header.putInt(H_FIRST, NONE);
+				header.putInt(H_FREE, NONE);
+				header.putInt(H_SLOTS, 0);
+				header.putInt(H_CHUNKS, 0);
+			} else {
+				load(file);
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Check the header of an existing file and find all of its chunks.
+	 */
+	private void load(Path file) throws IOException {
+		if (header.getInt(H_MAGIC) != MAGIC) {
+			throw new IOException(file+" is not a MappedChunkyArrayList file.");
+		}
+		if (header.getInt(H_VERSION) != VERSION) {
+			throw new IOException(file+" has version "+header.getInt(H_VERSION)+"; we only know "+VERSION+".");
+		}
+		if (header.getInt(H_WIDTH) != width || header.getInt(H_CHUNK_SIZE) != chunkSize) {
+			throw new IOException(file+" has width="+header.getInt(H_WIDTH)+" and chunkSize="+header.getInt(H_CHUNK_SIZE)
+				+", not width="+width+" and chunkSize="+chunkSize+".");
+		}
+		int slots = header.getInt(H_SLOTS);
+		for (int s=0; s<slots; s += slotsPerExtent) {
+			mapExtent();
+		}
+		int expectedChunks = header.getInt(H_CHUNKS);
+		for (int slot = header.getInt(H_FIRST); slot != NONE; slot = next(slot)) {
+			if (slot < 0 || slot >= slots || order.size() >= expectedChunks) {
+				throw new IOException(file+" is corrupt: bad chunk list.");
+			}
+			if (count(slot) < 0 || count(slot) > chunkSize) {
+				throw new IOException(file+" is corrupt: chunk in slot "+slot+" claims "+count(slot)+" items.");
+			}
+			order.addBack(slot);
+		}
+		if (order.size() != expectedChunks) {
+			throw new IOException(file+" is corrupt: expected "+expectedChunks+" chunks, found "+order.size()+".");
+		}
+		rebuildChunkSizes();
+		this.size = chunkSizes.prefixSum(order.size());
+		if (size != header.getInt(H_SIZE)) {
+			throw new IOException(file+" is corrupt: expected "+header.getInt(H_SIZE)+" items, found "+size+".");
+		}
+	}
+
+	/**
+	 * Map the next extent of the file; mapping past the end makes the file bigger.
+	 */
+	private void mapExtent() throws IOException {
+		long start = HEADER_BYTES + (long) extents.size() * slotsPerExtent * slotBytes;
+		extents.addBack(channel.map(FileChannel.MapMode.READ_WRITE, start, (long) slotsPerExtent * slotBytes));
+	}
+
+	private ByteBuffer extentOf(int slot) {
+		return extents.getIndex(slot / slotsPerExtent);
+	}
+
+	/**
+	 * Where does slot start, inside its extent?
+	 */
+	private int base(int slot) {
+		return (slot % slotsPerExtent) * slotBytes;
+	}
+
+	private int count(int slot) {
+		return extentOf(slot).getInt(base(slot) + S_COUNT);
+	}
+
+	private void setCount(int slot, int count) {
+		extentOf(slot).putInt(base(slot) + S_COUNT, count);
+	}
+
+	private int next(int slot) {
+		return extentOf(slot).getInt(base(slot) + S_NEXT);
+	}
+
+	private void setNext(int slot, int next) {
+		extentOf(slot).putInt(base(slot) + S_NEXT, next);
+	}
+
+	private T load(int slot, int offset) {
+		return codec.decode(extentOf(slot), base(slot) + S_ITEMS + offset * width);
+	}
+
+	private void store(int slot, int offset, T item) {
+		codec.encode(item, extentOf(slot), base(slot) + S_ITEMS + offset * width);
+	}
+
+	/**
+	 * Encode item into pending, before anything moves: if the codec crashes, the list hasn't changed yet.
+	 */
+	private void encodePending(T item) {
+		if (pending == null) {
+			pending = ByteBuffer.allocate(width);
+		}
+		codec.encode(item, pending, 0);
+	}
+
+	/**
+	 * Copy the bytes encodePending made into (slot, offset).
+	 */
+	private void storePending(int slot, int offset) {
+		ByteBuffer extent = extentOf(slot);
+		int at = base(slot) + S_ITEMS + offset * width;
+		for (int i=0; i<width; i++) {
+			extent.put(at + i, pending.get(i));
+		}
+	}
+
+	/**
+	 * Copy count items from (fromSlot, fromOffset) to (toSlot, toOffset); overlapping is fine.
+	 */
+	private void copyItems(int fromSlot, int fromOffset, int toSlot, int toOffset, int count) {
+		if (count <= 0) {
+			return;
+		}
+		if (scratch == null) {
+			scratch = new byte[chunkSize * width];
+		}
+		ByteBuffer source = extentOf(fromSlot).duplicate();
+		// through Buffer, for Java 8; see OffHeapFixedSizeList.copyRun.
+		((Buffer) source).position(base(fromSlot) + S_ITEMS + fromOffset * width);
+		source.get(scratch, 0, count * width);
+		ByteBuffer dest = extentOf(toSlot).duplicate();
+		((Buffer) dest).position(base(toSlot) + S_ITEMS + toOffset * width);
+		dest.put(scratch, 0, count * width);
+	}
+
+	/**
+	 * Get an empty slot: from the free list if there is one, otherwise from the end of the file.
+	 */
+	private int allocateSlot() {
+		int slot = header.getInt(H_FREE);
+		if (slot != NONE) {
+			header.putInt(H_FREE, next(slot));
+		} else {
+			slot = header.getInt(H_SLOTS);
+			if (slot / slotsPerExtent >= extents.size()) {
+				try {
+					mapExtent();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+			header.putInt(H_SLOTS, slot + 1);
+		}
+		setCount(slot, 0);
+		setNext(slot, NONE);
+		return slot;
+	}
+
+	/**
+	 * Put a slot we don't need anymore on the free list.
+	 */
+	private void freeSlot(int slot) {
+		setCount(slot, 0);
+		setNext(slot, header.getInt(H_FREE));
+		header.putInt(H_FREE, slot);
+	}
+
+	/**
+	 * Put a new (empty) chunk in slot at position c, linking it to its neighbors.
+	 */
+	private void linkChunk(int c, int slot) {
+		if (c == 0) {
+			setNext(slot, header.getInt(H_FIRST));
+			header.putInt(H_FIRST, slot);
+		} else {
+			int before = order.getIndex(c-1);
+			setNext(slot, next(before));
+			setNext(before, slot);
+		}
+		order.addIndex(c, slot);
+		header.putInt(H_CHUNKS, order.size());
+	}
+
+	/**
+	 * Take chunk c out of the chunk list, and free its slot.
+	 */
+	private void unlinkChunk(int c) {
+		int slot = order.removeIndex(c);
+		if (c == 0) {
+			header.putInt(H_FIRST, next(slot));
+		} else {
+			setNext(order.getIndex(c-1), next(slot));
+		}
+		freeSlot(slot);
+		header.putInt(H_CHUNKS, order.size());
+	}
+
+	/**
+	 * Re-count every chunk; after we add or remove a chunk in the middle.
+	 */
+	private void rebuildChunkSizes() {
+		chunkSizes.rebuild(order.size(), c -> count(order.getIndex(c)));
+	}
+
+	private void setSize(int size) {
+		this.size = size;
+		header.putInt(H_SIZE, size);
+		modCount++;
+	}
+
+	/**
+	 * Crash if close() has been called.
+	 */
+	private void checkOpen() {
+		if (!channel.isOpen()) {
+			throw new IllegalStateException("This list was closed.");
+		}
+	}
+
+	@Override
+	protected boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int c = chunkSizes.find(index);
+		return load(order.getIndex(c), index - chunkSizes.prefixSum(c));
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int c = chunkSizes.find(index);
+		store(order.getIndex(c), index - chunkSizes.prefixSum(c), value);
+	}
+
+	@Override
+	public T getFront() {
+		checkNotEmpty();
+		return getIndex(0);
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		return getIndex(size-1);
+	}
+
+	@Override
+	public void addFront(T value) {
+		addIndex(0, value);
+	}
+
+	@Override
+	public void addBack(T value) {
+		checkOpen();
+		encodePending(value);
+		int c = order.size() - 1;
+		if (c < 0 || count(order.getIndex(c)) == chunkSize) {
+			c++;
+			linkChunk(c, allocateSlot());
+			chunkSizes.append(0);
+		}
+		int slot = order.getIndex(c);
+		int count = count(slot);
+		storePending(slot, count);
+		setCount(slot, count+1);
+		chunkSizes.add(c, 1);
+		setSize(size+1);
+	}
+
+	@Override
+	public void addIndex(int index, T value) {
+		checkOpen();
+		checkInclusiveIndex(index);
+		if (index == size) {
+			addBack(value);
+			return;
+		}
+		encodePending(value);
+		int c = chunkSizes.find(index);
+		int offset = index - chunkSizes.prefixSum(c);
+		int slot = order.getIndex(c);
+		int count = count(slot);
+		if (count == chunkSize) {
+			// split it in half, so both halves have room to grow.
+			int upper = allocateSlot();
+			int half = count / 2;
+			copyItems(slot, half, upper, 0, count - half);
+			setCount(upper, count - half);
+			setCount(slot, half);
+			linkChunk(c+1, upper);
+			rebuildChunkSizes();
+			if (offset > half) {
+				c++;
+				offset -= half;
+				slot = upper;
+			}
+			count = count(slot);
+		}
+		copyItems(slot, offset, slot, offset+1, count - offset);
+		storePending(slot, offset);
+		setCount(slot, count+1);
+		chunkSizes.add(c, 1);
+		setSize(size+1);
+	}
+
+	@Override
+	public T removeFront() {
+		return removeIndex(0);
+	}
+
+	@Override
+	public T removeBack() {
+		checkNotEmpty();
+		return removeIndex(size-1);
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int c = chunkSizes.find(index);
+		int offset = index - chunkSizes.prefixSum(c);
+		int slot = order.getIndex(c);
+		int count = count(slot);
+		T removed = load(slot, offset);
+		copyItems(slot, offset+1, slot, offset, count - offset - 1);
+		setCount(slot, count-1);
+		if (count == 1) {
+			unlinkChunk(c);
+			if (c == order.size()) {
+				chunkSizes.removeLast();
+			} else {
+				rebuildChunkSizes();
+			}
+		} else {
+			chunkSizes.add(c, -1);
+		}
+		setSize(size-1);
+		return removed;
+	}
+
+	/**
+	 * Forget every chunk; the file keeps its size and the slots get reused.
+	 */
+	@Override
+	public void clear() {
+		checkOpen();
+		header.putInt(H_FIRST, NONE);
+		header.putInt(H_FREE, NONE);
+		header.putInt(H_SLOTS, 0);
+		header.putInt(H_CHUNKS, 0);
+		order.clear();
+		chunkSizes.rebuild(0, c -> 0);
+		setSize(0);
+	}
+
+	/**
+	 * How many chunks are we using right now?
+	 * @return the number of chunks.
+	 */
+	public int chunkCount() {
+		return order.size();
+	}
+
+	/**
+	 * Make sure every change so far is written to the disk, not just to memory.
+	 */
+	public void force() {
+		checkOpen();
+		for (MappedByteBuffer extent : extents) {
+			extent.force();
+		}
+		header.force();
+	}
+
+	/**
+	 * Write everything to disk, unmap the file and close it. The list can't be used afterwards.
+	 * Calling this twice is fine.
+	 * @throws IOException if closing the file fails.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!channel.isOpen()) {
+			return;
+		}
+		force();
+		channel.close();
+		// unmap now, so the file can be deleted or re-opened right away (Windows cares).
+		for (MappedByteBuffer extent : extents) {
+			DirectMemory.free(extent);
+		}
+		DirectMemory.free(header);
+		extents.clear();
+		order.clear();
+		chunkSizes.rebuild(0, c -> 0);
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Cursor();
+	}
+
+	/**
+	 * Walk chunk by chunk, so we don't have to look up every index.
+	 */
+	private class Cursor extends ListADTIterator<T> {
+		private int chunk = 0;
+		private int offset = 0;
+		private int position = 0;
+
+		Cursor() {
+			super(MappedChunkyArrayList.this);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return position < size;
+		}
+
+		@Override
+		protected T advance() {
+			int slot = order.getIndex(chunk);
+			T item = load(slot, offset++);
+			if (offset == count(slot)) {
+				chunk++;
+				offset = 0;
+			}
+			position++;
+			return item;
+		}
+	}
+}
@@ -0,0 +1,437 @@
+package edu.smith.cs.csc212.adtr.offheap;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
+import edu.smith.cs.csc212.adtr.errors.RanOutOfSpaceError;
+
+/**
+ * A FixedSizeList that keeps its items as bytes, outside of the Java heap.
+ *
+ * Every item is turned into codec.width() bytes by a {@link FixedWidthCodec}, and stored in memory from
+ * ByteBuffer.allocateDirect. The garbage collector never has to look at those bytes, so a list of
+ * millions of small records doesn't make GC pauses any longer. The price is that getIndex decodes
+ * a new copy of the item every time.
+ *
+ * One ByteBuffer can only hold 2GB, so bigger lists are split into several "segments".
+ * Call {@link #release()} when you're done to give the memory back right away.
+ *
+ * @author jfoley
+ * @param <T> - the type of item stored in the list.
+ */
+public class OffHeapFixedSizeList<T> extends ListADT<T> {
+	/**
+	 * The most bytes we put in one ByteBuffer.
+	 */
+	static final int SEGMENT_BYTES = 1 << 30;
+	/**
+	 * How many bytes do we move at a time when shifting items?
+	 */
+	private static final int SCRATCH_BYTES = 1 << 16;
+
+	/**
+	 * How to turn items into bytes and back.
+	 */
+	private final FixedWidthCodec<T> codec;
+	/**
+	 * How many bytes each item takes.
+	 */
+	private final int width;
+	/**
+	 * The memory; item #i is in segments[i / perSegment]. null after release().
+	 */
+	private ByteBuffer[] segments;
+	/**
+	 * How many items fit in one segment.
+	 */
+	private final int perSegment;
+	/**
+	 * How many items can we hold in total?
+	 */
+	private final int maximumSize;
+	/**
+	 * Is segments direct (off-heap) memory?
+	 */
+	private final boolean direct;
+	/**
+	 * This keeps track of what we have used and what is left.
+	 */
+	private int fill;
+	/**
+	 * Space for moving bytes around; made the first time we need it.
+	 */
+	private byte[] scratch;
+
+	/**
+	 * Make an empty list, off the heap, with room for maximumSize items.
+	 * @param maximumSize - how many items it can hold.
+	 * @param codec - how to store each item.
+	 */
+	public OffHeapFixedSizeList(int maximumSize, FixedWidthCodec<T> codec) {
+		this(maximumSize, codec, true);
+	}
+
+	/**
+	 * Make an empty list with room for maximumSize items.
+	 * @param maximumSize - how many items it can hold.
+	 * @param codec - how to store each item.
+	 * @param offHeap - true for direct memory; false for a plain byte[] on the heap (e.g. if direct memory is limited).
+	 */
+	public OffHeapFixedSizeList(int maximumSize, FixedWidthCodec<T> codec, boolean offHeap) {
+		this(maximumSize, codec, offHeap, SEGMENT_BYTES);
+	}
+
+	/**
+	 * The real constructor; tests use a tiny segmentBytes to make sure items cross segments correctly.
+	 */
+	OffHeapFixedSizeList(int maximumSize, FixedWidthCodec<T> codec, boolean offHeap, int segmentBytes) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("maximumSize must not be negative: "+maximumSize);
+		}
+		if (codec.width() < 1) {
+			throw new IllegalArgumentException("codec.width() must be positive: "+codec.width());
+		}
+		this.codec = codec;
+		this.width = codec.width();
+		this.perSegment = Math.max(1, segmentBytes / width);
+		this.maximumSize = maximumSize;
+		this.direct = offHeap;
+		int count = (int) (((long) maximumSize + perSegment - 1) / perSegment);
+		this.segments = new ByteBuffer[count];
+		for (int s=0; s<count; s++) {
+			int items = Math.min(perSegment, maximumSize - s * perSegment);
+			segments[s] = offHeap ? ByteBuffer.allocateDirect(items * width) : ByteBuffer.allocate(items * width);
+		}
+		this.fill = 0;
+	}
+
+	/**
+	 * Which buffer is item #index in? No checks!
+	 */
+	private ByteBuffer segment(int index) {
+		return segments[index / perSegment];
+	}
+
+	/**
+	 * Where in its buffer does item #index start? No checks!
+	 */
+	private int offset(int index) {
+		return (index % perSegment) * width;
+	}
+
+	private T load(int index) {
+		return codec.decode(segment(index), offset(index));
+	}
+
+	private void store(int index, T item) {
+		codec.encode(item, segment(index), offset(index));
+	}
+
+	/**
+	 * Copy count items from index from to index to; works even if the two ranges overlap.
+	 * @param from - the first item to copy.
+	 * @param to - where to put it.
+	 * @param count - how many items to copy.
+	 */
+	private void moveItems(int from, int to, int count) {
+		if (count <= 0 || from == to) {
+			return;
+		}
+		if (from > to) {
+			// moving down: go front to back, so we never copy over something we still need.
+			int done = 0;
+			while (done < count) {
+				int run = Math.min(count - done, Math.min(roomAfter(from + done), roomAfter(to + done)));
+				copyRun(from + done, to + done, run);
+				done += run;
+			}
+		} else {
+			// moving up: go back to front.
+			int left = count;
+			while (left > 0) {
+				int run = Math.min(left, Math.min(roomBefore(from + left), roomBefore(to + left)));
+				copyRun(from + left - run, to + left - run, run);
+				left -= run;
+			}
+		}
+	}
+
+	/**
+	 * How many items can one copy handle, starting at index and going forwards?
+	 */
+	private int roomAfter(int index) {
+		return Math.min(perSegment - index % perSegment, scratchItems());
+	}
+
+	/**
+	 * How many items can one copy handle, ending just before end and going backwards?
+	 */
+	private int roomBefore(int end) {
+		return Math.min((end - 1) % perSegment + 1, scratchItems());
+	}
+
+	private int scratchItems() {
+		return Math.max(1, SCRATCH_BYTES / width);
+	}
+
+	/**
+	 * Copy count items that are all in one segment to a place that is all in one segment.
+	 */
+	private void copyRun(int from, int to, int count) {
+		if (scratch == null) {
+			scratch = new byte[scratchItems() * width];
+		}
+		int bytes = count * width;
+		ByteBuffer source = segment(from).duplicate();
+		// (Buffer) so this still runs on Java 8, where ByteBuffer.position(int) is only inherited.
+		((Buffer) source).position(offset(from));
+		source.get(scratch, 0, bytes);
+		ByteBuffer dest = segment(to).duplicate();
+		((Buffer) dest).position(offset(to));
+		dest.put(scratch, 0, bytes);
+	}
+
+	/**
+	 * Crash if we've already given our memory back.
+	 */
+	private void checkNotReleased() {
+		if (segments == null) {
+			throw new IllegalStateException("This list was released.");
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.fill == 0;
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		store(index, value);
+	}
+
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return load(index);
+	}
+
+	@Override
+	public T getFront() {
+		checkNotEmpty();
+		return load(0);
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		return load(fill-1);
+	}
+
+	@Override
+	public void addIndex(int index, T value) {
+		checkNotReleased();
+		checkInclusiveIndex(index);
+		if (fill >= maximumSize) {
+			throw new RanOutOfSpaceError();
+		}
+		if (index == fill) {
+			store(index, value);
+		} else {
+			moveItems(index, index+1, fill-index);
+			try {
+				store(index, value);
+			} catch (RuntimeException e) {
+				// the codec couldn't store it: close the gap again so the list hasn't changed.
+				moveItems(index+1, index, fill-index);
+				throw e;
+			}
+		}
+		fill++;
+		modCount++;
+	}
+
+	@Override
+	public void addFront(T value) {
+		addIndex(0, value);
+	}
+
+	@Override
+	public void addBack(T value) {
+		addIndex(fill, value);
+	}
+
+	/**
+	 * Shift the tail once, and encode the new items into the gap.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void insertAll(int index, Object[] items, int count) {
+		checkNotReleased();
+		if (fill + count > maximumSize) {
+			throw new RanOutOfSpaceError();
+		}
+		moveItems(index, index + count, fill - index);
+		try {
+			for (int i=0; i<count; i++) {
+				store(index + i, (T) items[i]);
+			}
+		} catch (RuntimeException e) {
+			// the codec couldn't store one of them: close the gap again so the list hasn't changed.
+			moveItems(index + count, index, fill - index);
+			throw e;
+		}
+		fill += count;
+		modCount++;
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		T removed = load(index);
+		moveItems(index+1, index, fill-index-1);
+		fill--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public T removeBack() {
+		checkNotEmpty();
+		T removed = load(fill-1);
+		fill--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public T removeFront() {
+		return removeIndex(0);
+	}
+
+	/**
+	 * Slide the tail down over the gap in one pass.
+	 */
+	@Override
+	protected void deleteRange(int fromIndex, int toIndex) {
+		moveItems(toIndex, fromIndex, fill - toIndex);
+		fill -= toIndex - fromIndex;
+		modCount++;
+	}
+
+	/**
+	 * Slide each survivor's bytes down to the next open spot, in one pass.
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		int before = fill;
+		int kept = 0;
+		int read = 0;
+		try {
+			for (; read < fill; read++) {
+				if (!filter.test(load(read))) {
+					moveItems(read, kept++, 1);
+				}
+			}
+		} finally {
+			// if filter crashed, slide down everything it didn't get to; what it already removed stays removed.
+			moveItems(read, kept, fill - read);
+			kept += fill - read;
+			if (kept != fill) {
+				fill = kept;
+				modCount++;
+			}
+		}
+		return fill != before;
+	}
+
+	/**
+	 * Remove everything; there are no objects to let go of, so this is O(1).
+	 */
+	@Override
+	public void clear() {
+		fill = 0;
+		modCount++;
+	}
+
+	/**
+	 * Is this data structure full?
+	 * @return if true this list is full.
+	 */
+	public boolean isFull() {
+		return this.fill == this.maximumSize;
+	}
+
+	/**
+	 * Is this list really off the heap, or did we fall back to a byte[]?
+	 * @return true if it uses direct memory.
+	 */
+	public boolean isDirect() {
+		return this.direct;
+	}
+
+	/**
+	 * Give the memory back now, instead of whenever the GC notices. The list is empty afterwards,
+	 * and adding to it crashes with an IllegalStateException. Calling this twice is fine.
+	 */
+	public void release() {
+		if (segments == null) {
+			return;
+		}
+		ByteBuffer[] old = segments;
+		segments = null;
+		scratch = null;
+		fill = 0;
+		modCount++;
+		for (ByteBuffer segment : old) {
+			DirectMemory.free(segment);
+		}
+	}
+
+	/**
+	 * Has {@link #release()} been called?
+	 * @return true if this list can't be used anymore.
+	 */
+	public boolean isReleased() {
+		return segments == null;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Cursor();
+	}
+
+	/**
+	 * Decode straight through the buffers, skipping the checks in getIndex.
+	 */
+	private class Cursor extends ListADTIterator<T> {
+		private int position = 0;
+
+		Cursor() {
+			super(OffHeapFixedSizeList.this);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return position < fill;
+		}
+
+		@Override
+		protected T advance() {
+			return load(position++);
+		}
+	}
+}
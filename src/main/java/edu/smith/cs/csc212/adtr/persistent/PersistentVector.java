@@ -0,0 +1,687 @@
+package edu.smith.cs.csc212.adtr.persistent;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
+import edu.smith.cs.csc212.adtr.errors.BadIndexError;
+import edu.smith.cs.csc212.adtr.errors.EmptyListError;
+
+/**
+ * A list that never changes. Instead of setIndex or addBack, you call {@link #withIndex(int, Object)}
+ * or {@link #withBack(Object)}, which give you a new version and leave the old one alone.
+ *
+ * The trick is that the new version shares almost everything with the old one. The items live in
+ * a tree where every node holds up to 32 children, so a million items is only 4 levels deep.
+ * Changing one item copies just the 4 nodes on the path to it (about 128 slots), not the million items.
+ * The last (up to) 32 items are kept in a separate "tail" array, so withBack and withoutBack usually
+ * copy only that.
+ *
+ * To build a big vector, use a {@link Builder}: it changes nodes it made itself in place,
+ * and only copies nodes it shares with an older version.
+ *
+ * All of ListADT's changing methods (addBack, setIndex, clear, ...) throw UnsupportedOperationException.
+ *
+ * @author jfoley
+ * @param <T> - the type of item stored in the vector.
+ */
+public final class PersistentVector<T> extends ListADT<T> {
+	/**
+	 * How many bits of the index pick a child at each level.
+	 */
+	private static final int BITS = 5;
+	/**
+	 * How many children each node has: 32.
+	 */
+	private static final int WIDTH = 1 << BITS;
+	/**
+	 * index &amp; MASK picks a slot within a node.
+	 */
+	private static final int MASK = WIDTH - 1;
+
+	/**
+	 * One node of the tree. Inner nodes hold Nodes; the bottom level holds items.
+	 */
+	private static final class Node {
+		/**
+		 * The Builder that made this node and may change it in place; null if nobody may.
+		 */
+		final Object owner;
+		final Object[] array;
+
+		Node(Object owner) {
+			this(owner, new Object[WIDTH]);
+		}
+
+		Node(Object owner, Object[] array) {
+			this.owner = owner;
+			this.array = array;
+		}
+	}
+
+	private static final Node EMPTY_NODE = new Node(null);
+	private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+	/**
+	 * How many items are in this vector.
+	 */
+	private final int count;
+	/**
+	 * How far to shift an index to find its slot in root; BITS times the number of inner levels.
+	 */
+	private final int shift;
+	/**
+	 * The tree holding every item before the tail.
+	 */
+	private final Node root;
+	/**
+	 * The last 1 to 32 items (none if the vector is empty).
+	 */
+	private final Object[] tail;
+	/**
+	 * We never change, so we only compute hashCode once; 0 means not yet.
+	 */
+	private int hash;
+
+	private PersistentVector(int count, int shift, Node root, Object[] tail) {
+		this.count = count;
+		this.shift = shift;
+		this.root = root;
+		this.tail = tail;
+	}
+
+	/**
+	 * Get the empty vector; there's only one.
+	 * @param <T> - the type of item it will hold.
+	 * @return a vector with nothing in it.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentVector<T> empty() {
+		return (PersistentVector<T>) EMPTY;
+	}
+
+	/**
+	 * Make a vector holding these items, in order.
+	 * @param items - the items; copied, not kept.
+	 * @param <T> - the type of item it will hold.
+	 * @return a new vector.
+	 */
+	@SafeVarargs
+	public static <T> PersistentVector<T> of(T... items) {
+		Builder<T> builder = builder();
+		for (T item : items) {
+			builder.addBack(item);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Make a vector holding these items, in order.
+	 * @param items - the items; copied, not kept.
+	 * @param <T> - the type of item it will hold.
+	 * @return a new vector.
+	 */
+	public static <T> PersistentVector<T> from(Iterable<? extends T> items) {
+		return PersistentVector.<T>empty().withAllBack(items);
+	}
+
+	/**
+	 * Start a Builder with nothing in it.
+	 * @param <T> - the type of item it will hold.
+	 * @return a new Builder.
+	 */
+	public static <T> Builder<T> builder() {
+		return new Builder<>(PersistentVector.<T>empty());
+	}
+
+	/**
+	 * Start a Builder holding this vector's items. This vector doesn't change.
+	 * @return a new Builder.
+	 */
+	public Builder<T> toBuilder() {
+		return new Builder<>(this);
+	}
+
+	/**
+	 * The index of the first item in the tail.
+	 */
+	private static int tailOffset(int count) {
+		return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+	}
+
+	/**
+	 * Find the array (a bottom node, or the tail) holding item #index. No checks!
+	 */
+	private Object[] arrayFor(int index) {
+		if (index >= tailOffset(count)) {
+			return tail;
+		}
+		Node node = root;
+		for (int level = shift; level > 0; level -= BITS) {
+			node = (Node) node.array[(index >>> level) & MASK];
+		}
+		return node.array;
+	}
+
+	/**
+	 * Make a chain of new single-child nodes, level deep, ending in node.
+	 */
+	private static Node newPath(Object owner, int level, Node node) {
+		if (level == 0) {
+			return node;
+		}
+		Node path = new Node(owner);
+		path.array[0] = newPath(owner, level - BITS, node);
+		return path;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	@Override
+	public int size() {
+		return count;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return (T) arrayFor(index)[index & MASK];
+	}
+
+	@Override
+	public T getFront() {
+		return getIndex(0);
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		return getIndex(count - 1);
+	}
+
+	/**
+	 * Get a new version with item #index replaced; O(log n), this vector doesn't change.
+	 * @param index - a number from 0 to size (exclusive).
+	 * @param value - the new item.
+	 * @return the new version.
+	 */
+	public PersistentVector<T> withIndex(int index, T value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		if (index >= tailOffset(count)) {
+			Object[] newTail = tail.clone();
+			newTail[index & MASK] = value;
+			return new PersistentVector<>(count, shift, root, newTail);
+		}
+		return new PersistentVector<>(count, shift, assoc(shift, root, index, value), tail);
+	}
+
+	/**
+	 * Copy the path down to item #index, with the item replaced.
+	 */
+	private static Node assoc(int level, Node node, int index, Object value) {
+		Node copy = new Node(null, node.array.clone());
+		if (level == 0) {
+			copy.array[index & MASK] = value;
+		} else {
+			int slot = (index >>> level) & MASK;
+			copy.array[slot] = assoc(level - BITS, (Node) node.array[slot], index, value);
+		}
+		return copy;
+	}
+
+	/**
+	 * Get a new version with value added to the back; usually O(1), this vector doesn't change.
+	 * @param value - the new item.
+	 * @return the new version.
+	 */
+	public PersistentVector<T> withBack(T value) {
+		if (count - tailOffset(count) < WIDTH) {
+			// room in the tail.
+			Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+			newTail[tail.length] = value;
+			return new PersistentVector<>(count + 1, shift, root, newTail);
+		}
+		// the tail is full: it goes into the tree, and value starts a new tail.
+		Node tailNode = new Node(null, tail);
+		Node newRoot;
+		int newShift = shift;
+		if ((count >>> BITS) > (1 << shift)) {
+			// the tree is full too: grow a new root on top.
+			newRoot = new Node(null);
+			newRoot.array[0] = root;
+			newRoot.array[1] = newPath(null, shift, tailNode);
+			newShift += BITS;
+		} else {
+			newRoot = pushTail(shift, root, tailNode);
+		}
+		return new PersistentVector<>(count + 1, newShift, newRoot, new Object[] { value });
+	}
+
+	/**
+	 * Copy the path to the next empty bottom slot, with tailNode hung there.
+	 */
+	private Node pushTail(int level, Node parent, Node tailNode) {
+		int slot = ((count - 1) >>> level) & MASK;
+		Node copy = new Node(null, parent.array.clone());
+		if (level == BITS) {
+			copy.array[slot] = tailNode;
+		} else {
+			Node child = (Node) parent.array[slot];
+			copy.array[slot] = child != null ? pushTail(level - BITS, child, tailNode) : newPath(null, level - BITS, tailNode);
+		}
+		return copy;
+	}
+
+	/**
+	 * Get a new version without the last item; usually O(1), this vector doesn't change.
+	 * @return the new version.
+	 */
+	public PersistentVector<T> withoutBack() {
+		checkNotEmpty();
+		if (count == 1) {
+			return empty();
+		}
+		if (count - tailOffset(count) > 1) {
+			return new PersistentVector<>(count - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+		}
+		// the tail would be empty: the last bottom node of the tree becomes the tail.
+		Object[] newTail = arrayFor(count - 2);
+		Node newRoot = popTail(shift, root);
+		int newShift = shift;
+		if (newRoot == null) {
+			newRoot = EMPTY_NODE;
+		}
+		if (shift > BITS && newRoot.array[1] == null) {
+			// the root only has one child left: that child is the new root.
+			newRoot = (Node) newRoot.array[0];
+			newShift -= BITS;
+		}
+		return new PersistentVector<>(count - 1, newShift, newRoot, newTail);
+	}
+
+	/**
+	 * Copy the path to the last bottom node, without it; null if nothing is left on this path.
+	 */
+	private Node popTail(int level, Node node) {
+		int slot = ((count - 2) >>> level) & MASK;
+		if (level > BITS) {
+			Node child = popTail(level - BITS, (Node) node.array[slot]);
+			if (child == null && slot == 0) {
+				return null;
+			}
+			Node copy = new Node(null, node.array.clone());
+			copy.array[slot] = child;
+			return copy;
+		} else if (slot == 0) {
+			return null;
+		}
+		Node copy = new Node(null, node.array.clone());
+		copy.array[slot] = null;
+		return copy;
+	}
+
+	/**
+	 * Get a new version with all of these items added to the back; O(m) for m items,
+	 * and this vector's tree is shared, not copied.
+	 * @param items - the items to add.
+	 * @return the new version.
+	 */
+	public PersistentVector<T> withAllBack(Iterable<? extends T> items) {
+		Builder<T> builder = toBuilder();
+		for (T item : items) {
+			builder.addBack(item);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Remember the answer, since it can't change.
+	 */
+	@Override
+	public int hashCode() {
+		int h = hash;
+		if (h == 0) {
+			h = super.hashCode();
+			hash = h;
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (other instanceof PersistentVector) {
+			PersistentVector<?> that = (PersistentVector<?>) other;
+			if (that.root == root && that.tail == tail) {
+				// two versions that share everything.
+				return true;
+			}
+			if (hash != 0 && that.hash != 0 && hash != that.hash) {
+				return false;
+			}
+		}
+		return super.equals(other);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Cursor();
+	}
+
+	@Override
+	public Spliterator<T> spliterator() {
+		return Spliterators.spliterator(iterator(), count, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+	}
+
+	/**
+	 * Walk one 32-item array at a time, instead of going down from the root for every item.
+	 */
+	private class Cursor extends ListADTIterator<T> {
+		private int position = 0;
+		private Object[] leaf = null;
+
+		Cursor() {
+			super(PersistentVector.this);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return position < count;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		protected T advance() {
+			if ((position & MASK) == 0) {
+				leaf = arrayFor(position);
+			}
+			return (T) leaf[position++ & MASK];
+		}
+	}
+
+	private static UnsupportedOperationException immutable() {
+		return new UnsupportedOperationException("PersistentVector never changes; use withBack, withIndex, or a Builder.");
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		throw immutable();
+	}
+
+	@Override
+	public void addIndex(int index, T value) {
+		throw immutable();
+	}
+
+	@Override
+	public void addFront(T value) {
+		throw immutable();
+	}
+
+	@Override
+	public void addBack(T value) {
+		throw immutable();
+	}
+
+	@Override
+	protected void insertAll(int index, Object[] items, int count) {
+		throw immutable();
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		throw immutable();
+	}
+
+	@Override
+	public T removeBack() {
+		throw immutable();
+	}
+
+	@Override
+	public T removeFront() {
+		throw immutable();
+	}
+
+	@Override
+	protected void deleteRange(int fromIndex, int toIndex) {
+		throw immutable();
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		throw immutable();
+	}
+
+	@Override
+	public void clear() {
+		throw immutable();
+	}
+
+	/**
+	 * Builds a PersistentVector quickly by changing nodes in place, like a GrowableList.
+	 *
+	 * Nodes the Builder made itself are marked as its own, and it changes those freely; nodes shared with
+	 * the vector it started from are copied the first time they're touched, so that vector never changes.
+	 * After {@link #build()}, the Builder can't be used anymore (IllegalStateException).
+	 *
+	 * @param <T> - the type of item being stored.
+	 */
+	public static final class Builder<T> {
+		/**
+		 * Marks the nodes we may change; null after build().
+		 */
+		private Object owner;
+		private int count;
+		private int shift;
+		private Node root;
+		/**
+		 * Always 32 slots long while building, so addBack can just fill it in.
+		 */
+		private Object[] tail;
+
+		private Builder(PersistentVector<T> start) {
+			this.owner = new Object();
+			this.count = start.count;
+			this.shift = start.shift;
+			this.root = new Node(owner, start.root.array.clone());
+			this.tail = Arrays.copyOf(start.tail, WIDTH);
+		}
+
+		private void checkNotBuilt() {
+			if (owner == null) {
+				throw new IllegalStateException("This Builder already built its vector.");
+			}
+		}
+
+		/**
+		 * Get a node we may change: node itself if we made it, otherwise a copy.
+		 */
+		private Node editable(Node node) {
+			if (node.owner == owner) {
+				return node;
+			}
+			return new Node(owner, node.array.clone());
+		}
+
+		/**
+		 * How many items are in the Builder so far?
+		 * @return the count.
+		 */
+		public int size() {
+			return count;
+		}
+
+		/**
+		 * Get an item that was already added.
+		 * @param index - a number from 0 to size (exclusive).
+		 * @return the item.
+		 */
+		@SuppressWarnings("unchecked")
+		public T getIndex(int index) {
+			checkNotBuilt();
+			checkIndex(index);
+			if (index >= tailOffset(count)) {
+				return (T) tail[index & MASK];
+			}
+			Node node = root;
+			for (int level = shift; level > 0; level -= BITS) {
+				node = (Node) node.array[(index >>> level) & MASK];
+			}
+			return (T) node.array[index & MASK];
+		}
+
+		private void checkIndex(int index) {
+			if (count == 0) {
+				throw new EmptyListError();
+			}
+			if (index < 0 || index >= count) {
+				throw new BadIndexError(index);
+			}
+		}
+
+		/**
+		 * Add an item to the back; amortized O(1).
+		 * @param value - the item.
+		 * @return this Builder, so calls can be chained.
+		 */
+		public Builder<T> addBack(T value) {
+			checkNotBuilt();
+			if (count - tailOffset(count) < WIDTH) {
+				tail[count & MASK] = value;
+				count++;
+				return this;
+			}
+			// the tail is full: hand it to the tree (no copy; it's ours) and start a new one.
+			Node tailNode = new Node(owner, tail);
+			tail = new Object[WIDTH];
+			tail[0] = value;
+			if ((count >>> BITS) > (1 << shift)) {
+				Node newRoot = new Node(owner);
+				newRoot.array[0] = root;
+				newRoot.array[1] = newPath(owner, shift, tailNode);
+				root = newRoot;
+				shift += BITS;
+			} else {
+				root = pushTail(shift, root, tailNode);
+			}
+			count++;
+			return this;
+		}
+
+		private Node pushTail(int level, Node parent, Node tailNode) {
+			Node node = editable(parent);
+			int slot = ((count - 1) >>> level) & MASK;
+			if (level == BITS) {
+				node.array[slot] = tailNode;
+			} else {
+				Node child = (Node) node.array[slot];
+				node.array[slot] = child != null ? pushTail(level - BITS, child, tailNode) : newPath(owner, level - BITS, tailNode);
+			}
+			return node;
+		}
+
+		/**
+		 * Replace an item that was already added.
+		 * @param index - a number from 0 to size (exclusive).
+		 * @param value - the new item.
+		 * @return this Builder, so calls can be chained.
+		 */
+		public Builder<T> setIndex(int index, T value) {
+			checkNotBuilt();
+			checkIndex(index);
+			if (index >= tailOffset(count)) {
+				tail[index & MASK] = value;
+			} else {
+				root = assoc(shift, root, index, value);
+			}
+			return this;
+		}
+
+		private Node assoc(int level, Node node, int index, Object value) {
+			Node mine = editable(node);
+			if (level == 0) {
+				mine.array[index & MASK] = value;
+			} else {
+				int slot = (index >>> level) & MASK;
+				mine.array[slot] = assoc(level - BITS, (Node) mine.array[slot], index, value);
+			}
+			return mine;
+		}
+
+		/**
+		 * Remove the last item.
+		 * @return the item removed.
+		 */
+		public T removeBack() {
+			checkNotBuilt();
+			T removed = getIndex(count - 1);
+			if (count == 1 || ((count - 1) & MASK) > 0) {
+				// it's in the tail, and isn't the only thing there (or it's the only thing anywhere).
+				tail[(count - 1) & MASK] = null;
+				count--;
+				return removed;
+			}
+			// the tail would be empty: the last bottom node of the tree becomes the tail.
+			Node leaf = root;
+			for (int level = shift; level > 0; level -= BITS) {
+				leaf = (Node) leaf.array[((count - 2) >>> level) & MASK];
+			}
+			Object[] newTail = leaf.owner == owner ? leaf.array : leaf.array.clone();
+			Node newRoot = popTail(shift, root);
+			if (newRoot == null) {
+				newRoot = new Node(owner);
+			}
+			if (shift > BITS && newRoot.array[1] == null) {
+				newRoot = editable((Node) newRoot.array[0]);
+				shift -= BITS;
+			}
+			root = newRoot;
+			tail = newTail;
+			count--;
+			return removed;
+		}
+
+		private Node popTail(int level, Node node) {
+			int slot = ((count - 2) >>> level) & MASK;
+			if (level > BITS) {
+				Node child = popTail(level - BITS, (Node) node.array[slot]);
+				if (child == null && slot == 0) {
+					return null;
+				}
+				Node mine = editable(node);
+				mine.array[slot] = child;
+				return mine;
+			} else if (slot == 0) {
+				return null;
+			}
+			Node mine = editable(node);
+			mine.array[slot] = null;
+			return mine;
+		}
+
+		/**
+		 * Finish: get the vector, and retire this Builder.
+		 * @return a vector holding everything added.
+		 */
+		public PersistentVector<T> build() {
+			checkNotBuilt();
+			// nobody else knows owner, so nothing can change these nodes from now on.
+			owner = null;
+			if (count == 0) {
+				return empty();
+			}
+			Object[] finalTail = Arrays.copyOf(tail, count - tailOffset(count));
+			return new PersistentVector<>(count, shift, root, finalTail);
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package edu.smith.cs.csc212.adtr.primitive;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+
+import edu.smith.cs.csc212.adtr.errors.RanOutOfSpaceError;
+
+/**
+ * A FixedSizeList that stores doubles directly in a double[].
+ *
+ * @author jfoley
+ *
+ */
+public class DoubleFixedSizeList extends DoubleListADT {
+	/**
+	 * This is the array of fixed size.
+	 */
+	private double[] array;
+	/**
+	 * This keeps track of what we have used and what is left.
+	 */
+	private int fill;
+
+	public DoubleFixedSizeList(int maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("maximumSize must not be negative: "+maximumSize);
+		}
+		this.array = new double[maximumSize];
+		this.fill = 0;
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public void setIndex(int index, double value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		this.array[index] = value;
+	}
+
+	@Override
+	public double getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return this.array[index];
+	}
+
+	@Override
+	public void addIndex(int index, double value) {
+		checkInclusiveIndex(index);
+		if (fill >= array.length) {
+			throw new RanOutOfSpaceError();
+		}
+		// shift the items after index to the right, in one copy.
+		System.arraycopy(array, index, array, index+1, fill-index);
+		array[index] = value;
+		fill++;
+		modCount++;
+	}
+
+	@Override
+	public void addBack(double value) {
+		if (fill >= array.length) {
+			throw new RanOutOfSpaceError();
+		}
+		array[fill++] = value;
+		modCount++;
+	}
+
+	@Override
+	public double removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		double removed = array[index];
+		// shift the items after index to the left, in one copy.
+		System.arraycopy(array, index+1, array, index, fill-index-1);
+		fill--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public double removeBack() {
+		checkNotEmpty();
+		modCount++;
+		return array[--fill];
+	}
+
+	/**
+	 * Remove everything; the array stays the same size. There's nothing to let go of, so this is O(1).
+	 */
+	@Override
+	public void clear() {
+		fill = 0;
+		modCount++;
+	}
+
+	/**
+	 * Is this data structure full? See {@linkplain DoubleChunkyArrayList} for a user.
+	 * @return if true this list is full.
+	 */
+	public boolean isFull() {
+		return this.fill == this.array.length;
+	}
+
+	/**
+	 * Get an item without any checks; for DoubleChunkyArrayList, which has already done them.
+	 * @param index - a number from 0 to size (exclusive).
+	 * @return the item at that index.
+	 */
+	double getUnchecked(int index) {
+		return this.array[index];
+	}
+
+	/**
+	 * Move our last count items to the front of (empty) other; for splitting a full chunk.
+	 * @param other - an empty list with room for them.
+	 * @param count - how many items to move.
+	 */
+	void moveTailTo(DoubleFixedSizeList other, int count) {
+		System.arraycopy(array, fill-count, other.array, 0, count);
+		other.fill = count;
+		other.modCount++;
+		fill -= count;
+		modCount++;
+	}
+
+	/**
+	 * Copy our items into dest; for DoubleChunkyArrayList.
+	 * @param dest - where to put them.
+	 * @param destPos - where to put the first one.
+	 */
+	void copyInto(double[] dest, int destPos) {
+		System.arraycopy(array, 0, dest, destPos, fill);
+	}
+
+	@Override
+	public void forEach(DoubleConsumer action) {
+		for (int i=0; i<fill; i++) {
+			action.accept(array[i]);
+		}
+	}
+
+	@Override
+	public DoubleStream stream() {
+		return Arrays.stream(array, 0, fill);
+	}
+
+	@Override
+	public double[] toArray() {
+		return Arrays.copyOf(array, fill);
+	}
+}
@@ -0,0 +1,157 @@
+package edu.smith.cs.csc212.adtr.primitive;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import edu.smith.cs.csc212.adtr.errors.RanOutOfSpaceError;
+
+/**
+ * A FixedSizeList that stores ints directly in a int[].
+ *
+ * @author jfoley
+ *
+ */
+public class IntFixedSizeList extends IntListADT {
+	/**
+	 * This is the array of fixed size.
+	 */
+	private int[] array;
+	/**
+	 * This keeps track of what we have used and what is left.
+	 */
+	private int fill;
+
+	public IntFixedSizeList(int maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("maximumSize must not be negative: "+maximumSize);
+		}
+		this.array = new int[maximumSize];
+		this.fill = 0;
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public void setIndex(int index, int value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		this.array[index] = value;
+	}
+
+	@Override
+	public int getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return this.array[index];
+	}
+
+	@Override
+	public void addIndex(int index, int value) {
+		checkInclusiveIndex(index);
+		if (fill >= array.length) {
+			throw new RanOutOfSpaceError();
+		}
+		// shift the items after index to the right, in one copy.
+		System.arraycopy(array, index, array, index+1, fill-index);
+		array[index] = value;
+		fill++;
+		modCount++;
+	}
+
+	@Override
+	public void addBack(int value) {
+		if (fill >= array.length) {
+			throw new RanOutOfSpaceError();
+		}
+		array[fill++] = value;
+		modCount++;
+	}
+
+	@Override
+	public int removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int removed = array[index];
+		// shift the items after index to the left, in one copy.
+		System.arraycopy(array, index+1, array, index, fill-index-1);
+		fill--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public int removeBack() {
+		checkNotEmpty();
+		modCount++;
+		return array[--fill];
+	}
+
+	/**
+	 * Remove everything; the array stays the same size. There's nothing to let go of, so this is O(1).
+	 */
+	@Override
+	public void clear() {
+		fill = 0;
+		modCount++;
+	}
+
+	/**
+	 * Is this data structure full? See {@linkplain IntChunkyArrayList} for a user.
+	 * @return if true this list is full.
+	 */
+	public boolean isFull() {
+		return this.fill == this.array.length;
+	}
+
+	/**
+	 * Get an item without any checks; for IntChunkyArrayList, which has already done them.
+	 * @param index - a number from 0 to size (exclusive).
+	 * @return the item at that index.
+	 */
+	int getUnchecked(int index) {
+		return this.array[index];
+	}
+
+	/**
+	 * Move our last count items to the front of (empty) other; for splitting a full chunk.
+	 * @param other - an empty list with room for them.
+	 * @param count - how many items to move.
+	 */
+	void moveTailTo(IntFixedSizeList other, int count) {
+		System.arraycopy(array, fill-count, other.array, 0, count);
+		other.fill = count;
+		other.modCount++;
+		fill -= count;
+		modCount++;
+	}
+
+	/**
+	 * Copy our items into dest; for IntChunkyArrayList.
+	 * @param dest - where to put them.
+	 * @param destPos - where to put the first one.
+	 */
+	void copyInto(int[] dest, int destPos) {
+		System.arraycopy(array, 0, dest, destPos, fill);
+	}
+
+	@Override
+	public void forEach(IntConsumer action) {
+		for (int i=0; i<fill; i++) {
+			action.accept(array[i]);
+		}
+	}
+
+	@Override
+	public IntStream stream() {
+		return Arrays.stream(array, 0, fill);
+	}
+
+	@Override
+	public int[] toArray() {
+		return Arrays.copyOf(array, fill);
+	}
+}
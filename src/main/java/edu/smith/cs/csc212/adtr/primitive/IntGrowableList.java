@@ -0,0 +1,172 @@
+package edu.smith.cs.csc212.adtr.primitive;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import edu.smith.cs.csc212.adtr.real.GrowthPolicy;
+
+/**
+ * A GrowableList that stores ints directly in a int[], and makes a bigger one when it runs out of room.
+ *
+ * How much bigger is up to its {@link GrowthPolicy} (doubling, by default).
+ *
+ * @author jfoley
+ *
+ */
+public class IntGrowableList extends IntListADT {
+	public static final int START_SIZE = 10;
+	private int[] array;
+	private int fill;
+	/**
+	 * How do we pick the next array size?
+	 */
+	private GrowthPolicy growthPolicy;
+
+	public IntGrowableList() {
+		this(START_SIZE);
+	}
+
+	/**
+	 * Make an empty list with room for initialCapacity items before it needs to grow.
+	 * @param initialCapacity - how many items to make room for.
+	 */
+	public IntGrowableList(int initialCapacity) {
+		this(initialCapacity, GrowthPolicy.factor(2));
+	}
+
+	/**
+	 * Make an empty list with room for initialCapacity items, which grows according to growthPolicy.
+	 * @param initialCapacity - how many items to make room for.
+	 * @param growthPolicy - how much room to add each time we run out.
+	 */
+	public IntGrowableList(int initialCapacity, GrowthPolicy growthPolicy) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("initialCapacity must not be negative: "+initialCapacity);
+		}
+		this.array = new int[initialCapacity];
+		this.fill = 0;
+		this.growthPolicy = growthPolicy;
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public void setIndex(int index, int value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		this.array[index] = value;
+	}
+
+	@Override
+	public int getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return this.array[index];
+	}
+
+	@Override
+	public void addIndex(int index, int value) {
+		checkInclusiveIndex(index);
+		if (fill >= array.length) {
+			resizeArray(growthPolicy.grow(array.length, fill+1));
+		}
+		// shift the items after index to the right, in one copy.
+		System.arraycopy(array, index, array, index+1, fill-index);
+		array[index] = value;
+		fill++;
+		modCount++;
+	}
+
+	@Override
+	public void addBack(int value) {
+		if (fill >= array.length) {
+			resizeArray(growthPolicy.grow(array.length, fill+1));
+		}
+		array[fill++] = value;
+		modCount++;
+	}
+
+	@Override
+	public int removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int removed = array[index];
+		// shift the items after index to the left, in one copy.
+		System.arraycopy(array, index+1, array, index, fill-index-1);
+		fill--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public int removeBack() {
+		checkNotEmpty();
+		modCount++;
+		return array[--fill];
+	}
+
+	/**
+	 * Remove everything, but keep the array for the next items we add.
+	 */
+	@Override
+	public void clear() {
+		fill = 0;
+		modCount++;
+	}
+
+	/**
+	 * Move our items into an array of exactly newSize.
+	 * @param newSize - the new capacity; at least fill.
+	 */
+	private void resizeArray(int newSize) {
+		this.array = Arrays.copyOf(this.array, newSize);
+	}
+
+	/**
+	 * Make sure there's room for at least minCapacity items without growing again.
+	 * @param minCapacity - how many items we should be able to hold.
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > array.length) {
+			resizeArray(growthPolicy.grow(array.length, minCapacity));
+		}
+	}
+
+	/**
+	 * Give back any array space we aren't using right now.
+	 */
+	public void trimToSize() {
+		if (fill < array.length) {
+			resizeArray(fill);
+		}
+	}
+
+	/**
+	 * How many items can we hold before we have to grow?
+	 * @return the length of the array inside.
+	 */
+	public int capacity() {
+		return array.length;
+	}
+
+	@Override
+	public void forEach(IntConsumer action) {
+		for (int i=0; i<fill; i++) {
+			action.accept(array[i]);
+		}
+	}
+
+	@Override
+	public IntStream stream() {
+		return Arrays.stream(array, 0, fill);
+	}
+
+	@Override
+	public int[] toArray() {
+		return Arrays.copyOf(array, fill);
+	}
+}
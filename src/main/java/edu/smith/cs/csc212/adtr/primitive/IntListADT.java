@@ -0,0 +1,288 @@
+package edu.smith.cs.csc212.adtr.primitive;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
+
+/**
+ * This is an abstract view of a List of ints: the same methods as ListADT, without boxing.
+ *
+ * Use {@link #asList()} to hand one to code that wants a ListADT&lt;Integer&gt;.
+ *
+ * @author jfoley
+ *
+ */
+public abstract class IntListADT extends PrimitiveListADT {
+
+	/**
+	 * Set the item stored at the given index to value.
+	 *
+	 * @param index - the index; from 0 to size() exclusive.
+	 * @param value - the value to put in the list.
+	 */
+	public abstract void setIndex(int index, int value);
+
+	/**
+	 * Get the value at the given index.
+	 *
+	 * @param index - the item index to retrieve.
+	 * @return the value stored at that position.
+	 */
+	public abstract int getIndex(int index);
+
+	/**
+	 * Add an item with value before the item at the given index.
+	 *
+	 * @param index - a number from 0 to size (inclusive).
+	 * @param value - the value to insert into the list.
+	 */
+	public abstract void addIndex(int index, int value);
+
+	/**
+	 * Remove the item from the list at the given index.
+	 *
+	 * @param index - a number from 0 to size (exclusive).
+	 * @return the value removed.
+	 */
+	public abstract int removeIndex(int index);
+
+	/**
+	 * Remove every item from this list.
+	 */
+	public abstract void clear();
+
+	/**
+	 * Get the first item in the list.
+	 * @return this.getIndex(0);
+	 */
+	public int getFront() {
+		checkNotEmpty();
+		return getIndex(0);
+	}
+
+	/**
+	 * Get the last item in the list.
+	 * @return this.getIndex(this.size()-1);
+	 */
+	public int getBack() {
+		checkNotEmpty();
+		return getIndex(size()-1);
+	}
+
+	/**
+	 * Add value to the front of the list.
+	 * @param value - the item to add.
+	 */
+	public void addFront(int value) {
+		addIndex(0, value);
+	}
+
+	/**
+	 * Add value to the back of the list.
+	 * @param value - the item to add.
+	 */
+	public void addBack(int value) {
+		addIndex(size(), value);
+	}
+
+	/**
+	 * Remove the item from the front of the list.
+	 * @return the value removed.
+	 */
+	public int removeFront() {
+		checkNotEmpty();
+		return removeIndex(0);
+	}
+
+	/**
+	 * Remove the item from the back of the list.
+	 * @return the value removed.
+	 */
+	public int removeBack() {
+		checkNotEmpty();
+		return removeIndex(size()-1);
+	}
+
+	/**
+	 * Call action on every item, in order, without boxing any of them.
+	 * @param action - what to do with each item.
+	 */
+	public void forEach(IntConsumer action) {
+		for (int i=0; i<size(); i++) {
+			action.accept(getIndex(i));
+		}
+	}
+
+	/**
+	 * Combine all the items, e.g. {@code list.reduce(0, (a, b) -> a + b)} for the sum.
+	 * @param identity - the answer for an empty list.
+	 * @param op - how to combine the answer so far with the next item.
+	 * @return the combined answer.
+	 */
+	public int reduce(int identity, IntBinaryOperator op) {
+		int result = identity;
+		for (int i=0; i<size(); i++) {
+			result = op.applyAsInt(result, getIndex(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Walk this list with Java's primitive streams.
+	 * @return a sequential IntStream over this list.
+	 */
+	public IntStream stream() {
+		return IntStream.range(0, size()).map(this::getIndex);
+	}
+
+	/**
+	 * Copy this list into a new array.
+	 * @return an array of length size(), with the items in order.
+	 */
+	public int[] toArray() {
+		int[] output = new int[size()];
+		for (int i=0; i<output.length; i++) {
+			output[i] = getIndex(i);
+		}
+		return output;
+	}
+
+	/**
+	 * A ListADT&lt;Integer&gt; that reads and writes this list; changes show up in both.
+	 * Every item you get out of it gets boxed, so prefer the int methods where you can.
+	 * Putting null into it crashes with a NullPointerException.
+	 * @return a boxed view of this list.
+	 */
+	public ListADT<Integer> asList() {
+		return new Boxed();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder out = new StringBuilder();
+		out.append('[');
+		for (int i=0; i<size(); i++) {
+			if (i > 0) {
+				out.append(", ");
+			}
+			out.append(getIndex(i));
+		}
+		out.append(']');
+		return out.toString();
+	}
+
+	/**
+	 * The view returned by asList(); it just passes everything through, boxing and unboxing.
+	 */
+	private class Boxed extends ListADT<Integer> {
+		@Override
+		protected boolean isEmpty() {
+			return IntListADT.this.isEmpty();
+		}
+
+		@Override
+		public int size() {
+			return IntListADT.this.size();
+		}
+
+		@Override
+		public void setIndex(int index, Integer value) {
+			IntListADT.this.setIndex(index, value);
+		}
+
+		@Override
+		public Integer getIndex(int index) {
+			return IntListADT.this.getIndex(index);
+		}
+
+		@Override
+		public Integer getFront() {
+			return IntListADT.this.getFront();
+		}
+
+		@Override
+		public Integer getBack() {
+			return IntListADT.this.getBack();
+		}
+
+		@Override
+		public void addIndex(int index, Integer value) {
+			IntListADT.this.addIndex(index, value);
+			modCount++;
+		}
+
+		@Override
+		public void addFront(Integer value) {
+			IntListADT.this.addFront(value);
+			modCount++;
+		}
+
+		@Override
+		public void addBack(Integer value) {
+			IntListADT.this.addBack(value);
+			modCount++;
+		}
+
+		@Override
+		public Integer removeIndex(int index) {
+			Integer removed = IntListADT.this.removeIndex(index);
+			modCount++;
+			return removed;
+		}
+
+		@Override
+		public Integer removeBack() {
+			Integer removed = IntListADT.this.removeBack();
+			modCount++;
+			return removed;
+		}
+
+		@Override
+		public Integer removeFront() {
+			Integer removed = IntListADT.this.removeFront();
+			modCount++;
+			return removed;
+		}
+
+		@Override
+		public void clear() {
+			IntListADT.this.clear();
+			modCount++;
+		}
+
+		@Override
+		public Iterator<Integer> iterator() {
+			return new Cursor();
+		}
+
+		/**
+		 * Walks the primitive list by index, and also notices changes made to it directly.
+		 */
+		private class Cursor extends ListADTIterator<Integer> {
+			private int position = 0;
+			private final int expectedPrimitiveModCount = IntListADT.this.modCount;
+
+			Cursor() {
+				super(Boxed.this);
+			}
+
+			@Override
+			public boolean hasNext() {
+				return position < IntListADT.this.size();
+			}
+
+			@Override
+			protected Integer advance() {
+				if (IntListADT.this.modCount != expectedPrimitiveModCount) {
+					throw new ConcurrentModificationException();
+				}
+				return IntListADT.this.getIndex(position++);
+			}
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package edu.smith.cs.csc212.adtr.primitive;
+
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+import edu.smith.cs.csc212.adtr.internal.FenwickTree;
+import edu.smith.cs.csc212.adtr.real.GrowableList;
+
+/**
+ * A ChunkyArrayList of longs: a list of LongFixedSizeList chunks, so adding in the middle only
+ * shifts one chunk, and no single array has to hold everything.
+ *
+ * Like ChunkyArrayList, it keeps a {@link FenwickTree} of chunk sizes so finding item #i is
+ * O(log #chunks). A full chunk gets split in half, and an empty chunk gets dropped.
+ *
+ * @author jfoley
+ *
+ */
+public class LongChunkyArrayList extends LongListADT {
+	/**
+	 * How big should each chunk be?
+	 */
+	private int chunkSize;
+	/**
+	 * The chunks; none of them are empty.
+	 */
+	private GrowableList<LongFixedSizeList> chunks;
+	/**
+	 * The total number of items in all the chunks.
+	 */
+	private int size;
+	/**
+	 * chunkSizes.prefixSum(c) is how many items are in the chunks before chunk c.
+	 */
+	private FenwickTree chunkSizes;
+
+	public LongChunkyArrayList(int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be positive: "+chunkSize);
+		}
+		this.chunkSize = chunkSize;
+		this.chunks = new GrowableList<>();
+		this.size = 0;
+		this.chunkSizes = new FenwickTree();
+	}
+
+	private LongFixedSizeList makeChunk() {
+		return new LongFixedSizeList(chunkSize);
+	}
+
+	/**
+	 * Re-count every chunk; after we add or remove a chunk in the middle.
+	 */
+	private void rebuildChunkSizes() {
+		chunkSizes.rebuild(chunks.size(), c -> chunks.getIndex(c).size());
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public long getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int c = chunkSizes.find(index);
+		return chunks.getIndex(c).getUnchecked(index - chunkSizes.prefixSum(c));
+	}
+
+	@Override
+	public void setIndex(int index, long value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int c = chunkSizes.find(index);
+		chunks.getIndex(c).setIndex(index - chunkSizes.prefixSum(c), value);
+	}
+
+	@Override
+	public void addBack(long value) {
+		if (chunks.isEmpty() || chunks.getBack().isFull()) {
+			chunks.addBack(makeChunk());
+			chunkSizes.append(0);
+		}
+		chunks.getBack().addBack(value);
+		chunkSizes.add(chunks.size()-1, 1);
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public void addIndex(int index, long value) {
+		checkInclusiveIndex(index);
+		if (index == size) {
+			addBack(value);
+			return;
+		}
+		int c = chunkSizes.find(index);
+		int offset = index - chunkSizes.prefixSum(c);
+		LongFixedSizeList chunk = chunks.getIndex(c);
+		if (chunk.isFull()) {
+			// split it in half, so both halves have room to grow.
+			LongFixedSizeList upper = makeChunk();
+			int half = chunk.size() / 2;
+			chunk.moveTailTo(upper, chunk.size() - half);
+			chunks.addIndex(c+1, upper);
+			rebuildChunkSizes();
+			if (offset > half) {
+				c++;
+				offset -= half;
+				chunk = upper;
+			}
+		}
+		chunk.addIndex(offset, value);
+		chunkSizes.add(c, 1);
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public long removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int c = chunkSizes.find(index);
+		LongFixedSizeList chunk = chunks.getIndex(c);
+		long removed = chunk.removeIndex(index - chunkSizes.prefixSum(c));
+		if (chunk.isEmpty()) {
+			chunks.removeIndex(c);
+			if (c == chunks.size()) {
+				chunkSizes.removeLast();
+			} else {
+				rebuildChunkSizes();
+			}
+		} else {
+			chunkSizes.add(c, -1);
+		}
+		size--;
+		modCount++;
+		return removed;
+	}
+
+	/**
+	 * Throw away every chunk.
+	 */
+	@Override
+	public void clear() {
+		chunks.clear();
+		chunkSizes.rebuild(0, c -> 0);
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * How many chunks are we using right now?
+	 * @return the number of chunks.
+	 */
+	public int chunkCount() {
+		return chunks.size();
+	}
+
+	/**
+	 * Go chunk by chunk, so we don't have to look up every index.
+	 */
+	@Override
+	public void forEach(LongConsumer action) {
+		for (LongFixedSizeList chunk : chunks) {
+			chunk.forEach(action);
+		}
+	}
+
+	/**
+	 * Stream each chunk's array in turn, so nothing gets copied (or looked up by index).
+	 */
+	@Override
+	public LongStream stream() {
+		return chunks.stream().flatMapToLong(LongFixedSizeList::stream);
+	}
+
+	@Override
+	public long[] toArray() {
+		long[] output = new long[size];
+		int start = 0;
+		for (LongFixedSizeList chunk : chunks) {
+			chunk.copyInto(output, start);
+			start += chunk.size();
+		}
+		return output;
+	}
+}
@@ -0,0 +1,157 @@
+package edu.smith.cs.csc212.adtr.primitive;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+import edu.smith.cs.csc212.adtr.errors.RanOutOfSpaceError;
+
+/**
+ * A FixedSizeList that stores longs directly in a long[].
+ *
+ * @author jfoley
+ *
+ */
+public class LongFixedSizeList extends LongListADT {
+	/**
+	 * This is the array of fixed size.
+	 */
+	private long[] array;
+	/**
+	 * This keeps track of what we have used and what is left.
+	 */
+	private int fill;
+
+	public LongFixedSizeList(int maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("maximumSize must not be negative: "+maximumSize);
+		}
+		this.array = new long[maximumSize];
+		this.fill = 0;
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public void setIndex(int index, long value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		this.array[index] = value;
+	}
+
+	@Override
+	public long getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return this.array[index];
+	}
+
+	@Override
+	public void addIndex(int index, long value) {
+		checkInclusiveIndex(index);
+		if (fill >= array.length) {
+			throw new RanOutOfSpaceError();
+		}
+		// shift the items after index to the right, in one copy.
+		System.arraycopy(array, index, array, index+1, fill-index);
+		array[index] = value;
+		fill++;
+		modCount++;
+	}
+
+	@Override
+	public void addBack(long value) {
+		if (fill >= array.length) {
+			throw new RanOutOfSpaceError();
+		}
+		array[fill++] = value;
+		modCount++;
+	}
+
+	@Override
+	public long removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		long removed = array[index];
+		// shift the items after index to the left, in one copy.
+		System.arraycopy(array, index+1, array, index, fill-index-1);
+		fill--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public long removeBack() {
+		checkNotEmpty();
+		modCount++;
+		return array[--fill];
+	}
+
+	/**
+	 * Remove everything; the array stays the same size. There's nothing to let go of, so this is O(1).
+	 */
+	@Override
+	public void clear() {
+		fill = 0;
+		modCount++;
+	}
+
+	/**
+	 * Is this data structure full? See {@linkplain LongChunkyArrayList} for a user.
+	 * @return if true this list is full.
+	 */
+	public boolean isFull() {
+		return this.fill == this.array.length;
+	}
+
+	/**
+	 * Get an item without any checks; for LongChunkyArrayList, which has already done them.
+	 * @param index - a number from 0 to size (exclusive).
+	 * @return the item at that index.
+	 */
+	long getUnchecked(int index) {
+		return this.array[index];
+	}
+
+	/**
+	 * Move our last count items to the front of (empty) other; for splitting a full chunk.
+	 * @param other - an empty list with room for them.
+	 * @param count - how many items to move.
+	 */
+	void moveTailTo(LongFixedSizeList other, int count) {
+		System.arraycopy(array, fill-count, other.array, 0, count);
+		other.fill = count;
+		other.modCount++;
+		fill -= count;
+		modCount++;
+	}
+
+	/**
+	 * Copy our items into dest; for LongChunkyArrayList.
+	 * @param dest - where to put them.
+	 * @param destPos - where to put the first one.
+	 */
+	void copyInto(long[] dest, int destPos) {
+		System.arraycopy(array, 0, dest, destPos, fill);
+	}
+
+	@Override
+	public void forEach(LongConsumer action) {
+		for (int i=0; i<fill; i++) {
+			action.accept(array[i]);
+		}
+	}
+
+	@Override
+	public LongStream stream() {
+		return Arrays.stream(array, 0, fill);
+	}
+
+	@Override
+	public long[] toArray() {
+		return Arrays.copyOf(array, fill);
+	}
+}
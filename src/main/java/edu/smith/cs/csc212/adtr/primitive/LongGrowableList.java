@@ -0,0 +1,172 @@
+package edu.smith.cs.csc212.adtr.primitive;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+import edu.smith.cs.csc212.adtr.real.GrowthPolicy;
+
+/**
+ * A GrowableList that stores longs directly in a long[], and makes a bigger one when it runs out of room.
+ *
+ * How much bigger is up to its {@link GrowthPolicy} (doubling, by default).
+ *
+ * @author jfoley
+ *
+ */
+public class LongGrowableList extends LongListADT {
+	public static final int START_SIZE = 10;
+	private long[] array;
+	private int fill;
+	/**
+	 * How do we pick the next array size?
+	 */
+	private GrowthPolicy growthPolicy;
+
+	public LongGrowableList() {
+		this(START_SIZE);
+	}
+
+	/**
+	 * Make an empty list with room for initialCapacity items before it needs to grow.
+	 * @param initialCapacity - how many items to make room for.
+	 */
+	public LongGrowableList(int initialCapacity) {
+		this(initialCapacity, GrowthPolicy.factor(2));
+	}
+
+	/**
+	 * Make an empty list with room for initialCapacity items, which grows according to growthPolicy.
+	 * @param initialCapacity - how many items to make room for.
+	 * @param growthPolicy - how much room to add each time we run out.
+	 */
+	public LongGrowableList(int initialCapacity, GrowthPolicy growthPolicy) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("initialCapacity must not be negative: "+initialCapacity);
+		}
+		this.array = new long[initialCapacity];
+		this.fill = 0;
+		this.growthPolicy = growthPolicy;
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public void setIndex(int index, long value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		this.array[index] = value;
+	}
+
+	@Override
+	public long getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return this.array[index];
+	}
+
+	@Override
+	public void addIndex(int index, long value) {
+		checkInclusiveIndex(index);
+		if (fill >= array.length) {
+			resizeArray(growthPolicy.grow(array.length, fill+1));
+		}
+		// shift the items after index to the right, in one copy.
+		System.arraycopy(array, index, array, index+1, fill-index);
+		array[index] = value;
+		fill++;
+		modCount++;
+	}
+
+	@Override
+	public void addBack(long value) {
+		if (fill >= array.length) {
+			resizeArray(growthPolicy.grow(array.length, fill+1));
+		}
+		array[fill++] = value;
+		modCount++;
+	}
+
+	@Override
+	public long removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		long removed = array[index];
+		// shift the items after index to the left, in one copy.
+		System.arraycopy(array, index+1, array, index, fill-index-1);
+		fill--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public long removeBack() {
+		checkNotEmpty();
+		modCount++;
+		return array[--fill];
+	}
+
+	/**
+	 * Remove everything, but keep the array for the next items we add.
+	 */
+	@Override
+	public void clear() {
+		fill = 0;
+		modCount++;
+	}
+
+	/**
+	 * Move our items into an array of exactly newSize.
+	 * @param newSize - the new capacity; at least fill.
+	 */
+	private void resizeArray(int newSize) {
+		this.array = Arrays.copyOf(this.array, newSize);
+	}
+
+	/**
+	 * Make sure there's room for at least minCapacity items without growing again.
+	 * @param minCapacity - how many items we should be able to hold.
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > array.length) {
+			resizeArray(growthPolicy.grow(array.length, minCapacity));
+		}
+	}
+
+	/**
+	 * Give back any array space we aren't using right now.
+	 */
+	public void trimToSize() {
+		if (fill < array.length) {
+			resizeArray(fill);
+		}
+	}
+
+	/**
+	 * How many items can we hold before we have to grow?
+	 * @return the length of the array inside.
+	 */
+	public int capacity() {
+		return array.length;
+	}
+
+	@Override
+	public void forEach(LongConsumer action) {
+		for (int i=0; i<fill; i++) {
+			action.accept(array[i]);
+		}
+	}
+
+	@Override
+	public LongStream stream() {
+		return Arrays.stream(array, 0, fill);
+	}
+
+	@Override
+	public long[] toArray() {
+		return Arrays.copyOf(array, fill);
+	}
+}
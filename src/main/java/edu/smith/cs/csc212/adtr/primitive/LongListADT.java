@@ -0,0 +1,289 @@
+package edu.smith.cs.csc212.adtr.primitive;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
+
+/**
+ * This is an abstract view of a List of longs: the same methods as ListADT, without boxing.
+ *
+ * Use {@link #asList()} to hand one to code that wants a ListADT&lt;Long&gt;.
+ *
+ * @author jfoley
+ *
+ */
+public abstract class LongListADT extends PrimitiveListADT {
+
+	/**
+	 * Set the item stored at the given index to value.
+	 *
+	 * @param index - the index; from 0 to size() exclusive.
+	 * @param value - the value to put in the list.
+	 */
+	public abstract void setIndex(int index, long value);
+
+	/**
+	 * Get the value at the given index.
+	 *
+	 * @param index - the item index to retrieve.
+	 * @return the value stored at that position.
+	 */
+	public abstract long getIndex(int index);
+
+	/**
+	 * Add an item with value before the item at the given index.
+	 *
+	 * @param index - a number from 0 to size (inclusive).
+	 * @param value - the value to insert into the list.
+	 */
+	public abstract void addIndex(int index, long value);
+
+	/**
+	 * Remove the item from the list at the given index.
+	 *
+	 * @param index - a number from 0 to size (exclusive).
+	 * @return the value removed.
+	 */
+	public abstract long removeIndex(int index);
+
+	/**
+	 * Remove every item from this list.
+	 */
+	public abstract void clear();
+
+	/**
+	 * Get the first item in the list.
+	 * @return this.getIndex(0);
+	 */
+	public long getFront() {
+		checkNotEmpty();
+		return getIndex(0);
+	}
+
+	/**
+	 * Get the last item in the list.
+	 * @return this.getIndex(this.size()-1);
+	 */
+	public long getBack() {
+		checkNotEmpty();
+		return getIndex(size()-1);
+	}
+
+	/**
+	 * Add value to the front of the list.
+	 * @param value - the item to add.
+	 */
+	public void addFront(long value) {
+		addIndex(0, value);
+	}
+
+	/**
+	 * Add value to the back of the list.
+	 * @param value - the item to add.
+	 */
+	public void addBack(long value) {
+		addIndex(size(), value);
+	}
+
+	/**
+	 * Remove the item from the front of the list.
+	 * @return the value removed.
+	 */
+	public long removeFront() {
+		checkNotEmpty();
+		return removeIndex(0);
+	}
+
+	/**
+	 * Remove the item from the back of the list.
+	 * @return the value removed.
+	 */
+	public long removeBack() {
+		checkNotEmpty();
+		return removeIndex(size()-1);
+	}
+
+	/**
+	 * Call action on every item, in order, without boxing any of them.
+	 * @param action - what to do with each item.
+	 */
+	public void forEach(LongConsumer action) {
+		for (int i=0; i<size(); i++) {
+			action.accept(getIndex(i));
+		}
+	}
+
+	/**
+	 * Combine all the items, e.g. {@code list.reduce(0, (a, b) -> a + b)} for the sum.
+	 * @param identity - the answer for an empty list.
+	 * @param op - how to combine the answer so far with the next item.
+	 * @return the combined answer.
+	 */
+	public long reduce(long identity, LongBinaryOperator op) {
+		long result = identity;
+		for (int i=0; i<size(); i++) {
+			result = op.applyAsLong(result, getIndex(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Walk this list with Java's primitive streams.
+	 * @return a sequential LongStream over this list.
+	 */
+	public LongStream stream() {
+		return IntStream.range(0, size()).mapToLong(this::getIndex);
+	}
+
+	/**
+	 * Copy this list into a new array.
+	 * @return an array of length size(), with the items in order.
+	 */
+	public long[] toArray() {
+		long[] output = new long[size()];
+		for (int i=0; i<output.length; i++) {
+			output[i] = getIndex(i);
+		}
+		return output;
+	}
+
+	/**
+	 * A ListADT&lt;Long&gt; that reads and writes this list; changes show up in both.
+	 * Every item you get out of it gets boxed, so prefer the long methods where you can.
+	 * Putting null into it crashes with a NullPointerException.
+	 * @return a boxed view of this list.
+	 */
+	public ListADT<Long> asList() {
+		return new Boxed();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder out = new StringBuilder();
+		out.append('[');
+		for (int i=0; i<size(); i++) {
+			if (i > 0) {
+				out.append(", ");
+			}
+			out.append(getIndex(i));
+		}
+		out.append(']');
+		return out.toString();
+	}
+
+	/**
+	 * The view returned by asList(); it just passes everything through, boxing and unboxing.
+	 */
+	private class Boxed extends ListADT<Long> {
+		@Override
+		protected boolean isEmpty() {
+			return LongListADT.this.isEmpty();
+		}
+
+		@Override
+		public int size() {
+			return LongListADT.this.size();
+		}
+
+		@Override
+		public void setIndex(int index, Long value) {
+			LongListADT.this.setIndex(index, value);
+		}
+
+		@Override
+		public Long getIndex(int index) {
+			return LongListADT.this.getIndex(index);
+		}
+
+		@Override
+		public Long getFront() {
+			return LongListADT.this.getFront();
+		}
+
+		@Override
+		public Long getBack() {
+			return LongListADT.this.getBack();
+		}
+
+		@Override
+		public void addIndex(int index, Long value) {
+			LongListADT.this.addIndex(index, value);
+			modCount++;
+		}
+
+		@Override
+		public void addFront(Long value) {
+			LongListADT.this.addFront(value);
+			modCount++;
+		}
+
+		@Override
+		public void addBack(Long value) {
+			LongListADT.this.addBack(value);
+			modCount++;
+		}
+
+		@Override
+		public Long removeIndex(int index) {
+			Long removed = LongListADT.this.removeIndex(index);
+			modCount++;
+			return removed;
+		}
+
+		@Override
+		public Long removeBack() {
+			Long removed = LongListADT.this.removeBack();
+			modCount++;
+			return removed;
+		}
+
+		@Override
+		public Long removeFront() {
+			Long removed = LongListADT.this.removeFront();
+			modCount++;
+			return removed;
+		}
+
+		@Override
+		public void clear() {
+			LongListADT.this.clear();
+			modCount++;
+		}
+
+		@Override
+		public Iterator<Long> iterator() {
+			return new Cursor();
+		}
+
+		/**
+		 * Walks the primitive list by index, and also notices changes made to it directly.
+		 */
+		private class Cursor extends ListADTIterator<Long> {
+			private int position = 0;
+			private final int expectedPrimitiveModCount = LongListADT.this.modCount;
+
+			Cursor() {
+				super(Boxed.this);
+			}
+
+			@Override
+			public boolean hasNext() {
+				return position < LongListADT.this.size();
+			}
+
+			@Override
+			protected Long advance() {
+				if (LongListADT.this.modCount != expectedPrimitiveModCount) {
+					throw new ConcurrentModificationException();
+				}
+				return LongListADT.this.getIndex(position++);
+			}
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package edu.smith.cs.csc212.adtr.primitive;
+
+import edu.smith.cs.csc212.adtr.errors.BadIndexError;
+import edu.smith.cs.csc212.adtr.errors.EmptyListError;
+
+/**
+ * What every list of primitives (ints, longs, doubles) has in common: a size, and the same
+ * error checks as {@link edu.smith.cs.csc212.adtr.ListADT}.
+ *
+ * A GrowableList&lt;Integer&gt; stores a pointer to a separate Integer object for every item;
+ * these lists store the numbers themselves, which is about 5x less memory and no unboxing.
+ *
+ * @author jfoley
+ *
+ */
+public abstract class PrimitiveListADT {
+	/**
+	 * How many times has this list been added to or removed from? See ListADT.modCount.
+	 */
+	protected int modCount = 0;
+
+	/**
+	 * The size of this list.
+	 *
+	 * @return the size of the list or number of items.
+	 */
+	public abstract int size();
+
+	/**
+	 * Is this list of size zero?
+	 * @return true if this list is empty.
+	 */
+	public boolean isEmpty() {
+		return this.size() == 0;
+	}
+
+	/**
+	 * If this list is empty, throw an error; useful for implementing classes.
+	 */
+	protected void checkNotEmpty() {
+		if (this.isEmpty()) {
+			throw new EmptyListError();
+		}
+	}
+
+	/**
+	 * Check the index for a get/set/remove method.
+	 * @param index - should be from 0 to size (exclusive).
+	 */
+	protected void checkExclusiveIndex(int index) {
+		if (index < 0 || index >= size()) {
+			throw new BadIndexError(index);
+		}
+	}
+
+	/**
+	 * Check the index for an add method.
+	 * @param index - should be from 0 to size (inclusive).
+	 */
+	protected void checkInclusiveIndex(int index) {
+		if (index < 0 || index > size()) {
+			throw new BadIndexError(index);
+		}
+	}
+}
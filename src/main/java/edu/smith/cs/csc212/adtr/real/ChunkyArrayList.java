@@ -1,128 +1,464 @@
 package edu.smith.cs.csc212.adtr.real;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import edu.smith.cs.csc212.adtr.ListADT;
-import edu.smith.cs.csc212.adtr.errors.BadIndexError;
-import edu.smith.cs.csc212.adtr.errors.EmptyListError;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
+import edu.smith.cs.csc212.adtr.internal.FenwickTree;
 
 /**
  * This is a data structure that has an array inside each node of an ArrayList.
  * Therefore, we only make new nodes when they are full. Some remove operations
  * may be easier if you allow "chunks" to be partially filled.
  * 
+ * To keep lots of removes from leaving lots of nearly-empty chunks behind,
+ * a chunk that drops below minFill (a fraction of chunkSize) is merged into a
+ * neighbor that has room for it. Call {@link #compact()} to pack everything tight.
+ * 
  * @author jfoley
  * @param <T> - the type of item stored in the list.
  */
 public class ChunkyArrayList<T> extends ListADT<T> {
+	/**
+	 * By default, a chunk less than a quarter full gets merged into a neighbor if it can.
+	 */
+	public static final double DEFAULT_MIN_FILL = 0.25;
 	private int chunkSize;
+	/**
+	 * A chunk with fewer items than this is merged into a neighbor if one has room.
+	 */
+	private int minChunkFill;
 	private GrowableList<FixedSizeList<T>> chunks;
+	/**
+	 * How many items are in all the chunks together? Kept up to date by every add and remove.
+	 */
+	private int size;
+	/**
+	 * Running totals of chunk sizes, so we can find the chunk holding an index in O(log #chunks).
+	 * Entry #i is always chunks.getIndex(i).size().
+	 */
+	private FenwickTree chunkSizes;
 
 	public ChunkyArrayList(int chunkSize) {
+		this(chunkSize, DEFAULT_MIN_FILL);
+	}
+	
+	/**
+	 * Make a ChunkyArrayList with a custom fill policy.
+	 * @param chunkSize - how many items fit in each chunk.
+	 * @param minFill - from 0 (never merge) to 0.5; chunks emptier than this fraction get merged.
+	 */
+	public ChunkyArrayList(int chunkSize, double minFill) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be positive: "+chunkSize);
+		}
+		if (minFill < 0 || minFill > 0.5) {
+			throw new IllegalArgumentException("minFill must be between 0 and 0.5: "+minFill);
+		}
 		this.chunkSize = chunkSize;
+		this.minChunkFill = (int) Math.ceil(minFill * chunkSize);
 		chunks = new GrowableList<>();
+		size = 0;
+		chunkSizes = new FenwickTree();
 	}
 	
 	private FixedSizeList<T> makeChunk() {
 		return new FixedSizeList<>(chunkSize);
 	}
+	
+	/**
+	 * Call this after inserting or removing a chunk anywhere but the back.
+	 * Every chunk after it moved, so we recount them all: O(#chunks), same as moving them was.
+	 */
+	private void rebuildChunkSizes() {
+		chunkSizes.rebuild(chunks.size(), i -> chunks.getIndex(i).size());
+	}
+	
+	/**
+	 * Which chunk holds the item at this index? 
+	 * @param index - a number from 0 to size (exclusive); already checked.
+	 * @return the position of that chunk in chunks.
+	 */
+	private int findChunk(int index) {
+		return chunkSizes.find(index);
+	}
+	
+	/**
+	 * Remove the chunk at this position, since it is empty now.
+	 * @param chunkIndex - which chunk.
+	 */
+	private void removeChunk(int chunkIndex) {
+		chunks.removeIndex(chunkIndex);
+		if (chunkIndex == chunks.size()) {
+			chunkSizes.removeLast();
+		} else {
+			rebuildChunkSizes();
+		}
+	}
+
+	/**
+	 * Move every item in the chunk at (leftIndex+1) onto the end of the chunk at leftIndex,
+	 * and drop the now-empty chunk. The caller makes sure they fit.
+	 * @param leftIndex - the first of the two chunks.
+	 */
+	private void mergeChunks(int leftIndex) {
+		FixedSizeList<T> left = chunks.getIndex(leftIndex);
+		FixedSizeList<T> right = chunks.getIndex(leftIndex+1);
+		int moved = right.size();
+		for (int i=0; i<moved; i++) {
+			left.addBack(right.getUnchecked(i));
+		}
+		chunks.removeIndex(leftIndex+1);
+		if (leftIndex+1 == chunks.size()) {
+			chunkSizes.removeLast();
+			chunkSizes.add(leftIndex, moved);
+		} else {
+			rebuildChunkSizes();
+		}
+	}
+	
+	/**
+	 * The chunk at chunkIndex just lost an item; if it's below minChunkFill, merge it
+	 * into whichever neighbor is emptier, as long as they fit into one chunk together.
+	 * @param chunkIndex - the chunk that shrank.
+	 */
+	private void maybeMerge(int chunkIndex) {
+		int here = chunks.getIndex(chunkIndex).size();
+		if (here >= minChunkFill) {
+			return;
+		}
+		int before = chunkIndex > 0 ? chunks.getIndex(chunkIndex-1).size() : chunkSize;
+		int after = chunkIndex+1 < chunks.size() ? chunks.getIndex(chunkIndex+1).size() : chunkSize;
+		if (before <= after && before + here <= chunkSize) {
+			mergeChunks(chunkIndex-1);
+		} else if (after + here <= chunkSize) {
+			mergeChunks(chunkIndex);
+		}
+	}
+	
+	/**
+	 * The chunk at chunkIndex is full and we need room in it.
+	 * Spill its last item into the next chunk, its first into the one before,
+	 * or else split it in half so the new chunk doesn't start out nearly empty.
+	 * @param chunkIndex - the full chunk.
+	 * @return how many items moved out of the front of the chunk (0 or 1).
+	 */
+	private int makeRoom(int chunkIndex) {
+		FixedSizeList<T> chunk = chunks.getIndex(chunkIndex);
+		if (chunkIndex+1 < chunks.size() && !chunks.getIndex(chunkIndex+1).isFull()) {
+			chunks.getIndex(chunkIndex+1).addFront(chunk.removeBack());
+			chunkSizes.add(chunkIndex, -1);
+			chunkSizes.add(chunkIndex+1, 1);
+			return 0;
+		}
+		if (chunkIndex > 0 && !chunks.getIndex(chunkIndex-1).isFull()) {
+			chunks.getIndex(chunkIndex-1).addBack(chunk.removeFront());
+			chunkSizes.add(chunkIndex, -1);
+			chunkSizes.add(chunkIndex-1, 1);
+			return 1;
+		}
+		FixedSizeList<T> newChunk = makeChunk();
+		int half = chunk.size() / 2;
+		for (int i=half; i<chunk.size(); i++) {
+			newChunk.addBack(chunk.getUnchecked(i));
+		}
+		while (chunk.size() > half) {
+			chunk.removeBack();
+		}
+		// add new chunk after current chunk
+		this.chunks.addIndex(chunkIndex+1, newChunk);
+		rebuildChunkSizes();
+		return 0;
+	}
+	
+	/**
+	 * Repack every item into as few chunks as possible (all full, except maybe the last).
+	 * This is O(n); do it after a lot of removes if memory or iteration speed matter.
+	 */
+	public void compact() {
+		GrowableList<FixedSizeList<T>> packed = new GrowableList<>();
+		FixedSizeList<T> current = null;
+		for (FixedSizeList<T> chunk : this.chunks) {
+			for (int i=0; i<chunk.size(); i++) {
+				if (current == null || current.isFull()) {
+					current = makeChunk();
+					packed.addBack(current);
+				}
+				current.addBack(chunk.getUnchecked(i));
+			}
+		}
+		this.chunks = packed;
+		rebuildChunkSizes();
+		modCount++;
+	}
+	
+	/**
+	 * Drop every chunk at once.
+	 */
+	@Override
+	public void clear() {
+		this.chunks.clear();
+		rebuildChunkSizes();
+		size = 0;
+		modCount++;
+	}
+	
+	/**
+	 * How many chunks are we using right now? Useful for deciding when to {@link #compact()}.
+	 * @return the number of chunks.
+	 */
+	public int chunkCount() {
+		return this.chunks.size();
+	}
+	
+	/**
+	 * How many items are in each chunk, front to back? ListWriter uses this to write one block per chunk.
+	 * @return an array of chunkCount() sizes.
+	 */
+	public int[] chunkFills() {
+		int[] fills = new int[chunks.size()];
+		for (int c=0; c<fills.length; c++) {
+			fills[c] = chunks.getIndex(c).size();
+		}
+		return fills;
+	}
 
 	@Override
 	public T removeFront() {
 		checkNotEmpty();
-		T removed = this.chunks.getFront().removeFront();
-		if (this.chunks.getFront().isEmpty()) {
-			this.chunks.removeFront();
-		}
-		return removed;
+		return removeIndex(0);
 	}
 
 	@Override
 	public T removeBack() {
 		checkNotEmpty();
-		T removed = this.chunks.getBack().removeBack();
-		if (this.chunks.getBack().isEmpty()) {
-			this.chunks.removeBack();
-		}
-		return removed;
+		return removeIndex(size-1);
 	}
 
 	@Override
 	public T removeIndex(int index) {
 		checkNotEmpty();
-		int start = 0;
-		int chunkIndex = 0;
-		for (FixedSizeList<T> chunk : this.chunks) {
-			// calculate bounds of this chunk.
-			int end = start + chunk.size();
-			
-			// Check whether the index should be in this chunk:
-			if (start <= index && index < end) {
-				T removed = chunk.removeIndex(index-start);
-				// Remove empty chunk.
-				if (chunk.isEmpty()) {
-					chunks.removeIndex(chunkIndex);
-				}
-				return removed;
-			}
-			
-			// update bounds of next chunk and its index.
-			start = end;
-			chunkIndex++;
+		checkExclusiveIndex(index);
+		int chunkIndex = findChunk(index);
+		FixedSizeList<T> chunk = chunks.getIndex(chunkIndex);
+		T removed = chunk.removeIndex(index - chunkSizes.prefixSum(chunkIndex));
+		if (chunk.isEmpty()) {
+			// Remove empty chunk.
+			removeChunk(chunkIndex);
+		} else {
+			chunkSizes.add(chunkIndex, -1);
+			maybeMerge(chunkIndex);
 		}
-		throw new BadIndexError(index);
+		size--;
+		modCount++;
+		return removed;
 	}
 
 	@Override
 	public void addFront(T item) {
-		if (this.chunks.isEmpty() || chunks.getFront().isFull()) {
-			this.chunks.addFront(makeChunk());
-		}
-		this.chunks.getFront().addFront(item);
+		addIndex(0, item);
 	}
 
 	@Override
 	public void addBack(T item) {
 		if (this.chunks.isEmpty() || this.chunks.getBack().isFull()) {
 			this.chunks.addBack(makeChunk());
+			this.chunkSizes.append(0);
 		}
 		this.chunks.getBack().addBack(item);
+		this.chunkSizes.add(chunks.size()-1, 1);
+		size++;
+		modCount++;
 	}
 
 	@Override
 	public void addIndex(int index, T item) {
+		checkInclusiveIndex(index);
+		if (index == this.size) {
+			// there might be no chunk to put it in yet, or the last one might be full.
+			addBack(item);
+			return;
+		}
 		
-		int chunkIndex = 0;
-		int start = 0;
+		int chunkIndex = findChunk(index);
+		int offset = index - chunkSizes.prefixSum(chunkIndex);
+		if (offset == 0 && chunkIndex > 0 && !chunks.getIndex(chunkIndex-1).isFull()) {
+			// the end of the chunk before is the same spot, and it has room.
+			chunkIndex--;
+			offset = chunks.getIndex(chunkIndex).size();
+		}
+		FixedSizeList<T> chunk = chunks.getIndex(chunkIndex);
+		
+		if (chunk.isFull()) {
+			offset -= makeRoom(chunkIndex);
+			if (offset > chunk.size()) {
+				// it got split, and the spot we want moved to the new chunk.
+				offset -= chunk.size();
+				chunkIndex++;
+				chunk = chunks.getIndex(chunkIndex);
+			}
+		}
+		// put right in this chunk, there's space now.
+		chunk.addIndex(offset, item);
+		chunkSizes.add(chunkIndex, 1);
+		size++;
+		modCount++;
+	}
+	
+	/**
+	 * Cut the chunk at index in two, fill the end of the first half with new items,
+	 * and put the rest (followed by the second half) into brand-new full chunks.
+	 * At most one chunk's worth of old items move, and the chunk list only shifts once.
+	 */
+	@Override
+	protected void insertAll(int index, Object[] items, int count) {
+		if (count == 0) {
+			return;
+		}
+		// the items to pack into chunks: everything new, then whatever was after index in its chunk.
+		Object[] incoming = items;
+		int total = count;
+		int chunkIndex;
+		if (index == this.size) {
+			chunkIndex = chunks.size()-1;
+		} else {
+			chunkIndex = findChunk(index);
+			FixedSizeList<T> chunk = chunks.getIndex(chunkIndex);
+			int offset = index - chunkSizes.prefixSum(chunkIndex);
+			int after = chunk.size() - offset;
+			incoming = new Object[count + after];
+			System.arraycopy(items, 0, incoming, 0, count);
+			for (int i=0; i<after; i++) {
+				incoming[count+i] = chunk.getUnchecked(offset+i);
+			}
+			while (chunk.size() > offset) {
+				chunk.removeBack();
+			}
+			total += after;
+		}
+		
+		int used = 0;
+		if (chunkIndex >= 0) {
+			FixedSizeList<T> chunk = chunks.getIndex(chunkIndex);
+			while (used < total && !chunk.isFull()) {
+				chunk.addBack(uncheckedCast(incoming[used++]));
+			}
+		}
+		Object[] newChunks = new Object[(total - used + chunkSize - 1) / chunkSize];
+		for (int c=0; c<newChunks.length; c++) {
+			FixedSizeList<T> chunk = makeChunk();
+			while (used < total && !chunk.isFull()) {
+				chunk.addBack(uncheckedCast(incoming[used++]));
+			}
+			newChunks[c] = chunk;
+		}
+		chunks.insertAll(chunkIndex+1, newChunks, newChunks.length);
+		// a chunk we emptied out and didn't refill can't stay.
+		if (chunkIndex >= 0 && chunks.getIndex(chunkIndex).isEmpty()) {
+			chunks.removeIndex(chunkIndex);
+		}
+		rebuildChunkSizes();
+		size += count;
+		modCount++;
+	}
+	
+	/**
+	 * Trim the chunks at either end of the range, and drop every whole chunk in between at once.
+	 */
+	@Override
+	protected void deleteRange(int fromIndex, int toIndex) {
+		int firstChunk = findChunk(fromIndex);
+		int firstOffset = fromIndex - chunkSizes.prefixSum(firstChunk);
+		int lastChunk = findChunk(toIndex-1);
+		int lastOffset = toIndex - chunkSizes.prefixSum(lastChunk);
+		if (firstChunk == lastChunk) {
+			chunks.getIndex(firstChunk).deleteRange(firstOffset, lastOffset);
+		} else {
+			FixedSizeList<T> first = chunks.getIndex(firstChunk);
+			if (firstOffset < first.size()) {
+				first.deleteRange(firstOffset, first.size());
+			}
+			chunks.getIndex(lastChunk).deleteRange(0, lastOffset);
+			if (lastChunk > firstChunk+1) {
+				chunks.deleteRange(firstChunk+1, lastChunk);
+			}
+		}
+		mergeUnderfullChunks();
+		size -= toIndex - fromIndex;
+		modCount++;
+	}
+	
+	/**
+	 * Filter each chunk in place, then drop or merge the chunks that got too empty.
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		int before = size;
+		try {
+			for (FixedSizeList<T> chunk : this.chunks) {
+				chunk.removeIf(filter);
+			}
+		} finally {
+			// count the chunks ourselves: if filter crashed, the chunk it was working on still lost items.
+			int after = countItems();
+			if (after != before) {
+				mergeUnderfullChunks();
+				size = after;
+				modCount++;
+			}
+		}
+		return size != before;
+	}
+	
+	/**
+	 * One pass over all the chunks: drop the empty ones, and merge each chunk below
+	 * minChunkFill into the one before it (or vice versa) when they fit together.
+	 * Rebuilds chunkSizes, since chunks can move.
+	 */
+	private void mergeUnderfullChunks() {
+		GrowableList<FixedSizeList<T>> merged = new GrowableList<>(chunks.size());
 		for (FixedSizeList<T> chunk : this.chunks) {
-			// calculate bounds of this chunk.
-			int end = start + chunk.size();
-			
-			// Check whether the index should be in this chunk:
-			// if index is added at the very end of a full chunk then check index against end-1 instead of end.
-			// (i.e. use index < end instead of index <= end).
-			if (start <= index && index <= (index-start == chunkSize ? end-1 : end)) {
-				if (chunk.isFull()) {
-					// check can roll to next
-					// or need a new chunk
-					FixedSizeList<T> newChunk = makeChunk();
-					newChunk.addBack(chunk.removeBack());
-					
-					// add new chunk after current chunk
-					this.chunks.addIndex(chunkIndex+1, newChunk);
+			if (chunk.isEmpty()) {
+				continue;
+			}
+			if (!merged.isEmpty()) {
+				FixedSizeList<T> previous = merged.getBack();
+				boolean underfull = previous.size() < minChunkFill || chunk.size() < minChunkFill;
+				if (underfull && previous.size() + chunk.size() <= chunkSize) {
+					for (int i=0; i<chunk.size(); i++) {
+						previous.addBack(chunk.getUnchecked(i));
+					}
+					continue;
 				}
-				
-				// put right in this chunk, there's space now.
-				chunk.addIndex(index-start, item);
-				// upon adding, return.
-				return;
 			}
-			
-			// update bounds of next chunk.
-			start = end;
-			chunkIndex++;
+			merged.addBack(chunk);
 		}
-		throw new BadIndexError(index);
+		this.chunks = merged;
+		rebuildChunkSizes();
+	}
+	
+	/**
+	 * The items in our insertAll arrays are really T; keep the guessing in one place.
+	 * @param item - an item from an insertAll array.
+	 * @return the same item.
+	 */
+	@SuppressWarnings("unchecked")
+	private T uncheckedCast(Object item) {
+		return (T) item;
+	}
+	
+	@Override
+	public Object[] toArray() {
+		Object[] output = new Object[size];
+		int start = 0;
+		for (FixedSizeList<T> chunk : this.chunks) {
+			chunk.copyInto(output, start);
+			start += chunk.size();
+		}
+		return output;
 	}
 	
 	@Override
@@ -138,47 +474,35 @@ public class ChunkyArrayList<T> extends ListADT<T> {
 
 	@Override
 	public T getIndex(int index) {
-		if (this.isEmpty()) {
-			throw new EmptyListError();
-		}
-		int start = 0;
-		for (FixedSizeList<T> chunk : this.chunks) {
-			// calculate bounds of this chunk.
-			int end = start + chunk.size();
-			
-			// Check whether the index should be in this chunk:
-			if (start <= index && index < end) {
-				return chunk.getIndex(index - start);
-			}
-			
-			// update bounds of next chunk.
-			start = end;
-		}
-		throw new BadIndexError(index);
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		int chunkIndex = findChunk(index);
+		return chunks.getIndex(chunkIndex).getUnchecked(index - chunkSizes.prefixSum(chunkIndex));
 	}
 	
 	@Override
 	public void setIndex(int index, T value) {
 		checkNotEmpty();
-		int start = 0;
-		for (FixedSizeList<T> chunk : this.chunks) {
-			// calculate bounds of this chunk.
-			int end = start + chunk.size();
-				
-			// Check whether the index should be in this chunk:
-			if (start <= index && index < end) {
-				chunk.setIndex(index - start, value);
-				return;
-			}
-			
-			// update bounds of next chunk.
-			start = end;
-		}
-		throw new BadIndexError(index);
+		checkExclusiveIndex(index);
+		int chunkIndex = findChunk(index);
+		chunks.getIndex(chunkIndex).setIndex(index - chunkSizes.prefixSum(chunkIndex), value);
 	}
 
 	@Override
 	public int size() {
+		if (VERIFY_SIZE) {
+			int counted = countItems();
+			checkSize(this.size, counted);
+			checkSize(this.chunkSizes.prefixSum(chunkSizes.size()), counted);
+		}
+		return this.size;
+	}
+	
+	/**
+	 * Add up the chunk sizes the slow way, to check up on size.
+	 * @return the number of items in all chunks.
+	 */
+	private int countItems() {
 		int total = 0;
 		for (FixedSizeList<T> chunk : this.chunks) {
 			total += chunk.size();
@@ -193,29 +517,148 @@ public class ChunkyArrayList<T> extends ListADT<T> {
 	
 	@Override
 	public Iterator<T> iterator() {
-		ChunkyArrayList<T> self = this;
-		return new Iterator<T>() {
-			// index for a single chunk/block (not the overall list, just inside a single chunk).
-			// get set to 0 every time we go to a new chunk.
-			int i = 0;
-			Iterator<FixedSizeList<T>> chunkIterator = self.chunks.iterator();
-			// chunk = chunks[0] initially.
-			FixedSizeList<T> chunk = chunkIterator.next();
-			
-			@Override
-			public boolean hasNext() {
-				// false if index is at the end of block and there is no block after it.
-				return (i<chunk.size() || chunkIterator.hasNext());
-			}
-			
-			public T next() {
-				if (i == chunk.size()) {
-				// if i is at the end of block, go to the next one and reset i to 0.	
-					chunk = chunkIterator.next();
-					i = 0;
+		return new Cursor();
+	}
+	
+	/**
+	 * Walk each chunk's array directly; we only look up a chunk when we run off the end of one.
+	 */
+	private class Cursor extends ListADTIterator<T> {
+		// index of the chunk we're in (not the overall list).
+		private int chunkIndex = 0;
+		// index for a single chunk/block (not the overall list, just inside a single chunk).
+		// get set to 0 every time we go to a new chunk.
+		private int i = 0;
+		// chunk = chunks[0] initially, or null when there are no chunks at all.
+		private FixedSizeList<T> chunk = chunks.isEmpty() ? null : chunks.getIndex(0);
+		
+		Cursor() {
+			super(ChunkyArrayList.this);
+		}
+		
+		@Override
+		public boolean hasNext() {
+			// false if index is at the end of block and there is no block after it.
+			return chunk != null && (i < chunk.size() || chunkIndex+1 < chunks.size());
+		}
+		
+		@Override
+		protected T advance() {
+			if (i == chunk.size()) {
+				// if i is at the end of block, go to the next one and reset i to 0.
+				chunk = chunks.getIndex(++chunkIndex);
+				i = 0;
+			}
+			return chunk.getUnchecked(i++);
+		}
+	}
+	
+	@Override
+	public Spliterator<T> spliterator() {
+		return new ChunkSpliterator<>(this.chunks, 0, this.chunks.size(), this.size());
+	}
+	
+	/**
+	 * Splits a ChunkyArrayList along its chunk boundaries, so each half gets whole chunks.
+	 * Once we're down to a single chunk, we let that chunk's own spliterator do the work.
+	 * @param <T> - the type of item stored in the list.
+	 */
+	private static class ChunkSpliterator<T> implements Spliterator<T> {
+		/**
+		 * The chunks of the list we came from.
+		 */
+		private final GrowableList<FixedSizeList<T>> chunks;
+		/**
+		 * The next chunk we haven't started yet.
+		 */
+		private int chunkIndex;
+		/**
+		 * The first chunk that isn't ours (some other half has it).
+		 */
+		private final int chunkEnd;
+		/**
+		 * How many items are left in [chunkIndex, chunkEnd) and in current.
+		 */
+		private long remaining;
+		/**
+		 * The chunk we're in the middle of (or null if we haven't started one).
+		 */
+		private Spliterator<T> current;
+		
+		ChunkSpliterator(GrowableList<FixedSizeList<T>> chunks, int chunkIndex, int chunkEnd, long remaining) {
+			this.chunks = chunks;
+			this.chunkIndex = chunkIndex;
+			this.chunkEnd = chunkEnd;
+			this.remaining = remaining;
+			this.current = null;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			while (true) {
+				if (current != null && current.tryAdvance(action)) {
+					remaining--;
+					return true;
+				}
+				if (chunkIndex >= chunkEnd) {
+					return false;
 				}
-				return chunk.getIndex(i++);
+				current = chunks.getIndex(chunkIndex++).spliterator();
+			}
+		}
+		
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			if (current != null) {
+				current.forEachRemaining(action);
+				current = null;
 			}
-		};
+			while (chunkIndex < chunkEnd) {
+				chunks.getIndex(chunkIndex++).spliterator().forEachRemaining(action);
+			}
+			remaining = 0;
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			// Don't split a chunk we've already started walking; give away whole chunks only.
+			int untouched = chunkEnd - chunkIndex;
+			if (untouched < 2) {
+				if (current == null && untouched == 1) {
+					// One chunk left: let it split its own array.
+					current = chunks.getIndex(chunkIndex++).spliterator();
+					Spliterator<T> prefix = current.trySplit();
+					if (prefix != null) {
+						remaining -= prefix.estimateSize();
+					}
+					return prefix;
+				}
+				return null;
+			}
+			int middle = chunkIndex + untouched / 2;
+			long firstHalf = 0;
+			for (int i=chunkIndex; i<middle; i++) {
+				firstHalf += chunks.getIndex(i).size();
+			}
+			if (current != null) {
+				firstHalf += current.estimateSize();
+			}
+			ChunkSpliterator<T> prefix = new ChunkSpliterator<>(chunks, chunkIndex, middle, firstHalf);
+			prefix.current = this.current;
+			this.current = null;
+			this.chunkIndex = middle;
+			this.remaining -= firstHalf;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return remaining;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
 	}
-}
\ No newline at end of file
+}
@@ -1,34 +1,128 @@
 package edu.smith.cs.csc212.adtr.real;
 
 import java.util.Iterator;
+import java.util.function.Predicate;
 
 import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
 import edu.smith.cs.csc212.adtr.errors.BadIndexError;
 
 public class DoublyLinkedList<T> extends ListADT<T> {
 	private Node<T> start;
 	private Node<T> end;
+	/**
+	 * How many nodes are between start and end? Kept up to date by every add and remove.
+	 */
+	private int size;
+	/**
+	 * The last node getNode found, so the next lookup nearby can walk from here instead of from an end.
+	 */
+	private Node<T> finger;
+	/**
+	 * Which index finger is at.
+	 */
+	private int fingerIndex;
+	/**
+	 * What modCount was when finger was set; if anything was added or removed since, finger can't be trusted.
+	 */
+	private int fingerModCount;
+	/**
+	 * Removed nodes waiting to be used again, linked through after; see {@link #DoublyLinkedList(int)}.
+	 */
+	private Node<T> pool;
+	/**
+	 * How many nodes are in the pool.
+	 */
+	private int pooled;
+	/**
+	 * The most nodes the pool may hold; 0 means pooling is off.
+	 */
+	private final int poolCapacity;
+	/**
+	 * How many nodes did we make with new, and how many came from the pool?
+	 */
+	private long nodesCreated, nodesReused;
 	
 	/**
-	 * A doubly-linked list starts empty.
+	 * A doubly-linked list starts empty, and makes a new node for every add.
 	 */
 	public DoublyLinkedList() {
+		this(0);
+	}
+	
+	/**
+	 * Make an empty list that keeps up to poolCapacity removed nodes, and uses them again for later adds
+	 * instead of making new ones. A list used as a busy queue then makes almost no garbage.
+	 * The pool never holds on to items: their values are cleared when they go in.
+	 * 
+	 * @param poolCapacity - the most spare nodes to keep; 0 turns pooling off.
+	 */
+	public DoublyLinkedList(int poolCapacity) {
+		if (poolCapacity < 0) {
+			throw new IllegalArgumentException("poolCapacity must not be negative: "+poolCapacity);
+		}
 		this.start = null;
 		this.end = null;
+		this.size = 0;
+		this.poolCapacity = poolCapacity;
+	}
+	
+	/**
+	 * Get a node with no friends from the pool if there is one, or a new one.
+	 */
+	private Node<T> makeNode(T value) {
+		Node<T> n = this.pool;
+		if (n == null) {
+			nodesCreated++;
+			return new Node<T>(value);
+		}
+		this.pool = n.after;
+		pooled--;
+		nodesReused++;
+		n.value = value;
+		n.after = null;
+		return n;
+	}
+	
+	/**
+	 * Put a node that was just unlinked into the pool, if there's room; otherwise the GC can have it.
+	 */
+	private void recycle(Node<T> n) {
+		if (pooled >= poolCapacity) {
+			return;
+		}
+		// don't keep the item (or our old neighbors) alive.
+		n.value = null;
+		n.before = null;
+		n.after = this.pool;
+		this.pool = n;
+		pooled++;
+	}
+	
+	/**
+	 * How well is the node pool working?
+	 * @return a snapshot of the pool's counters.
+	 */
+	public NodePoolStats poolStats() {
+		return new NodePoolStats(nodesCreated, nodesReused, pooled, poolCapacity);
 	}
 
 	@Override
 	public T removeFront() {
 		checkNotEmpty();
 		
-		T removed = this.start.value;
-		Node<T> secondFront = this.start.after;
+		Node<T> gone = this.start;
+		T removed = gone.value;
+		Node<T> secondFront = gone.after;
 		if (secondFront == null) {
 			this.start = this.end = null;
 		} else {
 			secondFront.before = null;
 			this.start = secondFront;
 		}
+		recycle(gone);
+		size--;
+		modCount++;
 		return removed;
 	}
 
@@ -36,15 +130,18 @@ public class DoublyLinkedList<T> extends ListADT<T> {
 	public T removeBack() {
 		checkNotEmpty();
 		
-		T removed = this.end.value;
-		Node<T> secondLast = this.end.before;
+		Node<T> gone = this.end;
+		T removed = gone.value;
+		Node<T> secondLast = gone.before;
 		if (secondLast == null) {
 			this.start = this.end = null;
 		} else {
 			secondLast.after = null;
 			this.end = secondLast;
 		}
-		
+		recycle(gone);
+		size--;
+		modCount++;
 		return removed;
 	}
 
@@ -65,35 +162,49 @@ public class DoublyLinkedList<T> extends ListADT<T> {
 		} else {
 			atIndex.after.before = atIndex.before;
 		}
+		size--;
+		modCount++;
+		// leave the finger next to the gap, so removing nearby stays cheap.
+		if (atIndex.after == null) {
+			pointFinger(atIndex.before, index-1);
+		} else {
+			pointFinger(atIndex.after, index);
+		}
+		recycle(atIndex);
 		return removed;
 	}
 
 	@Override
 	public void addFront(T item) {
 		if (start == null) {
-			start = end = new Node<T>(item);
+			start = end = makeNode(item);
 		} else {
 			Node<T> secondFront = start;
-			start = new Node<T>(item);
+			start = makeNode(item);
 			start.after = secondFront;
 			secondFront.before = start;
 		}
+		size++;
+		modCount++;
 	}
 
 	@Override
 	public void addBack(T item) {
 		if (end == null) {
-			start = end = new Node<T>(item);
+			start = end = makeNode(item);
 		} else {
 			Node<T> secondLast = end;
-			end = new Node<T>(item);
+			end = makeNode(item);
 			end.before = secondLast;
 			secondLast.after = end;
 		}
+		size++;
+		modCount++;
 	}
 
 	@Override
 	public void addIndex(int index, T item) {
+		checkInclusiveIndex(index);
 		if (index == 0) {
 			addFront(item);
 			return;
@@ -101,7 +212,7 @@ public class DoublyLinkedList<T> extends ListADT<T> {
 		
 		//support adding at the very end:
 		Node<T> beforeIndex = getNode(index-1);
-		Node<T> toAdd = new Node<T>(item);
+		Node<T> toAdd = makeNode(item);
 		
 		toAdd.before = beforeIndex;
 		toAdd.after = beforeIndex.after;
@@ -115,6 +226,124 @@ public class DoublyLinkedList<T> extends ListADT<T> {
 			// link original node at index to toAdd.
 			toAdd.after.before = toAdd;
 		}
+		size++;
+		modCount++;
+		pointFinger(toAdd, index);
+	}
+
+	/**
+	 * Drop all the nodes at once; the garbage collector will find them.
+	 * (If pooling is on, we first walk far enough to fill up the pool.)
+	 */
+	@Override
+	public void clear() {
+		for (Node<T> n = this.start; n != null && pooled < poolCapacity; ) {
+			Node<T> next = n.after;
+			recycle(n);
+			n = next;
+		}
+		this.start = this.end = null;
+		this.finger = null;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Link all the new items into a chain first, then hook the whole chain in at once.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void insertAll(int index, Object[] items, int count) {
+		if (count == 0) {
+			return;
+		}
+		Node<T> first = makeNode((T) items[0]);
+		Node<T> last = first;
+		for (int i=1; i<count; i++) {
+			Node<T> next = makeNode((T) items[i]);
+			next.before = last;
+			last.after = next;
+			last = next;
+		}
+		// find the nodes on either side of the gap.
+		Node<T> beforeIndex = (index == 0) ? null : getNode(index-1);
+		Node<T> atIndex = (beforeIndex == null) ? this.start : beforeIndex.after;
+		
+		first.before = beforeIndex;
+		if (beforeIndex == null) {
+			this.start = first;
+		} else {
+			beforeIndex.after = first;
+		}
+		last.after = atIndex;
+		if (atIndex == null) {
+			this.end = last;
+		} else {
+			atIndex.before = last;
+		}
+		size += count;
+		modCount++;
+	}
+
+	/**
+	 * Find the first node in the range once, then walk past the rest and link around them.
+	 */
+	@Override
+	protected void deleteRange(int fromIndex, int toIndex) {
+		Node<T> first = getNode(fromIndex);
+		Node<T> beforeRange = first.before;
+		Node<T> afterRange = first;
+		for (int i=fromIndex; i<toIndex; i++) {
+			Node<T> gone = afterRange;
+			afterRange = afterRange.after;
+			recycle(gone);
+		}
+		if (beforeRange == null) {
+			this.start = afterRange;
+		} else {
+			beforeRange.after = afterRange;
+		}
+		if (afterRange == null) {
+			this.end = beforeRange;
+		} else {
+			afterRange.before = beforeRange;
+		}
+		size -= toIndex - fromIndex;
+		modCount++;
+	}
+	
+	/**
+	 * Walk the list once, unlinking every node filter says yes to.
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		int before = size;
+		try {
+			for (Node<T> n = this.start, next; n != null; n = next) {
+				next = n.after;
+				if (filter.test(n.value)) {
+					if (n.before == null) {
+						this.start = n.after;
+					} else {
+						n.before.after = n.after;
+					}
+					if (n.after == null) {
+						this.end = n.before;
+					} else {
+						n.after.before = n.before;
+					}
+					recycle(n);
+					size--;
+				}
+			}
+		} finally {
+			// even if filter crashed partway, the finger may point at a node we already unlinked.
+			if (size != before) {
+				modCount++;
+				finger = null;
+			}
+		}
+		return size != before;
 	}
 
 	@Override
@@ -142,6 +371,17 @@ public class DoublyLinkedList<T> extends ListADT<T> {
 
 	@Override
 	public int size() {
+		if (VERIFY_SIZE) {
+			checkSize(this.size, countNodes());
+		}
+		return this.size;
+	}
+	
+	/**
+	 * Count the nodes the slow way, to check up on size.
+	 * @return the number of nodes reachable from start.
+	 */
+	private int countNodes() {
 		int count = 0;
 		for (Node<T> n = start; n != null; n = n.after) {
 			count++;
@@ -154,34 +394,72 @@ public class DoublyLinkedList<T> extends ListADT<T> {
 		return (this.start == null && this.end == null);
 	}
 	
+	/**
+	 * Find the node at index, walking from whichever is closest: start, end, or the finger.
+	 * Looking at nearby indexes one after another (like a for loop over getIndex) costs O(1) each.
+	 */
 	private Node<T> getNode(int index) {
-		int at = 0;
-		for (Node<T> n = this.start; n != null; n = n.after) {
-			if (at++ == index) {
-				return n;
-			}
+		if (index < 0 || index >= this.size) {
+			throw new BadIndexError(index);
+		}
+		Node<T> n;
+		int at;
+		if (index <= this.size / 2) {
+			n = this.start;
+			at = 0;
+		} else {
+			n = this.end;
+			at = this.size - 1;
 		}
-		throw new BadIndexError(index);
+		if (finger != null && fingerModCount == modCount && Math.abs(index - fingerIndex) < Math.abs(index - at)) {
+			n = finger;
+			at = fingerIndex;
+		}
+		for (; at < index; at++) {
+			n = n.after;
+		}
+		for (; at > index; at--) {
+			n = n.before;
+		}
+		pointFinger(n, index);
+		return n;
+	}
+	
+	/**
+	 * Remember that node is at index, for the next getNode.
+	 */
+	private void pointFinger(Node<T> node, int index) {
+		this.finger = node;
+		this.fingerIndex = index;
+		this.fingerModCount = modCount;
 	}
 	
 	@Override
 	public Iterator<T> iterator() {
-		DoublyLinkedList<T> self = this;
-		return new Iterator<T>() {
-			Node<T> current = self.start;
-			
-			@Override
-			public boolean hasNext() {
-				return current != null;
-			}
-			
-			@Override
-			public T next() {
-				T value = current.value;
-				current = current.after;
-				return value;
-			}
-		};
+		return new Cursor();
+	}
+	
+	/**
+	 * Follow the after pointers instead of calling getIndex (which starts over every time).
+	 */
+	private class Cursor extends ListADTIterator<T> {
+		private Node<T> current = start;
+		
+		Cursor() {
+			super(DoublyLinkedList.this);
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return current != null;
+		}
+		
+		@Override
+		protected T advance() {
+			T value = current.value;
+			current = current.after;
+			return value;
+		}
 	}
 	
 	/**
@@ -1,6 +1,13 @@
 package edu.smith.cs.csc212.adtr.real;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+
 import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
 import edu.smith.cs.csc212.adtr.errors.RanOutOfSpaceError;
 
 public class FixedSizeList<T> extends ListADT<T> {
@@ -66,8 +73,64 @@ public class FixedSizeList<T> extends ListADT<T> {
 		}
 		array[index] = value;
 		fill++; 
+		modCount++;
+	}
+
+	/**
+	 * Shift the tail once, and copy the new items into the gap.
+	 */
+	@Override
+	protected void insertAll(int index, Object[] items, int count) {
+		if (fill + count > array.length) {
+			throw new RanOutOfSpaceError();
+		}
+		System.arraycopy(array, index, array, index + count, fill - index);
+		System.arraycopy(items, 0, array, index, count);
+		fill += count;
+		modCount++;
 	}
 
+	/**
+	 * Slide the tail down over the gap in one copy.
+	 */
+	@Override
+	protected void deleteRange(int fromIndex, int toIndex) {
+		int removed = toIndex - fromIndex;
+		System.arraycopy(array, toIndex, array, fromIndex, fill - toIndex);
+		// let go of the items so they can be garbage collected.
+		Arrays.fill(array, fill - removed, fill, null);
+		fill -= removed;
+		modCount++;
+	}
+	
+	/**
+	 * Slide each survivor down to the next open spot, in one pass.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		int before = fill;
+		int kept = 0;
+		int read = 0;
+		try {
+			for (; read < fill; read++) {
+				if (!filter.test((T) array[read])) {
+					array[kept++] = array[read];
+				}
+			}
+		} finally {
+			// if filter crashed, slide down everything it didn't get to; what it already removed stays removed.
+			System.arraycopy(array, read, array, kept, fill - read);
+			kept += fill - read;
+			if (kept != fill) {
+				Arrays.fill(array, kept, fill, null);
+				fill = kept;
+				modCount++;
+			}
+		}
+		return fill != before;
+	}
+	
 	@Override
 	public void addFront(T value) {
 		addIndex(0, value);
@@ -77,6 +140,7 @@ public class FixedSizeList<T> extends ListADT<T> {
 	public void addBack(T value) {
 		if (fill < array.length) {
 			array[fill++] = value;
+			modCount++;
 		} else {
 			throw new RanOutOfSpaceError();
 }
@@ -92,6 +156,7 @@ public class FixedSizeList<T> extends ListADT<T> {
 			this.array[i] = this.array[i+1];
 		}
 		this.array[fill] = null;
+		modCount++;
 		return removed;
 	}
 
@@ -101,6 +166,7 @@ public class FixedSizeList<T> extends ListADT<T> {
 		T value = this.getIndex(fill-1);
 		fill--;
 		this.array[fill] = null;
+		modCount++;
 		return value;
 	}
 
@@ -109,6 +175,17 @@ public class FixedSizeList<T> extends ListADT<T> {
 		return removeIndex(0);
 	}
 
+	/**
+	 * Remove everything; the array stays the same size.
+	 */
+	@Override
+	public void clear() {
+		// let go of the items so they can be garbage collected.
+		Arrays.fill(array, 0, fill, null);
+		fill = 0;
+		modCount++;
+	}
+
 	/**
 	 * Is this data structure full? See {@linkplain ChunkyArrayList} for a user.
 	 * @return if true this FixedSizeList is full.
@@ -116,5 +193,63 @@ public class FixedSizeList<T> extends ListADT<T> {
 	public boolean isFull() {
 		return this.fill == this.array.length;
 	}
+	
+	/**
+	 * Get an item without any checks; for ChunkyArrayList, which has already done them.
+	 * @param index - a number from 0 to size (exclusive).
+	 * @return the item at that index.
+	 */
+	@SuppressWarnings("unchecked")
+	T getUnchecked(int index) {
+		return (T) this.array[index];
+	}
+	
+	@Override
+	public Object[] toArray() {
+		return Arrays.copyOf(array, fill);
+	}
+	
+	/**
+	 * Copy our items into dest; for ChunkyArrayList.
+	 * @param dest - where to put them.
+	 * @param destPos - where to put the first one.
+	 */
+	void copyInto(Object[] dest, int destPos) {
+		System.arraycopy(array, 0, dest, destPos, fill);
+	}
+	
+	@Override
+	public Iterator<T> iterator() {
+		return new Cursor();
+	}
+	
+	/**
+	 * Walk straight through the array, skipping the checks in getIndex.
+	 */
+	private class Cursor extends ListADTIterator<T> {
+		private int position = 0;
+		
+		Cursor() {
+			super(FixedSizeList.this);
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return position < fill;
+		}
+		
+		@Override
+		protected T advance() {
+			return getUnchecked(position++);
+		}
+	}
+	
+	/**
+	 * Our items are already in one array, so splitting means cutting the range [0, fill) in half.
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return Spliterators.spliterator(this.array, 0, this.fill, Spliterator.ORDERED);
+	}
 
 }
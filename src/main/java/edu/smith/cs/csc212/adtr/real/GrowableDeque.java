@@ -0,0 +1,443 @@
+package edu.smith.cs.csc212.adtr.real;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
+
+/**
+ * A GrowableList that doesn't have to start at array[0]: a "ring buffer" or "circular array".
+ *
+ * Item #0 lives at array[head], and items wrap around from the end of the array to the start.
+ * So adding or removing at the front just moves head, and both ends are O(1) (amortized, for adds).
+ * getIndex is still O(1), and addIndex/removeIndex shift whichever side of the index is shorter.
+ *
+ * Use this instead of GrowableList when you use a list as a queue.
+ *
+ * @author jfoley
+ * @param <T> - the type of item stored in the list.
+ */
+public class GrowableDeque<T> extends ListADT<T> {
+	public static final int START_SIZE = 10;
+	/**
+	 * The items, starting at head and wrapping around.
+	 */
+	private Object[] array;
+	/**
+	 * Where is item #0 in the array?
+	 */
+	private int head;
+	/**
+	 * How many items do we have?
+	 */
+	private int fill;
+	/**
+	 * How do we pick the next array size?
+	 */
+	private GrowthPolicy growthPolicy;
+
+	public GrowableDeque() {
+		this(START_SIZE);
+	}
+
+	/**
+	 * Make an empty deque with room for initialCapacity items before it needs to grow.
+	 * @param initialCapacity - how many items to make room for.
+	 */
+	public GrowableDeque(int initialCapacity) {
+		this(initialCapacity, GrowthPolicy.factor(2));
+	}
+
+	/**
+	 * Make an empty deque with room for initialCapacity items, which grows according to growthPolicy.
+	 * @param initialCapacity - how many items to make room for.
+	 * @param growthPolicy - how much room to add each time we run out.
+	 */
+	public GrowableDeque(int initialCapacity, GrowthPolicy growthPolicy) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("initialCapacity must not be negative: "+initialCapacity);
+		}
+		this.array = new Object[initialCapacity];
+		this.head = 0;
+		this.fill = 0;
+		this.growthPolicy = growthPolicy;
+	}
+
+	/**
+	 * Where in the array is item #index? No checks!
+	 * @param index - from 0 to capacity (exclusive).
+	 * @return the array position.
+	 */
+	private int slot(int index) {
+		int position = head + index;
+		if (position >= array.length) {
+			position -= array.length;
+		}
+		return position;
+	}
+
+	/**
+	 * Keep the "guessing" the objects are actually a T here.
+	 * @param index - from 0 to fill (exclusive); not checked.
+	 * @return the item.
+	 */
+	@SuppressWarnings("unchecked")
+	private T elementAt(int index) {
+		return (T) array[slot(index)];
+	}
+
+	/**
+	 * Called when we need to make room for one more item.
+	 */
+	private void growIfFull() {
+		if (fill == array.length) {
+			resizeArray(growthPolicy.grow(array.length, fill+1));
+		}
+	}
+
+	/**
+	 * Move the items into a new array of newSize, un-wrapping them so head is 0 again.
+	 * @param newSize - the new capacity; at least fill.
+	 */
+	private void resizeArray(int newSize) {
+		Object[] newArray = new Object[newSize];
+		int firstPart = Math.min(fill, array.length - head);
+		System.arraycopy(array, head, newArray, 0, firstPart);
+		System.arraycopy(array, 0, newArray, firstPart, fill - firstPart);
+		this.array = newArray;
+		this.head = 0;
+	}
+
+	@Override
+	public T removeFront() {
+		checkNotEmpty();
+		T removed = elementAt(0);
+		array[head] = null;
+		head = slot(1);
+		fill--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public T removeBack() {
+		checkNotEmpty();
+		int last = slot(fill-1);
+		@SuppressWarnings("unchecked")
+		T removed = (T) array[last];
+		array[last] = null;
+		fill--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		T removed = elementAt(index);
+		if (index < fill / 2) {
+			// fewer items in front: shift them right by one, then move head.
+			for (int i=index; i>0; i--) {
+				array[slot(i)] = array[slot(i-1)];
+			}
+			array[head] = null;
+			head = slot(1);
+		} else {
+			// fewer items behind: shift them left by one.
+			for (int i=index; i<fill-1; i++) {
+				array[slot(i)] = array[slot(i+1)];
+			}
+			array[slot(fill-1)] = null;
+		}
+		fill--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public void addFront(T item) {
+		growIfFull();
+		head = (head == 0 ? array.length : head) - 1;
+		array[head] = item;
+		fill++;
+		modCount++;
+	}
+
+	@Override
+	public void addBack(T item) {
+		growIfFull();
+		array[slot(fill)] = item;
+		fill++;
+		modCount++;
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		checkInclusiveIndex(index);
+		growIfFull();
+		if (index < fill / 2) {
+			// fewer items in front: move head back one, then shift them left.
+			head = (head == 0 ? array.length : head) - 1;
+			for (int i=0; i<index; i++) {
+				array[slot(i)] = array[slot(i+1)];
+			}
+		} else {
+			// fewer items behind: shift them right by one.
+			for (int i=fill; i>index; i--) {
+				array[slot(i)] = array[slot(i-1)];
+			}
+		}
+		array[slot(index)] = item;
+		fill++;
+		modCount++;
+	}
+
+	/**
+	 * Grow once, then shift whichever side of index is shorter by count, all at once.
+	 */
+	@Override
+	protected void insertAll(int index, Object[] items, int count) {
+		ensureCapacity(fill + count);
+		if (index < fill - index) {
+			// move head back count spots, then shift the items in front left.
+			head = slot(array.length - count);
+			for (int i=0; i<index; i++) {
+				array[slot(i)] = array[slot(i+count)];
+			}
+		} else {
+			// shift the items behind right.
+			for (int i=fill-1; i>=index; i--) {
+				array[slot(i+count)] = array[slot(i)];
+			}
+		}
+		for (int i=0; i<count; i++) {
+			array[slot(index+i)] = items[i];
+		}
+		fill += count;
+		modCount++;
+	}
+
+	/**
+	 * Close the gap by shifting whichever side of it is shorter, all at once.
+	 */
+	@Override
+	protected void deleteRange(int fromIndex, int toIndex) {
+		int removed = toIndex - fromIndex;
+		if (fromIndex < fill - toIndex) {
+			// shift the items in front right, then move head.
+			for (int i=fromIndex-1; i>=0; i--) {
+				array[slot(i+removed)] = array[slot(i)];
+			}
+			for (int i=0; i<removed; i++) {
+				array[slot(i)] = null;
+			}
+			head = slot(removed);
+		} else {
+			// shift the items behind left.
+			for (int i=toIndex; i<fill; i++) {
+				array[slot(i-removed)] = array[slot(i)];
+			}
+			for (int i=fill-removed; i<fill; i++) {
+				array[slot(i)] = null;
+			}
+		}
+		fill -= removed;
+		modCount++;
+	}
+	
+	/**
+	 * Slide each survivor down to the next open spot, in one pass.
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		int before = fill;
+		int kept = 0;
+		int read = 0;
+		try {
+			for (; read < fill; read++) {
+				T item = elementAt(read);
+				if (!filter.test(item)) {
+					array[slot(kept++)] = item;
+				}
+			}
+		} finally {
+			// if filter crashed, slide down everything it didn't get to; what it already removed stays removed.
+			for (; read < fill; read++) {
+				array[slot(kept++)] = array[slot(read)];
+			}
+			if (kept != fill) {
+				for (int i=kept; i<fill; i++) {
+					array[slot(i)] = null;
+				}
+				fill = kept;
+				modCount++;
+			}
+		}
+		return fill != before;
+	}
+
+	@Override
+	public T getFront() {
+		checkNotEmpty();
+		return elementAt(0);
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		return elementAt(fill-1);
+	}
+
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return elementAt(index);
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		array[slot(index)] = value;
+	}
+
+	@Override
+	public int size() {
+		return this.fill;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.fill == 0;
+	}
+
+	/**
+	 * Remove everything, but keep the array for the next items we add.
+	 */
+	@Override
+	public void clear() {
+		// let go of the items so they can be garbage collected.
+		int firstPart = Math.min(fill, array.length - head);
+		Arrays.fill(array, head, head + firstPart, null);
+		Arrays.fill(array, 0, fill - firstPart, null);
+		head = 0;
+		fill = 0;
+		modCount++;
+	}
+
+	/**
+	 * Make sure there's room for at least minCapacity items without growing again.
+	 * @param minCapacity - how many items we should be able to hold.
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > array.length) {
+			resizeArray(growthPolicy.grow(array.length, minCapacity));
+		}
+	}
+
+	/**
+	 * Give back any array space we aren't using right now.
+	 */
+	public void trimToSize() {
+		if (fill < array.length) {
+			resizeArray(fill);
+		}
+	}
+
+	/**
+	 * How many items can we hold before we have to grow?
+	 * @return the length of the array inside.
+	 */
+	public int capacity() {
+		return array.length;
+	}
+
+	@Override
+	public Object[] toArray() {
+		Object[] output = new Object[fill];
+		int firstPart = Math.min(fill, array.length - head);
+		System.arraycopy(array, head, output, 0, firstPart);
+		System.arraycopy(array, 0, output, firstPart, fill - firstPart);
+		return output;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Cursor();
+	}
+
+	/**
+	 * Walk around the ring, skipping the checks in getIndex.
+	 */
+	private class Cursor extends ListADTIterator<T> {
+		private int position = 0;
+
+		Cursor() {
+			super(GrowableDeque.this);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return position < fill;
+		}
+
+		@Override
+		protected T advance() {
+			return elementAt(position++);
+		}
+	}
+
+	@Override
+	public Spliterator<T> spliterator() {
+		return new RingSpliterator(0, fill);
+	}
+
+	/**
+	 * Splits the range of indexes [from, to) in half; wrapping around doesn't matter to it.
+	 */
+	private class RingSpliterator implements Spliterator<T> {
+		private int from;
+		private final int to;
+
+		RingSpliterator(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if (from >= to) {
+				return false;
+			}
+			action.accept(elementAt(from++));
+			return true;
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			int middle = (from + to) >>> 1;
+			if (middle <= from) {
+				return null;
+			}
+			RingSpliterator prefix = new RingSpliterator(from, middle);
+			this.from = middle;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return to - from;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+	}
+}
@@ -1,15 +1,68 @@
 package edu.smith.cs.csc212.adtr.real;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+
 import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
 
+/**
+ * An ArrayList: a FixedSizeList that makes a bigger array when it runs out of room.
+ * 
+ * How much bigger is up to its {@link GrowthPolicy} (doubling, by default).
+ * If you know how many items are coming, give it an initial capacity or call
+ * {@link #ensureCapacity(int)} so it only has to allocate once.
+ * It never gives memory back unless you call {@link #trimToSize()} or turn on
+ * shrinking with {@link #setShrinkLoad(double)}.
+ * 
+ * @param <T> - the type of item stored in the list.
+ */
 public class GrowableList<T> extends ListADT<T> {
 	public static final int START_SIZE = 10;
 	private Object[] array;
 	private int fill;
+	/**
+	 * How do we pick the next array size?
+	 */
+	private GrowthPolicy growthPolicy;
+	/**
+	 * The capacity we started with; shrinking never goes below this.
+	 */
+	private int initialCapacity;
+	/**
+	 * If fill drops below this fraction of the capacity, shrink the array (0 means never).
+	 */
+	private double shrinkLoad;
 	
 	public GrowableList() {
-		this.array = new Object[START_SIZE];
+		this(START_SIZE);
+	}
+	
+	/**
+	 * Make an empty list with room for initialCapacity items before it needs to grow.
+	 * @param initialCapacity - how many items to make room for.
+	 */
+	public GrowableList(int initialCapacity) {
+		this(initialCapacity, GrowthPolicy.factor(2));
+	}
+	
+	/**
+	 * Make an empty list with room for initialCapacity items, which grows according to growthPolicy.
+	 * @param initialCapacity - how many items to make room for.
+	 * @param growthPolicy - how much room to add each time we run out.
+	 */
+	public GrowableList(int initialCapacity, GrowthPolicy growthPolicy) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("initialCapacity must not be negative: "+initialCapacity);
+		}
+		this.array = new Object[initialCapacity];
 		this.fill = 0;
+		this.growthPolicy = growthPolicy;
+		this.initialCapacity = initialCapacity;
+		this.shrinkLoad = 0;
 	}
 
 	@Override
@@ -36,6 +89,8 @@ public class GrowableList<T> extends ListADT<T> {
 			this.array[i] = this.array[i+1];
 		}
 		this.array[fill] = null;
+		modCount++;
+		maybeShrink();
 		return removed;
 	}
 
@@ -50,18 +105,87 @@ public class GrowableList<T> extends ListADT<T> {
 			this.resizeArray();
 		}
 		array[fill++] = item;
+		modCount++;
 	}
 	
 	/**
 	 * This private method is called when we need to make room in our GrowableList.
 	 */
 	private void resizeArray() {
-		int newSize = array.length*2;
-		Object newArray[] = new Object[newSize];
-		for (int i=0; i<array.length; i++) {
-			newArray[i] = array[i];
+		resizeArray(growthPolicy.grow(array.length, fill+1));
+	}
+	
+	/**
+	 * Move our items into an array of exactly newSize.
+	 * @param newSize - the new capacity; at least fill.
+	 */
+	private void resizeArray(int newSize) {
+		this.array = Arrays.copyOf(this.array, newSize);
+	}
+	
+	/**
+	 * If we've dropped below shrinkLoad, give back the array down to twice what we use.
+	 * Twice, so that a few more adds don't have to grow it right back.
+	 */
+	private void maybeShrink() {
+		if (fill < shrinkLoad * array.length) {
+			int newSize = Math.max(initialCapacity, fill*2);
+			if (newSize < array.length) {
+				resizeArray(newSize);
+			}
+		}
+	}
+	
+	/**
+	 * Make sure there's room for at least minCapacity items without growing again.
+	 * Call this before adding lots of items whose count you know.
+	 * @param minCapacity - how many items we should be able to hold.
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > array.length) {
+			resizeArray(growthPolicy.grow(array.length, minCapacity));
+		}
+	}
+	
+	/**
+	 * Give back any array space we aren't using right now.
+	 */
+	public void trimToSize() {
+		if (fill < array.length) {
+			resizeArray(fill);
+		}
+	}
+	
+	/**
+	 * How many items can we hold before we have to grow?
+	 * @return the length of the array inside.
+	 */
+	public int capacity() {
+		return array.length;
+	}
+	
+	/**
+	 * Turn on automatic shrinking: when a remove leaves us using less than load of our array,
+	 * shrink it to twice what we use (but never below the initial capacity).
+	 * @param load - from 0 (never shrink, the default) up to 0.5.
+	 */
+	public void setShrinkLoad(double load) {
+		if (load < 0 || load > 0.5) {
+			throw new IllegalArgumentException("load must be between 0 and 0.5: "+load);
 		}
-		this.array = newArray;
+		this.shrinkLoad = load;
+	}
+	
+	/**
+	 * Remove everything, but keep the array for the next items we add.
+	 */
+	@Override
+	public void clear() {
+		// let go of the items so they can be garbage collected.
+		Arrays.fill(array, 0, fill, null);
+		fill = 0;
+		modCount++;
+		maybeShrink();
 	}
 
 	@Override
@@ -77,6 +201,67 @@ public class GrowableList<T> extends ListADT<T> {
 		// put this item in the middle
 		array[index] = item;
 		fill++;
+		modCount++;
+	}
+	
+	/**
+	 * Grow once, shift the tail once, and copy the new items into the gap.
+	 */
+	@Override
+	protected void insertAll(int index, Object[] items, int count) {
+		ensureCapacity(fill + count);
+		System.arraycopy(array, index, array, index + count, fill - index);
+		System.arraycopy(items, 0, array, index, count);
+		fill += count;
+		modCount++;
+	}
+	
+	/**
+	 * Slide the tail down over the gap in one copy.
+	 */
+	@Override
+	protected void deleteRange(int fromIndex, int toIndex) {
+		int removed = toIndex - fromIndex;
+		System.arraycopy(array, toIndex, array, fromIndex, fill - toIndex);
+		// let go of the items so they can be garbage collected.
+		Arrays.fill(array, fill - removed, fill, null);
+		fill -= removed;
+		modCount++;
+		maybeShrink();
+	}
+	
+	/**
+	 * Slide each survivor down to the next open spot, in one pass.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		int before = fill;
+		int kept = 0;
+		int read = 0;
+		try {
+			for (; read < fill; read++) {
+				if (!filter.test((T) array[read])) {
+					array[kept++] = array[read];
+				}
+			}
+		} finally {
+			// if filter crashed, slide down everything it didn't get to; what it already removed stays removed.
+			System.arraycopy(array, read, array, kept, fill - read);
+			kept += fill - read;
+			if (kept != fill) {
+				Arrays.fill(array, kept, fill, null);
+				fill = kept;
+				modCount++;
+				maybeShrink();
+			}
+		}
+		return fill != before;
+	}
+	
+	@Override
+	public Object[] toArray() {
+		return Arrays.copyOf(array, fill);
 	}
 	
 	@Override
@@ -121,5 +306,40 @@ public class GrowableList<T> extends ListADT<T> {
 		
 		this.array[index] = value;
 	}
+	
+	@Override
+	public Iterator<T> iterator() {
+		return new Cursor();
+	}
+	
+	/**
+	 * Walk straight through the array, skipping the checks in getIndex.
+	 */
+	private class Cursor extends ListADTIterator<T> {
+		private int position = 0;
+		
+		Cursor() {
+			super(GrowableList.this);
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return position < fill;
+		}
+		
+		@SuppressWarnings("unchecked")
+		@Override
+		protected T advance() {
+			return (T) array[position++];
+		}
+	}
+	
+	/**
+	 * Our items are already in one array, so splitting means cutting the range [0, fill) in half.
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return Spliterators.spliterator(this.array, 0, this.fill, Spliterator.ORDERED);
+	}
 
 }
@@ -0,0 +1,74 @@
+package edu.smith.cs.csc212.adtr.real;
+
+/**
+ * How much bigger should a {@link GrowableList} make its array when it runs out of room?
+ *
+ * Multiplying (the default, by 2) makes addBack O(1) amortized but can waste up to half the array;
+ * adding a fixed amount wastes less but makes addBack O(n) amortized.
+ *
+ * @author jfoley
+ *
+ */
+public interface GrowthPolicy {
+	/**
+	 * Pick a new capacity.
+	 *
+	 * @param capacity - how big the array is now.
+	 * @param needed - how big it has to be, at least.
+	 * @return the new capacity; never less than needed.
+	 */
+	int grow(int capacity, int needed);
+
+	/**
+	 * Multiply the capacity by factor every time we run out.
+	 * @param factor - a number bigger than 1, e.g. 1.5 or 2.
+	 * @return a GrowthPolicy.
+	 */
+	static GrowthPolicy factor(double factor) {
+		if (!(factor > 1)) {
+			throw new IllegalArgumentException("factor must be more than 1: "+factor);
+		}
+		return (capacity, needed) -> atLeast(capacity * factor, needed);
+	}
+
+	/**
+	 * Add room for step more items every time we run out.
+	 * @param step - a positive number.
+	 * @return a GrowthPolicy.
+	 */
+	static GrowthPolicy additive(int step) {
+		if (step < 1) {
+			throw new IllegalArgumentException("step must be positive: "+step);
+		}
+		return (capacity, needed) -> atLeast((double) capacity + step, needed);
+	}
+
+	/**
+	 * Multiply the capacity by factor, but never add more than maxStep at once.
+	 * Small lists grow quickly and huge lists don't double their memory in one go.
+	 * @param factor - a number bigger than 1, e.g. 1.5 or 2.
+	 * @param maxStep - the most room to add in one resize.
+	 * @return a GrowthPolicy.
+	 */
+	static GrowthPolicy capped(double factor, int maxStep) {
+		if (!(factor > 1)) {
+			throw new IllegalArgumentException("factor must be more than 1: "+factor);
+		}
+		if (maxStep < 1) {
+			throw new IllegalArgumentException("maxStep must be positive: "+maxStep);
+		}
+		return (capacity, needed) -> atLeast(Math.min(capacity * factor, (double) capacity + maxStep), needed);
+	}
+
+	/**
+	 * Round a wished-for capacity to an int that is at least needed (and at least 1 bigger).
+	 * @param wanted - the capacity a policy would like.
+	 * @param needed - the capacity it has to be.
+	 * @return the capacity to use.
+	 */
+	static int atLeast(double wanted, int needed) {
+		// arrays can't quite get to Integer.MAX_VALUE on most JVMs.
+		int best = (int) Math.min(wanted, Integer.MAX_VALUE - 8);
+		return Math.max(best, needed);
+	}
+}
@@ -0,0 +1,529 @@
+package edu.smith.cs.csc212.adtr.real;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
+import edu.smith.cs.csc212.adtr.errors.BadIndexError;
+
+/**
+ * A DoublyLinkedList without Node objects.
+ *
+ * Each item lives in a numbered "slot". Instead of a Node with before/after/value fields, slot s keeps
+ * its value in values[s], and the slot numbers of its neighbors in prev[s] and next[s]. Three arrays
+ * instead of one object per item means about 12 bytes of overhead per item instead of ~32, and walking
+ * the list reads through a few arrays instead of hopping around the heap.
+ *
+ * Adding and removing still just relink a couple of neighbors, like any linked list; nothing gets shifted.
+ * Removed slots go on a free list, and the next add reuses them.
+ *
+ * After lots of adds and removes in the middle, neighbors can end up in slots far apart.
+ * {@link #defragment()} rewrites the arrays so the list runs through slots 0, 1, 2, ... in order;
+ * until the next change in the middle, getIndex is then O(1).
+ *
+ * @author jfoley
+ * @param <T> - the type of item stored in the list.
+ */
+public class IndexLinkedList<T> extends ListADT<T> {
+	/**
+	 * "No slot": what prev of the first slot and next of the last slot hold.
+	 */
+	private static final int NIL = -1;
+
+	/**
+	 * values[s] is the item in slot s.
+	 */
+	private Object[] values;
+	/**
+	 * prev[s] is the slot before slot s.
+	 */
+	private int[] prev;
+	/**
+	 * next[s] is the slot after slot s; for free slots, the next free slot.
+	 */
+	private int[] next;
+	/**
+	 * The first and last slots of the list, or NIL.
+	 */
+	private int head, tail;
+	/**
+	 * How many items are in the list.
+	 */
+	private int size;
+	/**
+	 * Slots at or above this have never been used.
+	 */
+	private int used;
+	/**
+	 * The first free slot below used, or NIL.
+	 */
+	private int free;
+	/**
+	 * True when item #i is in slot i for every i, so getIndex can skip the walk.
+	 */
+	private boolean ordered;
+	/**
+	 * The last slot getSlot found, and its index; trusted only while modCount == fingerModCount.
+	 */
+	private int finger, fingerIndex, fingerModCount;
+
+	/**
+	 * Make an empty list.
+	 */
+	public IndexLinkedList() {
+		this(GrowableList.START_SIZE);
+	}
+
+	/**
+	 * Make an empty list with room for initialCapacity items before it needs to grow.
+	 * @param initialCapacity - how many items to make room for.
+	 */
+	public IndexLinkedList(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("initialCapacity must not be negative: "+initialCapacity);
+		}
+		this.values = new Object[initialCapacity];
+		this.prev = new int[initialCapacity];
+		this.next = new int[initialCapacity];
+		this.head = this.tail = NIL;
+		this.size = 0;
+		this.used = 0;
+		this.free = NIL;
+		this.ordered = true;
+		this.finger = NIL;
+	}
+
+	/**
+	 * Get an empty slot (a free one if there is one), holding value but not linked in yet.
+	 */
+	private int allocate(Object value) {
+		int slot;
+		if (free != NIL) {
+			slot = free;
+			free = next[slot];
+		} else {
+			if (used == values.length) {
+				int capacity = Math.max(GrowableList.START_SIZE, values.length * 2);
+				values = Arrays.copyOf(values, capacity);
+				prev = Arrays.copyOf(prev, capacity);
+				next = Arrays.copyOf(next, capacity);
+			}
+			slot = used++;
+		}
+		values[slot] = value;
+		return slot;
+	}
+
+	/**
+	 * Put a slot that was just unlinked on the free list.
+	 */
+	private void release(int slot) {
+		// let go of the item so it can be garbage collected.
+		values[slot] = null;
+		next[slot] = free;
+		free = slot;
+	}
+
+	/**
+	 * Link slot in between before and after (either may be NIL, meaning an end of the list).
+	 */
+	private void linkBetween(int slot, int before, int after) {
+		prev[slot] = before;
+		next[slot] = after;
+		if (before == NIL) {
+			head = slot;
+		} else {
+			next[before] = slot;
+		}
+		if (after == NIL) {
+			tail = slot;
+		} else {
+			prev[after] = slot;
+		}
+	}
+
+	/**
+	 * Take slot out of the chain (but don't free it).
+	 */
+	private void unlink(int slot) {
+		int before = prev[slot];
+		int after = next[slot];
+		if (before == NIL) {
+			head = after;
+		} else {
+			next[before] = after;
+		}
+		if (after == NIL) {
+			tail = before;
+		} else {
+			prev[after] = before;
+		}
+	}
+
+	/**
+	 * Find the slot of item #index, walking from whichever is closest: head, tail, or the finger.
+	 */
+	private int getSlot(int index) {
+		if (index < 0 || index >= size) {
+			throw new BadIndexError(index);
+		}
+		if (ordered) {
+			return index;
+		}
+		int slot;
+		int at;
+		if (index <= size / 2) {
+			slot = head;
+			at = 0;
+		} else {
+			slot = tail;
+			at = size - 1;
+		}
+		if (finger != NIL && fingerModCount == modCount && Math.abs(index - fingerIndex) < Math.abs(index - at)) {
+			slot = finger;
+			at = fingerIndex;
+		}
+		for (; at < index; at++) {
+			slot = next[slot];
+		}
+		for (; at > index; at--) {
+			slot = prev[slot];
+		}
+		finger = slot;
+		fingerIndex = index;
+		fingerModCount = modCount;
+		return slot;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T valueAt(int slot) {
+		return (T) values[slot];
+	}
+
+	@Override
+	public void addFront(T item) {
+		int slot = allocate(item);
+		linkBetween(slot, NIL, head);
+		size++;
+		modCount++;
+		ordered = size == 1 && slot == 0;
+	}
+
+	@Override
+	public void addBack(T item) {
+		int slot = allocate(item);
+		linkBetween(slot, tail, NIL);
+		size++;
+		modCount++;
+		// still in order if the new last item landed in the next slot.
+		ordered = ordered && slot == size - 1;
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		checkInclusiveIndex(index);
+		if (index == size) {
+			addBack(item);
+			return;
+		}
+		int after = getSlot(index);
+		int slot = allocate(item);
+		linkBetween(slot, prev[after], after);
+		size++;
+		modCount++;
+		ordered = false;
+	}
+
+	/**
+	 * Link all the new items into a chain first, then hook the whole chain in at once.
+	 */
+	@Override
+	protected void insertAll(int index, Object[] items, int count) {
+		if (count == 0) {
+			return;
+		}
+		int after = (index == size) ? NIL : getSlot(index);
+		int before = (after == NIL) ? tail : prev[after];
+		boolean appending = ordered && after == NIL;
+		int first = allocate(items[0]);
+		int last = first;
+		appending = appending && first == size;
+		for (int i=1; i<count; i++) {
+			int slot = allocate(items[i]);
+			appending = appending && slot == size + i;
+			next[last] = slot;
+			prev[slot] = last;
+			last = slot;
+		}
+		prev[first] = before;
+		if (before == NIL) {
+			head = first;
+		} else {
+			next[before] = first;
+		}
+		next[last] = after;
+		if (after == NIL) {
+			tail = last;
+		} else {
+			prev[after] = last;
+		}
+		size += count;
+		modCount++;
+		ordered = appending;
+	}
+
+	@Override
+	public T removeFront() {
+		checkNotEmpty();
+		return removeSlot(head);
+	}
+
+	@Override
+	public T removeBack() {
+		checkNotEmpty();
+		boolean wasOrdered = ordered;
+		T removed = removeSlot(tail);
+		// the rest are still in slots 0..size-1.
+		ordered = wasOrdered;
+		return removed;
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		checkNotEmpty();
+		if (index == size - 1) {
+			return removeBack();
+		}
+		int slot = getSlot(index);
+		int after = next[slot];
+		T removed = removeSlot(slot);
+		// leave the finger next to the gap, so removing nearby stays cheap.
+		finger = after;
+		fingerIndex = index;
+		fingerModCount = modCount;
+		return removed;
+	}
+
+	/**
+	 * Unlink and free one slot; O(1).
+	 */
+	private T removeSlot(int slot) {
+		T removed = valueAt(slot);
+		unlink(slot);
+		release(slot);
+		size--;
+		modCount++;
+		ordered = size == 0;
+		if (size == 0) {
+			resetSlots();
+		}
+		return removed;
+	}
+
+	/**
+	 * Unlink the whole range in one step, then free its slots.
+	 */
+	@Override
+	protected void deleteRange(int fromIndex, int toIndex) {
+		int first = getSlot(fromIndex);
+		int before = prev[first];
+		int after = first;
+		for (int i=fromIndex; i<toIndex; i++) {
+			int gone = after;
+			after = next[after];
+			release(gone);
+		}
+		if (before == NIL) {
+			head = after;
+		} else {
+			next[before] = after;
+		}
+		if (after == NIL) {
+			tail = before;
+		} else {
+			prev[after] = before;
+		}
+		size -= toIndex - fromIndex;
+		modCount++;
+		// cutting off the back keeps the rest in order.
+		ordered = ordered && after == NIL;
+		if (size == 0) {
+			resetSlots();
+		}
+	}
+
+	/**
+	 * Walk the list once, unlinking every slot filter says yes to.
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		int before = size;
+		try {
+			for (int slot = head, following; slot != NIL; slot = following) {
+				following = next[slot];
+				if (filter.test(valueAt(slot))) {
+					unlink(slot);
+					release(slot);
+					size--;
+				}
+			}
+		} finally {
+			// even if filter crashed partway, whatever we already unlinked is gone.
+			if (size != before) {
+				modCount++;
+				ordered = size == 0;
+				finger = NIL;
+				if (size == 0) {
+					resetSlots();
+				}
+			}
+		}
+		return size != before;
+	}
+
+	/**
+	 * Remove everything, but keep the arrays for the next items we add.
+	 */
+	@Override
+	public void clear() {
+		// let go of the items so they can be garbage collected.
+		Arrays.fill(values, 0, used, null);
+		size = 0;
+		modCount++;
+		resetSlots();
+	}
+
+	/**
+	 * The list is empty: forget the free list and start handing out slots from 0 again.
+	 */
+	private void resetSlots() {
+		head = tail = NIL;
+		used = 0;
+		free = NIL;
+		ordered = true;
+		finger = NIL;
+	}
+
+	/**
+	 * Rewrite the arrays so item #i is in slot i, with no free slots in between.
+	 * Afterwards iteration reads straight through the arrays, and getIndex is O(1) until
+	 * something is added or removed anywhere but the back. Costs O(n) time and a second set of arrays.
+	 */
+	public void defragment() {
+		if (ordered && used == size) {
+			return;
+		}
+		int capacity = values.length;
+		Object[] newValues = new Object[capacity];
+		int[] newPrev = new int[capacity];
+		int[] newNext = new int[capacity];
+		int i = 0;
+		for (int slot = head; slot != NIL; slot = next[slot]) {
+			newValues[i] = values[slot];
+			newPrev[i] = i - 1;
+			newNext[i] = i + 1;
+			i++;
+		}
+		if (size > 0) {
+			newNext[size - 1] = NIL;
+		}
+		values = newValues;
+		prev = newPrev;
+		next = newNext;
+		head = size > 0 ? 0 : NIL;
+		tail = size - 1;
+		used = size;
+		free = NIL;
+		ordered = true;
+		finger = NIL;
+		// slots moved, so any iterator in the middle of a walk is lost.
+		modCount++;
+	}
+
+	/**
+	 * How many items can we hold before we have to grow?
+	 * @return the length of the arrays inside.
+	 */
+	public int capacity() {
+		return values.length;
+	}
+
+	@Override
+	public T getFront() {
+		checkNotEmpty();
+		return valueAt(head);
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		return valueAt(tail);
+	}
+
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		return valueAt(getSlot(index));
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		checkNotEmpty();
+		values[getSlot(index)] = value;
+	}
+
+	@Override
+	public int size() {
+		if (VERIFY_SIZE) {
+			checkSize(this.size, countSlots());
+		}
+		return this.size;
+	}
+
+	/**
+	 * Count the slots the slow way, to check up on size.
+	 * @return the number of slots reachable from head.
+	 */
+	private int countSlots() {
+		int count = 0;
+		for (int slot = head; slot != NIL; slot = next[slot]) {
+			count++;
+		}
+		return count;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Cursor();
+	}
+
+	/**
+	 * Follow the next array instead of calling getIndex.
+	 */
+	private class Cursor extends ListADTIterator<T> {
+		private int current = head;
+
+		Cursor() {
+			super(IndexLinkedList.this);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return current != NIL;
+		}
+
+		@Override
+		protected T advance() {
+			T value = valueAt(current);
+			current = next[current];
+			return value;
+		}
+	}
+}
@@ -1,7 +1,10 @@
 package edu.smith.cs.csc212.adtr.real;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Predicate;
 
 import edu.smith.cs.csc212.adtr.ListADT;
 
@@ -71,37 +74,75 @@ public class JavaList<T> extends ListADT<T> {
 	@Override
 	public void addIndex(int index, T value) {
 		checkInclusiveIndex(index);
-		inner.add(index, value);	
+		inner.add(index, value);
+		modCount++;
 	}
 
 	@Override
 	public void addFront(T value) {
-		inner.add(0, value);	
+		inner.add(0, value);
+		modCount++;
 	}
 
 	@Override
 	public void addBack(T value) {
-		inner.add(inner.size(), value);		
+		inner.add(inner.size(), value);
+		modCount++;
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void insertAll(int index, Object[] items, int count) {
+		inner.addAll(index, (List<T>) Arrays.asList(items).subList(0, count));
+		modCount++;
+	}
+
+	@Override
+	protected void deleteRange(int fromIndex, int toIndex) {
+		inner.subList(fromIndex, toIndex).clear();
+		modCount++;
+	}
+	
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		if (inner.removeIf(filter)) {
+			modCount++;
+			return true;
+		}
+		return false;
+	}
+	
 	@Override
 	public T removeIndex(int index) {
 		checkNotEmpty();
 		checkExclusiveIndex(index);
+		modCount++;
 		return inner.remove(index);
 	}
 
 	@Override
 	public T removeBack() {
 		checkNotEmpty();
+		modCount++;
 		return inner.remove(inner.size()-1);
 	}
 
 	@Override
 	public T removeFront() {
 		checkNotEmpty();
+		modCount++;
 		return inner.remove(0);
 	}
-
+	
+	@Override
+	public void clear() {
+		inner.clear();
+		modCount++;
+	}
+	
+	@Override
+	public Spliterator<T> spliterator() {
+		return inner.spliterator();
+	}
 
 }
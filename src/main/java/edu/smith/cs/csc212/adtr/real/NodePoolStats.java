@@ -0,0 +1,67 @@
+package edu.smith.cs.csc212.adtr.real;
+
+/**
+ * How well a linked list's node pool is working, at one moment.
+ * Get one from {@link SinglyLinkedList#poolStats()} or {@link DoublyLinkedList#poolStats()}.
+ *
+ * Every add needs a node: either a brand new one (created) or one an earlier remove left in the pool (reused).
+ * A high reuse rate means the list is barely making any garbage.
+ *
+ * @author jfoley
+ *
+ */
+public final class NodePoolStats {
+	private final long created;
+	private final long reused;
+	private final int pooled;
+	private final int capacity;
+
+	NodePoolStats(long created, long reused, int pooled, int capacity) {
+		this.created = created;
+		this.reused = reused;
+		this.pooled = pooled;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * @return how many nodes were made with new.
+	 */
+	public long created() {
+		return created;
+	}
+
+	/**
+	 * @return how many nodes were taken from the pool instead.
+	 */
+	public long reused() {
+		return reused;
+	}
+
+	/**
+	 * @return the fraction of adds that reused a node, from 0 to 1 (0 if nothing was added yet).
+	 */
+	public double reuseRate() {
+		long total = created + reused;
+		return total == 0 ? 0.0 : (double) reused / total;
+	}
+
+	/**
+	 * @return how many nodes are waiting in the pool right now.
+	 */
+	public int pooled() {
+		return pooled;
+	}
+
+	/**
+	 * @return the most nodes the pool will keep; 0 means pooling is off.
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("NodePoolStats{created=%d, reused=%d (%.1f%%), pooled=%d/%d}",
+				created, reused, 100 * reuseRate(), pooled, capacity);
+	}
+}
@@ -1,8 +1,10 @@
 package edu.smith.cs.csc212.adtr.real;
 
 import java.util.Iterator;
+import java.util.function.Predicate;
 
 import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
 import edu.smith.cs.csc212.adtr.errors.BadIndexError;
 
 public class SinglyLinkedList<T> extends ListADT<T> {
@@ -11,31 +13,128 @@ public class SinglyLinkedList<T> extends ListADT<T> {
 	 * Node is defined at the bottom of this file.
 	 */
 	Node<T> start;
+	/**
+	 * The last node of this list (null if it's empty), so addBack and getBack don't have to walk.
+	 * Every method that can change which node is last has to keep this up to date!
+	 */
+	private Node<T> end;
+	/**
+	 * How many nodes hang off of start? Kept up to date by every add and remove.
+	 */
+	private int size = 0;
+	/**
+	 * Removed nodes waiting to be used again, linked through next; see {@link #SinglyLinkedList(int)}.
+	 */
+	private Node<T> pool;
+	/**
+	 * How many nodes are in the pool.
+	 */
+	private int pooled;
+	/**
+	 * The most nodes the pool may hold; 0 means pooling is off.
+	 */
+	private final int poolCapacity;
+	/**
+	 * How many nodes did we make with new, and how many came from the pool?
+	 */
+	private long nodesCreated, nodesReused;
+	
+	/**
+	 * A singly-linked list starts empty, and makes a new node for every add.
+	 */
+	public SinglyLinkedList() {
+		this(0);
+	}
+	
+	/**
+	 * Make an empty list that keeps up to poolCapacity removed nodes, and uses them again for later adds
+	 * instead of making new ones. A list used as a busy queue then makes almost no garbage.
+	 * The pool never holds on to items: their values are cleared when they go in.
+	 * 
+	 * @param poolCapacity - the most spare nodes to keep; 0 turns pooling off.
+	 */
+	public SinglyLinkedList(int poolCapacity) {
+		if (poolCapacity < 0) {
+			throw new IllegalArgumentException("poolCapacity must not be negative: "+poolCapacity);
+		}
+		this.poolCapacity = poolCapacity;
+	}
+	
+	/**
+	 * Get a node from the pool if there is one, or a new one.
+	 */
+	private Node<T> makeNode(T value, Node<T> next) {
+		Node<T> n = this.pool;
+		if (n == null) {
+			nodesCreated++;
+			return new Node<T>(value, next);
+		}
+		this.pool = n.next;
+		pooled--;
+		nodesReused++;
+		n.value = value;
+		n.next = next;
+		return n;
+	}
+	
+	/**
+	 * Put a node that was just unlinked into the pool, if there's room; otherwise the GC can have it.
+	 */
+	private void recycle(Node<T> n) {
+		if (pooled >= poolCapacity) {
+			return;
+		}
+		// don't keep the item alive.
+		n.value = null;
+		n.next = this.pool;
+		this.pool = n;
+		pooled++;
+	}
+	
+	/**
+	 * How well is the node pool working?
+	 * @return a snapshot of the pool's counters.
+	 */
+	public NodePoolStats poolStats() {
+		return new NodePoolStats(nodesCreated, nodesReused, pooled, poolCapacity);
+	}
 	
 	@Override
 	public T removeFront() {
 		checkNotEmpty();
-		T removed = this.start.value;
-		this.start = this.start.next;
+		Node<T> gone = this.start;
+		T removed = gone.value;
+		this.start = gone.next;
+		if (this.start == null) {
+			this.end = null;
+		}
+		recycle(gone);
+		size--;
+		modCount++;
 		return removed;
 	}
 
 	@Override
 	public T removeBack() {
 		checkNotEmpty();
+		// we still have to walk: end can't tell us what comes before it.
 		Node<T> secondToLastNode = null;
 		T removed;
 		
 		for (Node<T> n = this.start; n.next != null; n = n.next) {
 			secondToLastNode = n;
 		}
+		Node<T> gone = this.end;
+		removed = gone.value;
 		if (secondToLastNode == null) {
-			removed = this.start.value;
 			this.start = null;
 		} else {
-			removed = secondToLastNode.next.value;
 			secondToLastNode.next = null;
 		}
+		this.end = secondToLastNode;
+		recycle(gone);
+		size--;
+		modCount++;
 		return removed;
 	}
 
@@ -48,27 +147,42 @@ public class SinglyLinkedList<T> extends ListADT<T> {
 		}
 
 		Node<T> beforeIndex = getNode(index-1);
-		T removed = beforeIndex.next.value;
-		beforeIndex.next = beforeIndex.next.next;
+		if (beforeIndex.next == null) {
+			throw new BadIndexError(index);
+		}
+		Node<T> gone = beforeIndex.next;
+		T removed = gone.value;
+		if (gone == this.end) {
+			this.end = beforeIndex;
+		}
+		beforeIndex.next = gone.next;
+		recycle(gone);
+		size--;
+		modCount++;
 		return removed;
 	}
 
 	@Override
 	public void addFront(T item) {
-		this.start = new Node<T>(item, start);
+		this.start = makeNode(item, start);
+		if (this.end == null) {
+			this.end = this.start;
+		}
+		size++;
+		modCount++;
 	}
 
 	@Override
 	public void addBack(T item) {
-		Node<T> lastNode = null;
-		for (Node<T> n = this.start; n != null; n = n.next) {
-			lastNode = n;
-		}
-		if (lastNode != null) {
-			lastNode.next = new Node<T>(item, null);
+		Node<T> added = makeNode(item, null);
+		if (this.end != null) {
+			this.end.next = added;
 		} else {
-			this.start = new Node<T>(item, null);
+			this.start = added;
 		}
+		this.end = added;
+		size++;
+		modCount++;
 	}
 
 	@Override
@@ -78,11 +192,121 @@ public class SinglyLinkedList<T> extends ListADT<T> {
 			return;
 		}
 		
+		if (index == this.size) {
+			addBack(item);
+			return;
+		}
 		Node<T> beforeIndex = getNode(index-1);
-		beforeIndex.next = new Node<T>(item, beforeIndex.next);
+		beforeIndex.next = makeNode(item, beforeIndex.next);
+		size++;
+		modCount++;
 		return;
 	}
 	
+	/**
+	 * Drop all the nodes at once; the garbage collector will find them.
+	 * (If pooling is on, we first walk far enough to fill up the pool.)
+	 */
+	@Override
+	public void clear() {
+		for (Node<T> n = this.start; n != null && pooled < poolCapacity; ) {
+			Node<T> next = n.next;
+			recycle(n);
+			n = next;
+		}
+		this.start = null;
+		this.end = null;
+		size = 0;
+		modCount++;
+	}
+	
+	/**
+	 * Link all the new items into a chain first, then hook the whole chain in at once.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void insertAll(int index, Object[] items, int count) {
+		if (count == 0) {
+			return;
+		}
+		Node<T> first = makeNode((T) items[0], null);
+		Node<T> last = first;
+		for (int i=1; i<count; i++) {
+			last.next = makeNode((T) items[i], null);
+			last = last.next;
+		}
+		if (index == 0) {
+			last.next = this.start;
+			this.start = first;
+		} else {
+			Node<T> beforeIndex = (index == this.size) ? this.end : getNode(index-1);
+			last.next = beforeIndex.next;
+			beforeIndex.next = first;
+		}
+		if (last.next == null) {
+			this.end = last;
+		}
+		size += count;
+		modCount++;
+	}
+	
+	/**
+	 * Find the node before the range once, then skip over the whole range.
+	 */
+	@Override
+	protected void deleteRange(int fromIndex, int toIndex) {
+		Node<T> beforeRange = (fromIndex == 0) ? null : getNode(fromIndex-1);
+		Node<T> afterRange = (beforeRange == null) ? this.start : beforeRange.next;
+		for (int i=fromIndex; i<toIndex; i++) {
+			Node<T> gone = afterRange;
+			afterRange = afterRange.next;
+			recycle(gone);
+		}
+		if (beforeRange == null) {
+			this.start = afterRange;
+		} else {
+			beforeRange.next = afterRange;
+		}
+		if (afterRange == null) {
+			this.end = beforeRange;
+		}
+		size -= toIndex - fromIndex;
+		modCount++;
+	}
+	
+	/**
+	 * Walk the list once, unlinking every node filter says yes to.
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		int before = size;
+		// drop matches off the front first, so start is a keeper (or null).
+		while (this.start != null && filter.test(this.start.value)) {
+			Node<T> gone = this.start;
+			this.start = gone.next;
+			recycle(gone);
+			size--;
+		}
+		Node<T> kept = this.start;
+		while (kept != null && kept.next != null) {
+			if (filter.test(kept.next.value)) {
+				Node<T> gone = kept.next;
+				kept.next = gone.next;
+				recycle(gone);
+				size--;
+			} else {
+				kept = kept.next;
+			}
+		}
+		// the walk stops on the last keeper.
+		this.end = kept;
+		if (size == before) {
+			return false;
+		}
+		modCount++;
+		return true;
+	}
+	
 	@Override
 	public T getFront() {
 		checkNotEmpty();
@@ -92,11 +316,7 @@ public class SinglyLinkedList<T> extends ListADT<T> {
 	@Override
 	public T getBack() {
 		checkNotEmpty();
-		T lastNodeValue = null;
-		for (Node<T> n = this.start; n != null; n = n.next) {
-			lastNodeValue = n.value;
-		}
-		return lastNodeValue;
+		return this.end.value;
 	}
 
 	@Override
@@ -114,6 +334,18 @@ public class SinglyLinkedList<T> extends ListADT<T> {
 
 	@Override
 	public int size() {
+		if (VERIFY_SIZE) {
+			checkSize(this.size, countNodes());
+			checkEnd();
+		}
+		return this.size;
+	}
+	
+	/**
+	 * Count the nodes the slow way, to check up on size.
+	 * @return the number of nodes reachable from start.
+	 */
+	private int countNodes() {
 		int count = 0;
 		for (Node<T> n = this.start; n != null; n = n.next) {
 			count++;
@@ -121,6 +353,19 @@ public class SinglyLinkedList<T> extends ListADT<T> {
 		return count;
 	}
 
+	/**
+	 * Crash if end isn't really the last node; see {@link #VERIFY_SIZE}.
+	 */
+	private void checkEnd() {
+		Node<T> last = null;
+		for (Node<T> n = this.start; n != null; n = n.next) {
+			last = n;
+		}
+		if (last != this.end) {
+			throw new IllegalStateException("end is not the last node of this list.");
+		}
+	}
+
 	@Override
 	public boolean isEmpty() {
 		return this.start == null;
@@ -128,23 +373,30 @@ public class SinglyLinkedList<T> extends ListADT<T> {
 	
 	@Override
 	public Iterator<T> iterator() {
-		SinglyLinkedList<T> self = this;
-		return new Iterator<T>() {
-			Node<T> current = self.start;
-			
-			@Override
-			public boolean hasNext() {
-				return current != null;
-			}
-			
-			@Override
-			public T next() {
-				T value = current.value;
-				current = current.next;
-				return value;
-			}
-			
-		};
+		return new Cursor();
+	}
+	
+	/**
+	 * Follow the next pointers instead of calling getIndex (which starts over every time).
+	 */
+	private class Cursor extends ListADTIterator<T> {
+		private Node<T> current = start;
+		
+		Cursor() {
+			super(SinglyLinkedList.this);
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return current != null;
+		}
+		
+		@Override
+		protected T advance() {
+			T value = current.value;
+			current = current.next;
+			return value;
+		}
 	}
 
 	/**
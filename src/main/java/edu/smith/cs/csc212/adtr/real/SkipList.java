@@ -0,0 +1,353 @@
+package edu.smith.cs.csc212.adtr.real;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
+import edu.smith.cs.csc212.adtr.errors.BadIndexError;
+
+/**
+ * A linked list with express lanes, so getIndex, addIndex and removeIndex are O(log n) (expected) instead of O(n).
+ *
+ * Every node is on level 0, a plain singly-linked list. About 1 in 4 nodes is also on level 1, which skips
+ * straight from one of those to the next; 1 in 16 is on level 2, and so on. Each link also remembers its
+ * "width": how many items it jumps over. To find item #i we start on the highest level, take every link
+ * that doesn't overshoot i, and drop down a level when the next one would.
+ *
+ * Which levels a node gets is decided by coin flips when it's added, so there's no rebalancing;
+ * adding or removing only relinks the node's neighbors on each of its levels.
+ *
+ * @author jfoley
+ * @param <T> - the type of item stored in the list.
+ */
+public class SkipList<T> extends ListADT<T> {
+	/**
+	 * The most levels any node can have; 4^16 is far more items than an int can count.
+	 */
+	private static final int MAX_LEVEL = 16;
+
+	/**
+	 * Not an item: head.next[l] is the first node on level l. Its position counts as -1.
+	 */
+	private final Node<T> head;
+	/**
+	 * How many levels are in use; head's links above this are junk.
+	 */
+	private int levels;
+	/**
+	 * The last node (null if empty), so addBack and getBack don't have to search.
+	 */
+	private Node<T> last;
+	/**
+	 * How many items are in the list.
+	 */
+	private int size;
+	/**
+	 * Where the coin flips come from.
+	 */
+	private final Random random;
+	/**
+	 * Scratch space for search: the last node before the target on each level, and its position.
+	 */
+	private final Node<T>[] before;
+	private final int[] beforeIndex;
+
+	/**
+	 * Make an empty list.
+	 */
+	public SkipList() {
+		this(new Random());
+	}
+
+	/**
+	 * Make an empty list that flips its coins with random; give it a seed to make tests repeatable.
+	 * @param random - where to get random numbers.
+	 */
+	@SuppressWarnings("unchecked")
+	public SkipList(Random random) {
+		this.random = random;
+		this.head = new Node<T>(null, MAX_LEVEL);
+		this.before = (Node<T>[]) new Node<?>[MAX_LEVEL];
+		this.beforeIndex = new int[MAX_LEVEL];
+		resetHead();
+	}
+
+	/**
+	 * Empty out head: one level, whose link goes past the (empty) end.
+	 */
+	private void resetHead() {
+		this.levels = 1;
+		this.head.next[0] = null;
+		this.head.width[0] = 1;
+		this.last = null;
+		this.size = 0;
+	}
+
+	/**
+	 * Flip coins: keep going up a level with probability 1/4.
+	 */
+	private int randomLevels() {
+		int height = 1;
+		while (height < MAX_LEVEL && (random.nextInt() & 3) == 0) {
+			height++;
+		}
+		return height;
+	}
+
+	/**
+	 * Fill in before/beforeIndex: on each level, the last node whose position is less than index.
+	 *
+	 * A link to null counts as jumping to position size, so every link has a width.
+	 */
+	private void findBefore(int index) {
+		Node<T> x = head;
+		int at = -1;
+		for (int l = levels - 1; l >= 0; l--) {
+			while (x.next[l] != null && at + x.width[l] < index) {
+				at += x.width[l];
+				x = x.next[l];
+			}
+			before[l] = x;
+			beforeIndex[l] = at;
+		}
+	}
+
+	/**
+	 * Find the node at index; O(log n) expected.
+	 */
+	private Node<T> getNode(int index) {
+		if (index < 0 || index >= size) {
+			throw new BadIndexError(index);
+		}
+		if (index == size - 1) {
+			return last;
+		}
+		Node<T> x = head;
+		int at = -1;
+		for (int l = levels - 1; l >= 0; l--) {
+			while (x.next[l] != null && at + x.width[l] <= index) {
+				at += x.width[l];
+				x = x.next[l];
+			}
+			if (at == index) {
+				return x;
+			}
+		}
+		return x;
+	}
+
+	/**
+	 * Link a new node in at index (0 to size, inclusive; already checked).
+	 */
+	private void insertAt(int index, T item) {
+		int height = randomLevels();
+		findBefore(index);
+		if (height > levels) {
+			// new levels start out as one long link from head past the end.
+			for (int l = levels; l < height; l++) {
+				head.next[l] = null;
+				head.width[l] = size + 1;
+				before[l] = head;
+				beforeIndex[l] = -1;
+			}
+			levels = height;
+		}
+		Node<T> added = new Node<T>(item, height);
+		for (int l = 0; l < levels; l++) {
+			Node<T> b = before[l];
+			if (l < height) {
+				// split b's link in two: b to added, and added to wherever b used to go (now one further).
+				added.next[l] = b.next[l];
+				added.width[l] = b.width[l] - (index - beforeIndex[l]) + 1;
+				b.next[l] = added;
+				b.width[l] = index - beforeIndex[l];
+			} else {
+				// b's link jumps over the new item.
+				b.width[l]++;
+			}
+		}
+		if (added.next[0] == null) {
+			last = added;
+		}
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * Unlink the node at index (0 to size, exclusive; already checked).
+	 */
+	private T removeAt(int index) {
+		findBefore(index);
+		Node<T> gone = before[0].next[0];
+		for (int l = 0; l < levels; l++) {
+			Node<T> b = before[l];
+			if (b.next[l] == gone) {
+				b.next[l] = gone.next[l];
+				b.width[l] += gone.width[l] - 1;
+			} else {
+				b.width[l]--;
+			}
+		}
+		if (gone == last) {
+			last = (before[0] == head) ? null : before[0];
+		}
+		// drop levels nobody is using anymore.
+		while (levels > 1 && head.next[levels - 1] == null) {
+			levels--;
+		}
+		size--;
+		modCount++;
+		return gone.value;
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		checkInclusiveIndex(index);
+		insertAt(index, item);
+	}
+
+	@Override
+	public void addFront(T item) {
+		insertAt(0, item);
+	}
+
+	@Override
+	public void addBack(T item) {
+		insertAt(size, item);
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		return removeAt(index);
+	}
+
+	@Override
+	public T removeFront() {
+		checkNotEmpty();
+		return removeAt(0);
+	}
+
+	@Override
+	public T removeBack() {
+		checkNotEmpty();
+		return removeAt(size - 1);
+	}
+
+	/**
+	 * Drop all the nodes at once; the garbage collector will find them.
+	 */
+	@Override
+	public void clear() {
+		for (int l = 0; l < levels; l++) {
+			head.next[l] = null;
+		}
+		resetHead();
+		modCount++;
+	}
+
+	@Override
+	public T getFront() {
+		checkNotEmpty();
+		return head.next[0].value;
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		return last.value;
+	}
+
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		return getNode(index).value;
+	}
+
+	@Override
+	public void setIndex(int index, T value) {
+		checkNotEmpty();
+		getNode(index).value = value;
+	}
+
+	@Override
+	public int size() {
+		if (VERIFY_SIZE) {
+			checkSize(this.size, countNodes());
+		}
+		return this.size;
+	}
+
+	/**
+	 * Count the nodes the slow way, to check up on size.
+	 * @return the number of nodes on level 0.
+	 */
+	private int countNodes() {
+		int count = 0;
+		for (Node<T> n = head.next[0]; n != null; n = n.next[0]) {
+			count++;
+		}
+		return count;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Cursor();
+	}
+
+	/**
+	 * Walk level 0, which is just a singly-linked list.
+	 */
+	private class Cursor extends ListADTIterator<T> {
+		private Node<T> current = head.next[0];
+
+		Cursor() {
+			super(SkipList.this);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return current != null;
+		}
+
+		@Override
+		protected T advance() {
+			T value = current.value;
+			current = current.next[0];
+			return value;
+		}
+	}
+
+	/**
+	 * A node is on levels 0 to next.length-1.
+	 * @param <T> the type of the values stored.
+	 */
+	private static class Node<T> {
+		/**
+		 * What value is stored in this node?
+		 */
+		T value;
+		/**
+		 * next[l] is the node after me on level l.
+		 */
+		final Node<T>[] next;
+		/**
+		 * width[l] is how many positions next[l] is ahead of me.
+		 */
+		final int[] width;
+
+		@SuppressWarnings("unchecked")
+		Node(T value, int levels) {
+			this.value = value;
+			this.next = (Node<T>[]) new Node<?>[levels];
+			this.width = new int[levels];
+		}
+	}
+}
@@ -0,0 +1,503 @@
+package edu.smith.cs.csc212.adtr.real;
+
+import java.util.Iterator;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.ListADTIterator;
+
+/**
+ * A ChunkyArrayList whose chunks are organized as a tree, so every positional operation is O(log n).
+ *
+ * The items live in "leaves": small {@link FixedSizeList}s, linked left to right so iteration just reads
+ * one leaf after another. Above them are "inner" nodes with up to 32 children each, which remember how many
+ * items are under each child. To find item #i, we start at the root, skip children whose counts add up
+ * to less than i, and go down; a million items is only about 4 levels.
+ *
+ * Adding to a full leaf splits it in half (and may split its parent, and so on up); removing from a
+ * leaf that is less than half full merges it with a neighbor if they fit together. This is a B+tree
+ * that counts instead of sorting.
+ *
+ * @author jfoley
+ * @param <T> - the type of item stored in the list.
+ */
+public class TreeList<T> extends ListADT<T> {
+	/**
+	 * The default number of items per leaf: 64 references is 4 cache lines (with compressed pointers).
+	 */
+	public static final int LEAF_SIZE = 64;
+	/**
+	 * The default number of children per inner node.
+	 */
+	public static final int BRANCHES = 32;
+
+	/**
+	 * How many items fit in a leaf.
+	 */
+	private final int leafSize;
+	/**
+	 * How many children fit in an inner node.
+	 */
+	private final int branches;
+	/**
+	 * The top of the tree: a Leaf while the list is small, otherwise an Inner.
+	 */
+	private Node root;
+	/**
+	 * The leftmost leaf, where iteration starts.
+	 */
+	private Leaf<T> first;
+
+	/**
+	 * Make an empty list.
+	 */
+	public TreeList() {
+		this(LEAF_SIZE, BRANCHES);
+	}
+
+	/**
+	 * Make an empty list with a different shape of tree.
+	 * @param leafSize - how many items go in each leaf (at least 2).
+	 * @param branches - how many children each inner node can have (at least 3).
+	 */
+	public TreeList(int leafSize, int branches) {
+		if (leafSize < 2) {
+			throw new IllegalArgumentException("leafSize must be at least 2: "+leafSize);
+		}
+		if (branches < 3) {
+			throw new IllegalArgumentException("branches must be at least 3: "+branches);
+		}
+		this.leafSize = leafSize;
+		this.branches = branches;
+		this.first = new Leaf<>(leafSize);
+		this.root = first;
+	}
+
+	/**
+	 * Add item at index somewhere under node.
+	 * @return a new node to put just after node if it had to split, or null.
+	 */
+	@SuppressWarnings("unchecked")
+	private Node insert(Node node, int index, T item) {
+		if (node instanceof Leaf) {
+			Leaf<T> leaf = (Leaf<T>) node;
+			if (!leaf.items.isFull()) {
+				leaf.items.addIndex(index, item);
+				return null;
+			}
+			Leaf<T> right = splitLeaf(leaf);
+			int leftSize = leaf.items.size();
+			if (index <= leftSize) {
+				leaf.items.addIndex(index, item);
+			} else {
+				right.items.addIndex(index - leftSize, item);
+			}
+			return right;
+		}
+		Inner inner = (Inner) node;
+		// adding right after child c's last item goes at the end of c.
+		int c = 0;
+		while (c < inner.count - 1 && index > inner.counts[c]) {
+			index -= inner.counts[c];
+			c++;
+		}
+		Node split = insert(inner.children[c], index, item);
+		if (split == null) {
+			inner.counts[c]++;
+			inner.size++;
+			return null;
+		}
+		inner.counts[c] = inner.children[c].size();
+		if (inner.count < branches) {
+			insertChild(inner, c+1, split);
+			inner.recount();
+			return null;
+		}
+		// no room for another child: split this node too.
+		return splitInner(inner, c+1, split);
+	}
+
+	/**
+	 * Move the back half of a full leaf into a new leaf, linked in right after it.
+	 */
+	private Leaf<T> splitLeaf(Leaf<T> leaf) {
+		Leaf<T> right = new Leaf<>(leafSize);
+		int half = leaf.items.size() / 2;
+		for (int i=half; i<leaf.items.size(); i++) {
+			right.items.addBack(leaf.items.getUnchecked(i));
+		}
+		leaf.items.removeRange(half, leaf.items.size());
+		right.next = leaf.next;
+		leaf.next = right;
+		return right;
+	}
+
+	/**
+	 * Split a full inner node in two while adding child at position c, so both halves end up at least half full.
+	 * @return the new inner node, to go just after inner.
+	 */
+	private Inner splitInner(Inner inner, int c, Node child) {
+		Inner right = new Inner(branches);
+		// inner keeps the first half of all the children, counting the new one.
+		int keep = (inner.count + 1) / 2;
+		int move = c < keep ? keep - 1 : keep;
+		for (int i=move; i<inner.count; i++) {
+			right.children[right.count] = inner.children[i];
+			right.counts[right.count] = inner.counts[i];
+			right.count++;
+			inner.children[i] = null;
+		}
+		inner.count = move;
+		if (c < keep) {
+			insertChild(inner, c, child);
+		} else {
+			insertChild(right, c - keep, child);
+		}
+		inner.recount();
+		right.recount();
+		return right;
+	}
+
+	/**
+	 * Put child into inner at position c, sliding the others over. The caller recounts.
+	 */
+	private static void insertChild(Inner inner, int c, Node child) {
+		System.arraycopy(inner.children, c, inner.children, c+1, inner.count - c);
+		System.arraycopy(inner.counts, c, inner.counts, c+1, inner.count - c);
+		inner.children[c] = child;
+		inner.counts[c] = child.size();
+		inner.count++;
+	}
+
+	/**
+	 * Take the child at position c out of inner, sliding the others over.
+	 */
+	private static void removeChild(Inner inner, int c) {
+		System.arraycopy(inner.children, c+1, inner.children, c, inner.count - c - 1);
+		System.arraycopy(inner.counts, c+1, inner.counts, c, inner.count - c - 1);
+		inner.count--;
+		inner.children[inner.count] = null;
+	}
+
+	/**
+	 * Remove item #index from somewhere under node.
+	 */
+	@SuppressWarnings("unchecked")
+	private T remove(Node node, int index) {
+		if (node instanceof Leaf) {
+			return ((Leaf<T>) node).items.removeIndex(index);
+		}
+		Inner inner = (Inner) node;
+		int c = 0;
+		while (index >= inner.counts[c]) {
+			index -= inner.counts[c];
+			c++;
+		}
+		T removed = remove(inner.children[c], index);
+		inner.counts[c]--;
+		inner.size--;
+		maybeMerge(inner, c);
+		return removed;
+	}
+
+	/**
+	 * Child c of inner just shrank; if it's less than half full, merge it with a neighbor if they fit together.
+	 * An empty leaf always fits, so it always goes away (unless it is the last leaf of all).
+	 * An inner node that can't merge borrows a child from its neighbor instead, so it never gets down to one child.
+	 */
+	@SuppressWarnings("unchecked")
+	private void maybeMerge(Inner inner, int c) {
+		Node child = inner.children[c];
+		int left = c - 1;
+		if (child instanceof Leaf) {
+			int here = inner.counts[c];
+			if (here >= leafSize / 2) {
+				return;
+			}
+			if (left < 0 || inner.counts[left] + here > leafSize) {
+				left = c;
+			}
+			if (left + 1 >= inner.count || inner.counts[left] + inner.counts[left+1] > leafSize) {
+				return;
+			}
+			Leaf<T> into = (Leaf<T>) inner.children[left];
+			Leaf<T> from = (Leaf<T>) inner.children[left+1];
+			for (int i=0; i<from.items.size(); i++) {
+				into.items.addBack(from.items.getUnchecked(i));
+			}
+			into.next = from.next;
+		} else {
+			if (((Inner) child).count >= (branches + 1) / 2) {
+				return;
+			}
+			if (left < 0) {
+				left = c;
+			}
+			if (left + 1 >= inner.count) {
+				// an only child: only the root has one of those, and removeIndex replaces it.
+				return;
+			}
+			Inner into = (Inner) inner.children[left];
+			Inner from = (Inner) inner.children[left+1];
+			if (into.count + from.count > branches) {
+				// too many to merge: move one child over to the small one.
+				if (from == child) {
+					insertChild(from, 0, into.children[into.count-1]);
+					removeChild(into, into.count-1);
+				} else {
+					insertChild(into, into.count, from.children[0]);
+					removeChild(from, 0);
+				}
+				into.recount();
+				from.recount();
+				inner.counts[left] = into.size;
+				inner.counts[left+1] = from.size;
+				return;
+			}
+			System.arraycopy(from.children, 0, into.children, into.count, from.count);
+			System.arraycopy(from.counts, 0, into.counts, into.count, from.count);
+			into.count += from.count;
+			into.size += from.size;
+		}
+		inner.counts[left] += inner.counts[left+1];
+		removeChild(inner, left+1);
+	}
+
+	@Override
+	public void addIndex(int index, T item) {
+		checkInclusiveIndex(index);
+		Node split = insert(root, index, item);
+		if (split != null) {
+			// the root split: grow a new root on top of the two halves.
+			Inner newRoot = new Inner(branches);
+			insertChild(newRoot, 0, root);
+			insertChild(newRoot, 1, split);
+			newRoot.recount();
+			root = newRoot;
+		}
+		modCount++;
+	}
+
+	@Override
+	public void addFront(T item) {
+		addIndex(0, item);
+	}
+
+	@Override
+	public void addBack(T item) {
+		addIndex(root.size(), item);
+	}
+
+	@Override
+	public T removeIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		T removed = remove(root, index);
+		// the root only has one child left: that child is the new root.
+		while (root instanceof Inner && ((Inner) root).count == 1) {
+			root = ((Inner) root).children[0];
+		}
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public T removeFront() {
+		return removeIndex(0);
+	}
+
+	@Override
+	public T removeBack() {
+		checkNotEmpty();
+		return removeIndex(root.size() - 1);
+	}
+
+	/**
+	 * Drop the whole tree at once; the garbage collector will find it.
+	 */
+	@Override
+	public void clear() {
+		this.first = new Leaf<>(leafSize);
+		this.root = first;
+		modCount++;
+	}
+
+	@Override
+	public T getFront() {
+		checkNotEmpty();
+		return first.items.getFront();
+	}
+
+	@Override
+	public T getBack() {
+		checkNotEmpty();
+		return getIndex(root.size() - 1);
+	}
+
+	/**
+	 * Go down from the root: skip children whose counts add up to less than index, then go into the next one.
+	 * By the time we get to a leaf, index is the position inside it.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T getIndex(int index) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		Node node = root;
+		while (node instanceof Inner) {
+			Inner inner = (Inner) node;
+			int c = 0;
+			while (index >= inner.counts[c]) {
+				index -= inner.counts[c];
+				c++;
+			}
+			node = inner.children[c];
+		}
+		return ((Leaf<T>) node).items.getUnchecked(index);
+	}
+
+	/**
+	 * The same walk as getIndex.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public void setIndex(int index, T value) {
+		checkNotEmpty();
+		checkExclusiveIndex(index);
+		Node node = root;
+		while (node instanceof Inner) {
+			Inner inner = (Inner) node;
+			int c = 0;
+			while (index >= inner.counts[c]) {
+				index -= inner.counts[c];
+				c++;
+			}
+			node = inner.children[c];
+		}
+		((Leaf<T>) node).items.setIndex(index, value);
+	}
+
+	@Override
+	public int size() {
+		if (VERIFY_SIZE) {
+			checkSize(root.size(), countItems());
+		}
+		return root.size();
+	}
+
+	/**
+	 * Count the items the slow way, to check up on the counts in the tree.
+	 * @return the number of items in all the leaves.
+	 */
+	private int countItems() {
+		int count = 0;
+		for (Leaf<T> leaf = first; leaf != null; leaf = leaf.next) {
+			count += leaf.items.size();
+		}
+		return count;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return root.size() == 0;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Cursor();
+	}
+
+	/**
+	 * Read each leaf front to back, then follow next to the one after it.
+	 */
+	private class Cursor extends ListADTIterator<T> {
+		private Leaf<T> leaf = first;
+		private int position = 0;
+
+		Cursor() {
+			super(TreeList.this);
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (leaf != null && position >= leaf.items.size()) {
+				leaf = leaf.next;
+				position = 0;
+			}
+			return leaf != null;
+		}
+
+		@Override
+		protected T advance() {
+			return leaf.items.getUnchecked(position++);
+		}
+	}
+
+	/**
+	 * A leaf or an inner node.
+	 */
+	private static abstract class Node {
+		/**
+		 * @return how many items are under this node.
+		 */
+		abstract int size();
+	}
+
+	/**
+	 * The bottom of the tree, where the items are.
+	 */
+	private static final class Leaf<T> extends Node {
+		final FixedSizeList<T> items;
+		/**
+		 * The leaf to the right of this one, or null.
+		 */
+		Leaf<T> next;
+
+		Leaf(int leafSize) {
+			this.items = new FixedSizeList<>(leafSize);
+		}
+
+		@Override
+		int size() {
+			return items.size();
+		}
+	}
+
+	/**
+	 * A node above the leaves, which knows how many items are under each child.
+	 */
+	private static final class Inner extends Node {
+		final Node[] children;
+		/**
+		 * counts[c] is children[c].size().
+		 */
+		final int[] counts;
+		/**
+		 * How many children are in use.
+		 */
+		int count;
+		/**
+		 * The total of counts.
+		 */
+		int size;
+
+		Inner(int branches) {
+			this.children = new Node[branches];
+			this.counts = new int[branches];
+		}
+
+		@Override
+		int size() {
+			return size;
+		}
+
+		/**
+		 * Add up the counts again, after children moved around.
+		 */
+		void recount() {
+			size = 0;
+			for (int c=0; c<count; c++) {
+				size += counts[c];
+			}
+		}
+	}
+}
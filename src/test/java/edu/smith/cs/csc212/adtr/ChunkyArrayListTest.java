@@ -2,8 +2,15 @@ package edu.smith.cs.csc212.adtr;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -12,6 +19,7 @@ import edu.smith.cs.csc212.adtr.errors.BadIndexError;
 import edu.smith.cs.csc212.adtr.errors.EmptyListError;
 import edu.smith.cs.csc212.adtr.real.ChunkyArrayList;
 import edu.smith.cs.csc212.adtr.real.GrowableList;
+import edu.smith.cs.csc212.adtr.real.JavaList;
 
 
 public class ChunkyArrayListTest {
@@ -365,4 +373,333 @@ public class ChunkyArrayListTest {
 	public void testToJava() {
 		assertEquals(makeABCDList().toJava(), Arrays.asList("a", "b", "c", "d"));
 	}
+	
+	@Test
+	public void testStream() {
+		assertEquals(Arrays.asList("a", "b", "c", "d"), makeABCDList().stream().collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testParallelStream() {
+		ListADT<Integer> items = makeEmptyList();
+		for (int i=0; i<1000; i++) {
+			items.addBack(i);
+		}
+		assertEquals(1000, items.spliterator().estimateSize());
+		assertEquals(999*1000/2, items.parallelStream().mapToInt(x -> x).sum());
+		assertEquals(items.toJava(), items.parallelStream().collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testIteratorEmpty() {
+		ListADT<String> data = makeEmptyList();
+		Iterator<String> it = data.iterator();
+		Assert.assertFalse(it.hasNext());
+		try {
+			it.next();
+			Assert.fail("next() on an empty iterator should crash");
+		} catch (NoSuchElementException expected) {
+			// good.
+		}
+	}
+	
+	@Test(expected=ConcurrentModificationException.class)
+	public void testIteratorFailFast() {
+		ListADT<String> data = makeABCDList();
+		Iterator<String> it = data.iterator();
+		assertEquals("a", it.next());
+		data.removeBack();
+		it.next();
+	}
+	
+	@Test
+	public void testSizeAfterMixedOps() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(42);
+		for (int i=0; i<500; i++) {
+			int choice = rand.nextInt(6);
+			if (expected.isEmpty() || choice < 3) {
+				int where = rand.nextInt(expected.size()+1);
+				data.addIndex(where, i);
+				expected.add(where, i);
+			} else if (choice == 3) {
+				assertEquals(expected.remove(0), data.removeFront());
+			} else if (choice == 4) {
+				assertEquals(expected.remove(expected.size()-1), data.removeBack());
+			} else {
+				int where = rand.nextInt(expected.size());
+				assertEquals(expected.remove(where), data.removeIndex(where));
+			}
+			assertEquals(expected.size(), data.size());
+		}
+		assertEquals(expected, data.toJava());
+	}
+	
+	@Test
+	public void testRandomAccessManyChunks() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(7);
+		for (int i=0; i<300; i++) {
+			int where = rand.nextInt(expected.size()+1);
+			data.addIndex(where, i);
+			expected.add(where, i);
+		}
+		for (int i=0; i<300; i++) {
+			int where = rand.nextInt(expected.size());
+			assertEquals(expected.get(where), data.getIndex(where));
+			data.setIndex(where, -i);
+			expected.set(where, -i);
+		}
+		while (!expected.isEmpty()) {
+			int where = rand.nextInt(expected.size());
+			assertEquals(expected.remove(where), data.removeIndex(where));
+			if (!expected.isEmpty()) {
+				int peek = rand.nextInt(expected.size());
+				assertEquals(expected.get(peek), data.getIndex(peek));
+			}
+		}
+	}
+	
+	@Test
+	public void testMergeUnderfullChunks() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>(8, 0.5);
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(5);
+		for (int i=0; i<400; i++) {
+			int where = rand.nextInt(expected.size()+1);
+			data.addIndex(where, i);
+			expected.add(where, i);
+		}
+		// splitting in half (instead of one item at a time) keeps chunks at least half full.
+		Assert.assertTrue(data.chunkCount() <= 2*400/8);
+		while (expected.size() > 40) {
+			int where = rand.nextInt(expected.size());
+			assertEquals(expected.remove(where), data.removeIndex(where));
+		}
+		assertEquals(expected, data.toJava());
+		// every chunk that's less than half full has a neighbor too full to merge with.
+		Assert.assertTrue(data.chunkCount() <= 2*40/8 + 1);
+	}
+	
+	@Test
+	public void testCompact() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>(4, 0.0);
+		for (int i=0; i<100; i++) {
+			data.addBack(i);
+		}
+		// remove every other item, leaving every chunk half empty.
+		for (int i=0; i<50; i++) {
+			data.removeIndex(i);
+		}
+		assertEquals(25, data.chunkCount());
+		List<Integer> before = data.toJava();
+		data.compact();
+		assertEquals(before, data.toJava());
+		assertEquals((before.size()+3)/4, data.chunkCount());
+		data.addIndex(1, -1);
+		before.add(1, -1);
+		assertEquals(before, data.toJava());
+	}
+	
+	@Test
+	public void testChunkFills() {
+		ChunkyArrayList<Integer> data = new ChunkyArrayList<>(4, 0.0);
+		for (int i=0; i<10; i++) {
+			data.addBack(i);
+		}
+		assertEquals(Arrays.toString(new int[] {4, 4, 2}), Arrays.toString(data.chunkFills()));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testBadMinFill() {
+		new ChunkyArrayList<Integer>(4, 0.75);
+	}
+	
+	@Test
+	public void testClear() {
+		ListADT<String> data = makeABCDList();
+		data.clear();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+		data.addBack("e");
+		Assert.assertEquals(Arrays.asList("e"), data.toJava());
+	}
+	
+	@Test
+	public void testAddAll() {
+		ListADT<String> data = makeABCDList();
+		data.addAll(2, new String[] {"x", "y"});
+		assertEquals(Arrays.asList("a", "b", "x", "y", "c", "d"), data.toJava());
+		data.addAll(0, Arrays.asList("1", "2"));
+		data.addAllBack(makeABCDList());
+		data.addAll(data.size(), new String[0]);
+		assertEquals(Arrays.asList("1", "2", "a", "b", "x", "y", "c", "d", "a", "b", "c", "d"), data.toJava());
+		assertEquals(12, data.size());
+	}
+	
+	@Test
+	public void testAddAllSelf() {
+		ListADT<String> data = makeABCDList();
+		data.addAll(1, data);
+		assertEquals(Arrays.asList("a", "a", "b", "c", "d", "b", "c", "d"), data.toJava());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddAllHigh() {
+		ListADT<String> data = makeABCDList();
+		data.addAll(data.size()+1, new String[] {"x"});
+	}
+	
+	@Test
+	public void testAddAllMany() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(11);
+		for (int round=0; round<30; round++) {
+			List<Integer> batch = new ArrayList<>();
+			int count = rand.nextInt(20);
+			for (int i=0; i<count; i++) {
+				batch.add(round*100 + i);
+			}
+			int where = rand.nextInt(expected.size()+1);
+			data.addAll(where, batch);
+			expected.addAll(where, batch);
+			assertEquals(expected.size(), data.size());
+		}
+		assertEquals(expected, data.toJava());
+		assertEquals(expected, Arrays.asList(data.toArray()));
+	}
+	
+	@Test
+	public void testRemoveRange() {
+		ListADT<String> data = makeABCDList();
+		data.removeRange(1, 3);
+		assertEquals(Arrays.asList("a", "d"), data.toJava());
+		data.removeRange(2, 2);
+		data.removeRange(0, 2);
+		assertEquals(0, data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testRemoveRangeBackwards() {
+		makeABCDList().removeRange(3, 1);
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testRemoveRangeHigh() {
+		makeABCDList().removeRange(1, 5);
+	}
+	
+	@Test
+	public void testRemoveRangeMany() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<400; i++) {
+			data.addBack(i);
+			expected.add(i);
+		}
+		Random rand = new Random(3);
+		while (!expected.isEmpty()) {
+			int from = rand.nextInt(expected.size());
+			int to = from + rand.nextInt(Math.min(40, expected.size() - from) + 1);
+			data.removeRange(from, to);
+			expected.subList(from, to).clear();
+			assertEquals(expected.size(), data.size());
+			if (!expected.isEmpty()) {
+				assertEquals(expected.get(expected.size()/2), data.getIndex(expected.size()/2));
+			}
+		}
+		assertEquals(expected, data.toJava());
+	}
+	
+	@Test
+	public void testRemoveIf() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<200; i++) {
+			data.addBack(i);
+			expected.add(i);
+		}
+		Assert.assertFalse(data.removeIf(x -> x < 0));
+		Assert.assertTrue(data.removeIf(x -> x % 3 != 1 || x < 10 || (x > 50 && x < 120)));
+		expected.removeIf(x -> x % 3 != 1 || x < 10 || (x > 50 && x < 120));
+		assertEquals(expected, data.toJava());
+		assertEquals(expected.size(), data.size());
+		data.addFront(-1);
+		data.addBack(-2);
+		Assert.assertTrue(data.removeIf(x -> true));
+		Assert.assertTrue(data.isEmpty());
+	}
+	
+	@Test
+	public void testRetainAll() {
+		ListADT<String> data = makeABCDList();
+		Assert.assertTrue(data.retainAll(new HashSet<>(Arrays.asList("d", "b", "z"))));
+		assertEquals(Arrays.asList("b", "d"), data.toJava());
+	}
+	
+	@Test
+	public void testEqualsAndHashCode() {
+		ListADT<String> data = makeABCDList();
+		ListADT<String> same = new JavaList<>(Arrays.asList("a", "b", "c", "d"));
+		Assert.assertEquals(data, same);
+		Assert.assertEquals(same, data);
+		Assert.assertEquals(data, Arrays.asList("a", "b", "c", "d"));
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d").hashCode(), data.hashCode());
+		Assert.assertEquals(same.hashCode(), data.hashCode());
+		Assert.assertNotEquals(data, "abcd");
+		Assert.assertNotEquals(data, Arrays.asList("a", "b", "c"));
+		data.setIndex(2, null);
+		Assert.assertNotEquals(data, same);
+		same.setIndex(2, null);
+		Assert.assertEquals(data, same);
+		Assert.assertEquals(same.hashCode(), data.hashCode());
+	}
+	
+	@Test
+	public void testRemoveIfCrashes() {
+		ListADT<String> data = new ChunkyArrayList<>(2);
+		data.addBack("a");
+		data.addBack("b");
+		data.addBack("c");
+		data.addBack("d");
+		try {
+			data.removeIf(x -> {
+				if (x.equals("b")) {
+					throw new IllegalStateException("crash");
+				}
+				return x.equals("a");
+			});
+			Assert.fail("filter should have crashed");
+		} catch (IllegalStateException expected) {
+			// "a" was already gone when filter crashed; the list should still make sense.
+		}
+		assertEquals(Arrays.asList("b", "c", "d"), data.toJava());
+		assertEquals(3, data.size());
+		for (int i=0; i<3; i++) {
+			assertEquals(data.toJava().get(i), data.getIndex(i));
+		}
+		
+		// a crash in the very first chunk, after it emptied itself, must not leave an empty chunk behind.
+		data = new ChunkyArrayList<>(2);
+		data.addBack("a");
+		data.addBack("b");
+		data.addBack("c");
+		try {
+			data.removeIf(x -> {
+				if (x.equals("c")) {
+					throw new IllegalStateException("crash");
+				}
+				return true;
+			});
+			Assert.fail("filter should have crashed");
+		} catch (IllegalStateException expected) {
+			// "a" and "b" were already gone.
+		}
+		assertEquals(Arrays.asList("c"), data.toJava());
+		assertEquals("c", data.getFront());
+		assertEquals(false, data.isEmpty());
+	}
 }
@@ -1,11 +1,19 @@
 package edu.smith.cs.csc212.adtr;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
 import org.junit.Test;
 
 import edu.smith.cs.csc212.adtr.errors.BadIndexError;
 import edu.smith.cs.csc212.adtr.errors.EmptyListError;
 import edu.smith.cs.csc212.adtr.errors.RanOutOfSpaceError;
 import edu.smith.cs.csc212.adtr.real.FixedSizeList;
+import edu.smith.cs.csc212.adtr.real.JavaList;
 
 import static org.junit.Assert.assertEquals;
 
@@ -239,5 +247,135 @@ public class FixedSizeListTest {
 		ListADT<String> data = makeFullList();
 		data.getIndex(data.size()*2);
 	}
-
+	
+	@Test
+	public void testStream() {
+		assertEquals(Arrays.asList("a", "b", "c", "d"), makeFullList().stream().collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testParallelStream() {
+		ListADT<Integer> items = new FixedSizeList<>(1000);
+		for (int i=0; i<1000; i++) {
+			items.addBack(i);
+		}
+		assertEquals(1000, items.spliterator().estimateSize());
+		assertEquals(999*1000/2, items.parallelStream().mapToInt(x -> x).sum());
+		assertEquals(items.toJava(), items.parallelStream().collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testIteratorEmpty() {
+		ListADT<String> data = new FixedSizeList<>(4);
+		Iterator<String> it = data.iterator();
+		Assert.assertFalse(it.hasNext());
+		try {
+			it.next();
+			Assert.fail("next() on an empty iterator should crash");
+		} catch (NoSuchElementException expected) {
+			// good.
+		}
+	}
+	
+	@Test(expected=ConcurrentModificationException.class)
+	public void testIteratorFailFast() {
+		ListADT<String> data = makeFullList();
+		Iterator<String> it = data.iterator();
+		assertEquals("a", it.next());
+		data.removeBack();
+		it.next();
+	}
+	
+	@Test
+	public void testClear() {
+		ListADT<String> data = makeFullList();
+		data.clear();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+		data.addBack("e");
+		Assert.assertEquals(Arrays.asList("e"), data.toJava());
+	}
+	
+	@Test
+	public void testAddAll() {
+		ListADT<String> data = new FixedSizeList<>(6);
+		data.addAllBack(new String[] {"a", "d"});
+		data.addAll(1, Arrays.asList("b", "c"));
+		assertEquals(Arrays.asList("a", "b", "c", "d"), data.toJava());
+		data.addAll(0, data.toJava().subList(0, 2));
+		assertEquals(Arrays.asList("a", "b", "a", "b", "c", "d"), data.toJava());
+	}
+	
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddAllFull() {
+		ListADT<String> data = makeFullList();
+		data.removeBack();
+		data.addAll(1, new String[] {"x", "y"});
+	}
+	
+	@Test
+	public void testRemoveRange() {
+		ListADT<String> data = makeFullList();
+		data.removeRange(1, 3);
+		assertEquals(Arrays.asList("a", "d"), data.toJava());
+		data.addBack("e");
+		data.addBack("f");
+		data.removeRange(0, 4);
+		assertEquals(0, data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testRemoveRangeBackwards() {
+		makeFullList().removeRange(3, 1);
+	}
+	
+	@Test
+	public void testRemoveIf() {
+		ListADT<String> data = makeFullList();
+		Assert.assertFalse(data.removeIf(x -> x.equals("z")));
+		Assert.assertTrue(data.removeIf(x -> x.equals("a") || x.equals("c")));
+		assertEquals(Arrays.asList("b", "d"), data.toJava());
+		data.addBack("e");
+		data.addBack("f");
+		Assert.assertTrue(data.retainAll(new HashSet<>(Arrays.asList("f", "b"))));
+		assertEquals(Arrays.asList("b", "f"), data.toJava());
+	}
+	
+	@Test
+	public void testEqualsAndHashCode() {
+		ListADT<String> data = makeFullList();
+		ListADT<String> same = new JavaList<>(Arrays.asList("a", "b", "c", "d"));
+		Assert.assertEquals(data, same);
+		Assert.assertEquals(same, data);
+		Assert.assertEquals(data, Arrays.asList("a", "b", "c", "d"));
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d").hashCode(), data.hashCode());
+		Assert.assertEquals(same.hashCode(), data.hashCode());
+		Assert.assertNotEquals(data, "abcd");
+		Assert.assertNotEquals(data, Arrays.asList("a", "b", "c"));
+		data.setIndex(2, null);
+		Assert.assertNotEquals(data, same);
+		same.setIndex(2, null);
+		Assert.assertEquals(data, same);
+		Assert.assertEquals(same.hashCode(), data.hashCode());
+	}
+	
+	@Test
+	public void testRemoveIfCrashes() {
+		ListADT<String> data = makeFullList();
+		try {
+			data.removeIf(x -> {
+				if (x.equals("b")) {
+					throw new IllegalStateException("crash");
+				}
+				return x.equals("a");
+			});
+			Assert.fail("filter should have crashed");
+		} catch (IllegalStateException expected) {
+			// "a" was already gone when filter crashed; the list should still make sense.
+		}
+		assertEquals(Arrays.asList("b", "c", "d"), data.toJava());
+		assertEquals(3, data.size());
+		data.addBack("e");
+		assertEquals(Arrays.asList("b", "c", "d", "e"), data.toJava());
+	}
 }
@@ -0,0 +1,793 @@
+package edu.smith.cs.csc212.adtr;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.smith.cs.csc212.adtr.errors.BadIndexError;
+import edu.smith.cs.csc212.adtr.errors.EmptyListError;
+import edu.smith.cs.csc212.adtr.real.GrowableList;
+import edu.smith.cs.csc212.adtr.real.IndexLinkedList;
+import edu.smith.cs.csc212.adtr.real.JavaList;
+
+
+public class IndexLinkedListTest {
+	
+	/**
+	 * Make a new empty list.
+	 * @return an empty list to be tested.
+	 */
+	private <T> ListADT<T> makeEmptyList() {
+		return new IndexLinkedList<>();
+	}
+	
+	/**
+	 * Helper method to make a full list.
+	 * @return [a, b, c, d] - a small, predictable list for many tests.
+	 */
+	private ListADT<String> makeABCDList() {
+		ListADT<String> data = makeEmptyList();
+		data.addBack("a");
+		data.addBack("b");
+		data.addBack("c");
+		data.addBack("d");
+		return data;
+	}
+		
+	@Test
+	public void testEmpty() {
+		ListADT<String> data = makeEmptyList();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() {
+		ListADT<String> data = makeEmptyList();
+		data.removeFront();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveBackCrash() {
+		ListADT<String> data = makeEmptyList();
+		data.removeBack();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveIndexCrash() {
+		ListADT<String> data = makeEmptyList();
+		data.removeIndex(3);
+	}
+
+	@Test
+	public void testAddToFront() {
+		ListADT<String> data = makeEmptyList();
+		Assert.assertEquals(true, data.isEmpty());
+		data.addFront("1");
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("1", data.getIndex(0));
+		Assert.assertEquals(false, data.isEmpty());
+		data.addFront("0");
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("0", data.getIndex(0));
+		Assert.assertEquals("1", data.getIndex(1));
+		Assert.assertEquals(false, data.isEmpty());
+		data.addFront("-1");
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("-1", data.getIndex(0));
+		Assert.assertEquals("0", data.getIndex(1));
+		Assert.assertEquals("1", data.getIndex(2));
+		Assert.assertEquals(false, data.isEmpty());
+		data.addFront("-2");
+		Assert.assertEquals("-1", data.getIndex(1));
+		Assert.assertEquals("-2", data.getIndex(0));
+		Assert.assertEquals("0", data.getIndex(2));
+		Assert.assertEquals("1", data.getIndex(3));
+		Assert.assertEquals(false, data.isEmpty());
+	}
+	
+	@Test
+	public void testAddToBack() {
+		ListADT<String> data = makeEmptyList();
+		data.addBack("1");
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("1", data.getIndex(0));
+		data.addBack("0");
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("0", data.getIndex(1));
+		Assert.assertEquals("1", data.getIndex(0));
+		data.addBack("-1");
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("-1", data.getIndex(2));
+		Assert.assertEquals("0", data.getIndex(1));
+		Assert.assertEquals("1", data.getIndex(0));
+		data.addBack("-2");
+		Assert.assertEquals("-2", data.getIndex(3));
+		Assert.assertEquals("-1", data.getIndex(2));
+		Assert.assertEquals("0", data.getIndex(1));
+		Assert.assertEquals("1", data.getIndex(0));
+	}
+	
+	@Test
+	public void testAddBackFull() {
+		ListADT<Integer> items = makeEmptyList();
+		for (int i=0; i<GrowableList.START_SIZE*5; i++) {
+			items.addBack((i+1)*3);
+			Assert.assertEquals(i+1, items.size());
+			Assert.assertEquals((i+1)*3, (int) items.getBack()); 
+		}
+		for (int i=0; i<GrowableList.START_SIZE*5; i++) {
+			Assert.assertEquals((i+1)*3, (int) items.getIndex(i)); 
+		}
+	}
+	
+	@Test
+	public void testAddFrontFull() {
+		ListADT<Integer> items1 = makeEmptyList();
+		for (int i=0; i<GrowableList.START_SIZE*5; i++) {
+			items1.addBack((i+1)*3);
+			Assert.assertEquals(i+1, items1.size());
+			Assert.assertEquals((i+1)*3, (int) items1.getBack()); 
+		}
+		ListADT<Integer> items2 = makeEmptyList();
+		while(!items1.isEmpty()) {
+			items2.addFront(items1.removeBack());
+		}
+		for (int i=0; i<GrowableList.START_SIZE*5; i++) {
+			Assert.assertEquals((i+1)*3, (int) items2.getIndex(i)); 
+		}
+	}
+	
+	private void insertSorted(ListADT<Integer> items, int num) {
+		for (int i=0; i<items.size(); i++) {
+			if (items.getIndex(i) >= num) {
+				items.addIndex(i, num);
+				return;
+			}
+		}
+		items.addBack(num);
+	}
+	
+	@Test
+	public void testAddIndexMany() {
+		ListADT<Integer> items1 = makeEmptyList();
+		for (int i=0; i<GrowableList.START_SIZE*5; i++) {
+			items1.addBack((i+1)*3);
+			Assert.assertEquals(i+1, items1.size());
+			Assert.assertEquals((i+1)*3, (int) items1.getBack()); 
+		}
+		
+		Random rand = new Random(13);
+		ListADT<Integer> items2 = makeEmptyList();
+		
+		// If this test runs forever, make sure removeIndex actually removes things.
+		while(!items1.isEmpty()) {
+			int value = items1.removeIndex(rand.nextInt(items1.size()));
+			insertSorted(items2, value);
+		}
+		
+		for (int i=0; i<GrowableList.START_SIZE*5; i++) {
+			Assert.assertEquals((i+1)*3, (int) items2.getIndex(i)); 
+		}
+	}
+	
+	@Test
+	public void testRemoveFront() {
+		ListADT<String> data = makeABCDList();
+		Assert.assertEquals(4, data.size());
+		Assert.assertEquals("a", data.removeFront());
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("b", data.removeFront());
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("c", data.removeFront());
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("d", data.removeFront());
+		Assert.assertEquals(0, data.size());
+	}
+	
+	@Test
+	public void testRemoveBack() {
+		ListADT<String> data = makeABCDList();
+		Assert.assertEquals(4, data.size());
+		Assert.assertEquals("d", data.removeBack());
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("c", data.removeBack());
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("b", data.removeBack());
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("a", data.removeBack());
+		Assert.assertEquals(0, data.size());
+	}
+	
+	@Test
+	public void testRemoveIndex() {
+		ListADT<String> data = makeABCDList();
+		Assert.assertEquals(4, data.size());
+		Assert.assertEquals("c", data.removeIndex(2));
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("d", data.removeIndex(2));
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("b", data.removeIndex(1));
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("a", data.removeIndex(0));
+		Assert.assertEquals(0, data.size());
+	}
+	
+	@Test
+	public void testAddIndexFront() {
+		ListADT<String> data = makeEmptyList();
+		data.addBack("A");
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("A", data.getFront());
+		data.addIndex(0, "B");
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("B", data.getFront());
+		Assert.assertEquals("A", data.getBack());
+	}
+	
+	@Test
+	public void testAddIndexBack() {
+		ListADT<String> data = makeEmptyList();
+		data.addBack("A");
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("A", data.getFront());
+		data.addIndex(1, "B");
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("A", data.getFront());
+		Assert.assertEquals("B", data.getBack());
+	}
+	
+	@Test
+	public void testAddIndexCenter() {
+		ListADT<String> data = makeEmptyList();
+		data.addBack("A");
+		data.addBack("C");
+		data.addBack("D");
+		data.addBack("E");
+		Assert.assertEquals(4, data.size());
+		
+		data.addIndex(1, "B");
+		Assert.assertEquals(5, data.size());
+		Assert.assertEquals("B", data.getIndex(1));
+	}
+	
+	@Test
+	public void testGetFront() {
+		ListADT<String> data = makeABCDList();
+		assertEquals("a", data.getFront());
+	}
+	
+	@Test
+	public void testGetBack() {
+		ListADT<String> data = makeABCDList();
+		assertEquals("d", data.getBack());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetFrontCrash() {
+		ListADT<String> data = makeEmptyList();
+		data.getFront();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetBackCrash() {
+		ListADT<String> data = makeEmptyList();
+		data.getBack();
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexLow() {
+		ListADT<String> data = makeABCDList();
+		data.getIndex(-2);
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		ListADT<String> data = makeABCDList();
+		data.getIndex(data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHighEasy() {
+		ListADT<String> data = makeABCDList();
+		data.getIndex(data.size()*2);
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexHighEasy() {
+		ListADT<String> data = makeABCDList();
+		data.addIndex(data.size()*2, "the");
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexHigh() {
+		ListADT<String> data = makeABCDList();
+		data.addIndex(data.size()+1, "the");
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexLow() {
+		ListADT<String> data = makeABCDList();
+		data.addIndex(-1, "the");
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testSetIndexHighEasy() {
+		ListADT<String> data = makeABCDList();
+		data.setIndex(data.size()*2, "the");
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testSetIndexHigh() {
+		ListADT<String> data = makeABCDList();
+		data.setIndex(data.size(), "the");
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testSetIndexLow() {
+		ListADT<String> data = makeABCDList();
+		data.setIndex(-1, "the");
+	}
+	
+	@Test
+	public void testSetIndexEasy() {
+		ListADT<String> data = makeABCDList();
+		data.setIndex(0, "z");
+		assertEquals("z", data.getIndex(0));
+		assertEquals("b", data.getIndex(1));
+		assertEquals("c", data.getIndex(2));
+		assertEquals("d", data.getIndex(3));
+
+		data.setIndex(1, "y");
+		assertEquals("z", data.getIndex(0));
+		assertEquals("y", data.getIndex(1));
+		assertEquals("c", data.getIndex(2));
+		assertEquals("d", data.getIndex(3));
+		
+		data.setIndex(2, "x");
+		assertEquals("z", data.getIndex(0));
+		assertEquals("y", data.getIndex(1));
+		assertEquals("x", data.getIndex(2));
+		assertEquals("d", data.getIndex(3));
+		
+		data.setIndex(3, "w");
+		assertEquals("z", data.getIndex(0));
+		assertEquals("y", data.getIndex(1));
+		assertEquals("x", data.getIndex(2));
+		assertEquals("w", data.getIndex(3));
+	}
+
+	
+	@Test
+	public void testToJava() {
+		assertEquals(makeABCDList().toJava(), Arrays.asList("a", "b", "c", "d"));
+	}
+	
+	@Test
+	public void testStream() {
+		assertEquals(Arrays.asList("a", "b", "c", "d"), makeABCDList().stream().collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testParallelStream() {
+		ListADT<Integer> items = makeEmptyList();
+		for (int i=0; i<1000; i++) {
+			items.addBack(i);
+		}
+		assertEquals(1000, items.spliterator().estimateSize());
+		assertEquals(999*1000/2, items.parallelStream().mapToInt(x -> x).sum());
+		assertEquals(items.toJava(), items.parallelStream().collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testIteratorEmpty() {
+		ListADT<String> data = makeEmptyList();
+		Iterator<String> it = data.iterator();
+		Assert.assertFalse(it.hasNext());
+		try {
+			it.next();
+			Assert.fail("next() on an empty iterator should crash");
+		} catch (NoSuchElementException expected) {
+			// good.
+		}
+	}
+	
+	@Test(expected=ConcurrentModificationException.class)
+	public void testIteratorFailFast() {
+		ListADT<String> data = makeABCDList();
+		Iterator<String> it = data.iterator();
+		assertEquals("a", it.next());
+		data.removeBack();
+		it.next();
+	}
+	
+	@Test
+	public void testSizeAfterMixedOps() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(42);
+		for (int i=0; i<500; i++) {
+			int choice = rand.nextInt(6);
+			if (expected.isEmpty() || choice < 3) {
+				int where = rand.nextInt(expected.size()+1);
+				data.addIndex(where, i);
+				expected.add(where, i);
+			} else if (choice == 3) {
+				assertEquals(expected.remove(0), data.removeFront());
+			} else if (choice == 4) {
+				assertEquals(expected.remove(expected.size()-1), data.removeBack());
+			} else {
+				int where = rand.nextInt(expected.size());
+				assertEquals(expected.remove(where), data.removeIndex(where));
+			}
+			assertEquals(expected.size(), data.size());
+		}
+		assertEquals(expected, data.toJava());
+	}
+	
+	@Test
+	public void testClear() {
+		ListADT<String> data = makeABCDList();
+		data.clear();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+		data.addBack("e");
+		Assert.assertEquals(Arrays.asList("e"), data.toJava());
+	}
+	
+	@Test
+	public void testAddAll() {
+		ListADT<String> data = makeABCDList();
+		data.addAll(2, new String[] {"x", "y"});
+		assertEquals(Arrays.asList("a", "b", "x", "y", "c", "d"), data.toJava());
+		data.addAll(0, Arrays.asList("1", "2"));
+		data.addAllBack(makeABCDList());
+		data.addAll(data.size(), new String[0]);
+		assertEquals(Arrays.asList("1", "2", "a", "b", "x", "y", "c", "d", "a", "b", "c", "d"), data.toJava());
+		assertEquals(12, data.size());
+	}
+	
+	@Test
+	public void testAddAllSelf() {
+		ListADT<String> data = makeABCDList();
+		data.addAll(1, data);
+		assertEquals(Arrays.asList("a", "a", "b", "c", "d", "b", "c", "d"), data.toJava());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddAllHigh() {
+		ListADT<String> data = makeABCDList();
+		data.addAll(data.size()+1, new String[] {"x"});
+	}
+	
+	@Test
+	public void testAddAllMany() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(11);
+		for (int round=0; round<30; round++) {
+			List<Integer> batch = new ArrayList<>();
+			int count = rand.nextInt(20);
+			for (int i=0; i<count; i++) {
+				batch.add(round*100 + i);
+			}
+			int where = rand.nextInt(expected.size()+1);
+			data.addAll(where, batch);
+			expected.addAll(where, batch);
+			assertEquals(expected.size(), data.size());
+		}
+		assertEquals(expected, data.toJava());
+		assertEquals(expected, Arrays.asList(data.toArray()));
+	}
+	
+	@Test
+	public void testRemoveRange() {
+		ListADT<String> data = makeABCDList();
+		data.removeRange(1, 3);
+		assertEquals(Arrays.asList("a", "d"), data.toJava());
+		data.removeRange(2, 2);
+		data.removeRange(0, 2);
+		assertEquals(0, data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testRemoveRangeBackwards() {
+		makeABCDList().removeRange(3, 1);
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testRemoveRangeHigh() {
+		makeABCDList().removeRange(1, 5);
+	}
+	
+	@Test
+	public void testRemoveRangeMany() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<400; i++) {
+			data.addBack(i);
+			expected.add(i);
+		}
+		Random rand = new Random(3);
+		while (!expected.isEmpty()) {
+			int from = rand.nextInt(expected.size());
+			int to = from + rand.nextInt(Math.min(40, expected.size() - from) + 1);
+			data.removeRange(from, to);
+			expected.subList(from, to).clear();
+			assertEquals(expected.size(), data.size());
+			if (!expected.isEmpty()) {
+				assertEquals(expected.get(expected.size()/2), data.getIndex(expected.size()/2));
+			}
+		}
+		assertEquals(expected, data.toJava());
+	}
+	
+	@Test
+	public void testRemoveIf() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<200; i++) {
+			data.addBack(i);
+			expected.add(i);
+		}
+		Assert.assertFalse(data.removeIf(x -> x < 0));
+		Assert.assertTrue(data.removeIf(x -> x % 3 != 1 || x < 10 || (x > 50 && x < 120)));
+		expected.removeIf(x -> x % 3 != 1 || x < 10 || (x > 50 && x < 120));
+		assertEquals(expected, data.toJava());
+		assertEquals(expected.size(), data.size());
+		data.addFront(-1);
+		data.addBack(-2);
+		Assert.assertTrue(data.removeIf(x -> true));
+		Assert.assertTrue(data.isEmpty());
+	}
+	
+	@Test
+	public void testRetainAll() {
+		ListADT<String> data = makeABCDList();
+		Assert.assertTrue(data.retainAll(new HashSet<>(Arrays.asList("d", "b", "z"))));
+		assertEquals(Arrays.asList("b", "d"), data.toJava());
+	}
+	
+	@Test
+	public void testEqualsAndHashCode() {
+		ListADT<String> data = makeABCDList();
+		ListADT<String> same = new JavaList<>(Arrays.asList("a", "b", "c", "d"));
+		Assert.assertEquals(data, same);
+		Assert.assertEquals(same, data);
+		Assert.assertEquals(data, Arrays.asList("a", "b", "c", "d"));
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d").hashCode(), data.hashCode());
+		Assert.assertEquals(same.hashCode(), data.hashCode());
+		Assert.assertNotEquals(data, "abcd");
+		Assert.assertNotEquals(data, Arrays.asList("a", "b", "c"));
+		data.setIndex(2, null);
+		Assert.assertNotEquals(data, same);
+		same.setIndex(2, null);
+		Assert.assertEquals(data, same);
+		Assert.assertEquals(same.hashCode(), data.hashCode());
+	}
+	@Test
+	public void testGetIndexLoop() {
+		ListADT<Integer> data = makeEmptyList();
+		for (int i=0; i<1000; i++) {
+			data.addBack(i);
+		}
+		// forwards, backwards, and hopping around: every walk starts from a different place.
+		for (int i=0; i<1000; i++) {
+			assertEquals(i, (int) data.getIndex(i));
+		}
+		for (int i=999; i>=0; i--) {
+			assertEquals(i, (int) data.getIndex(i));
+		}
+		for (int i=0; i<1000; i+=37) {
+			assertEquals(999-i, (int) data.getIndex(999-i));
+			assertEquals(i, (int) data.getIndex(i));
+		}
+	}
+	
+	@Test
+	public void testFingerAfterChanges() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<100; i++) {
+			data.addBack(i);
+			expected.add(i);
+		}
+		// walk to the middle, then change things right there and on either end.
+		assertEquals(50, (int) data.getIndex(50));
+		data.addIndex(50, -1);
+		expected.add(50, -1);
+		assertEquals(-1, (int) data.getIndex(50));
+		assertEquals(50, (int) data.removeIndex(51));
+		expected.remove(51);
+		assertEquals(51, (int) data.getIndex(51));
+		data.removeFront();
+		expected.remove(0);
+		data.addFront(-2);
+		expected.add(0, -2);
+		data.removeIndex(data.size()-1);
+		expected.remove(expected.size()-1);
+		data.setIndex(49, -3);
+		expected.set(49, -3);
+		data.removeRange(10, 20);
+		expected.subList(10, 20).clear();
+		for (int i=0; i<expected.size(); i++) {
+			assertEquals(expected.get(i), data.getIndex(i));
+		}
+		assertEquals(expected, data.toJava());
+	}
+	
+	@Test
+	public void testRandomPositions() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(7);
+		for (int i=0; i<3000; i++) {
+			int choice = rand.nextInt(8);
+			// mostly stay near the last index, like real code walking a list.
+			int near = expected.isEmpty() ? 0 : Math.min(expected.size()-1, Math.max(0, (i * 7) % expected.size() + rand.nextInt(5) - 2));
+			if (expected.isEmpty() || choice < 3) {
+				data.addIndex(near, i);
+				expected.add(near, i);
+			} else if (choice < 5) {
+				assertEquals(expected.remove(near), data.removeIndex(near));
+			} else if (choice < 6) {
+				data.setIndex(near, -i);
+				expected.set(near, -i);
+			} else {
+				assertEquals(expected.get(near), data.getIndex(near));
+			}
+		}
+		assertEquals(expected, data.toJava());
+	}
+	@Test
+	public void testFreeSlotsReused() {
+		IndexLinkedList<Integer> data = new IndexLinkedList<>(16);
+		for (int i=0; i<16; i++) {
+			data.addBack(i);
+		}
+		for (int round=0; round<100; round++) {
+			data.removeIndex(round % 16);
+			data.addIndex((round * 7) % 16, -round);
+		}
+		// every add took the slot the remove before it gave back.
+		assertEquals(16, data.capacity());
+		assertEquals(16, data.size());
+	}
+	
+	@Test
+	public void testDefragment() {
+		IndexLinkedList<Integer> data = new IndexLinkedList<>();
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<200; i++) {
+			data.addFront(i);
+			expected.add(0, i);
+			if (i % 3 == 0) {
+				data.removeIndex(data.size() / 2);
+				expected.remove(expected.size() / 2);
+			}
+		}
+		data.defragment();
+		assertEquals(expected, data.toJava());
+		for (int i=0; i<expected.size(); i++) {
+			assertEquals(expected.get(i), data.getIndex(i));
+		}
+		// adding and removing at the back keeps it in order.
+		data.addBack(-1);
+		data.addAllBack(Arrays.asList(-2, -3));
+		data.removeBack();
+		expected.add(-1);
+		expected.add(-2);
+		for (int i=0; i<expected.size(); i++) {
+			assertEquals(expected.get(i), data.getIndex(i));
+		}
+		// and a change at the front doesn't fool getIndex.
+		data.removeFront();
+		expected.remove(0);
+		data.setIndex(5, 555);
+		expected.set(5, 555);
+		for (int i=0; i<expected.size(); i++) {
+			assertEquals(expected.get(i), data.getIndex(i));
+		}
+		data.defragment();
+		data.defragment();
+		assertEquals(expected, data.toJava());
+	}
+	
+	@Test
+	public void testDefragmentEmpty() {
+		IndexLinkedList<String> data = new IndexLinkedList<>(0);
+		data.defragment();
+		assertEquals(0, data.size());
+		data.addBack("a");
+		data.addFront("b");
+		data.removeBack();
+		data.removeBack();
+		data.defragment();
+		data.addBack("c");
+		assertEquals(Arrays.asList("c"), data.toJava());
+	}
+	
+	@Test(expected=ConcurrentModificationException.class)
+	public void testDefragmentFailsIterators() {
+		IndexLinkedList<String> data = new IndexLinkedList<>();
+		data.addBack("b");
+		data.addFront("a");
+		Iterator<String> it = data.iterator();
+		it.next();
+		data.defragment();
+		it.next();
+	}
+	
+	@Test
+	public void testRandomWithDefragment() {
+		IndexLinkedList<Integer> data = new IndexLinkedList<>();
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(23);
+		for (int i=0; i<5000; i++) {
+			int choice = rand.nextInt(12);
+			if (expected.isEmpty() || choice < 4) {
+				int where = rand.nextInt(expected.size()+1);
+				data.addIndex(where, i);
+				expected.add(where, i);
+			} else if (choice < 5) {
+				data.addBack(i);
+				expected.add(i);
+			} else if (choice < 7) {
+				int where = rand.nextInt(expected.size());
+				assertEquals(expected.remove(where), data.removeIndex(where));
+			} else if (choice < 8) {
+				assertEquals(expected.remove(expected.size()-1), data.removeBack());
+			} else if (choice < 9) {
+				int from = rand.nextInt(expected.size()+1);
+				int to = from + rand.nextInt(expected.size() - from + 1);
+				data.removeRange(from, to);
+				expected.subList(from, to).clear();
+			} else if (choice < 10) {
+				data.defragment();
+			} else {
+				int where = rand.nextInt(expected.size());
+				assertEquals(expected.get(where), data.getIndex(where));
+			}
+		}
+		assertEquals(expected, data.toJava());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNegativeCapacity() {
+		new IndexLinkedList<String>(-1);
+	}
+	
+	@Test
+	public void testRemoveIfCrashes() {
+		ListADT<Integer> data = makeEmptyList();
+		for (int i=0; i<6; i++) {
+			data.addBack(i);
+		}
+		try {
+			data.removeIf(x -> {
+				if (x == 3) {
+					throw new IllegalStateException("crash");
+				}
+				return x == 1;
+			});
+			Assert.fail("filter should have crashed");
+		} catch (IllegalStateException expected) {
+			// 1 was already gone when filter crashed; the list should still make sense.
+		}
+		assertEquals(Arrays.asList(0, 2, 3, 4, 5), data.toJava());
+		for (int i=0; i<5; i++) {
+			assertEquals(data.toJava().get(i), data.getIndex(i));
+		}
+	}
+}
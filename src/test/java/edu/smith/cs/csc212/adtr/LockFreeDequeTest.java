@@ -0,0 +1,302 @@
+package edu.smith.cs.csc212.adtr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.smith.cs.csc212.adtr.concurrent.LockFreeDeque;
+import edu.smith.cs.csc212.adtr.errors.BadIndexError;
+import edu.smith.cs.csc212.adtr.errors.EmptyListError;
+import edu.smith.cs.csc212.adtr.real.JavaList;
+
+public class LockFreeDequeTest {
+	
+	/**
+	 * Make a new empty list.
+	 * @return an empty list to be tested.
+	 */
+	private <T> ListADT<T> makeEmptyList() {
+		return new LockFreeDeque<>();
+	}
+	
+	/**
+	 * Helper method to make a full list.
+	 * @return [a, b, c, d] - a small, predictable list for many tests.
+	 */
+	private ListADT<String> makeABCDList() {
+		ListADT<String> data = makeEmptyList();
+		data.addBack("a");
+		data.addBack("b");
+		data.addBack("c");
+		data.addBack("d");
+		return data;
+	}
+	
+	@Test
+	public void testEmpty() {
+		ListADT<String> data = makeEmptyList();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+		Assert.assertFalse(data.iterator().hasNext());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() {
+		makeEmptyList().removeFront();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveBackCrash() {
+		makeEmptyList().removeBack();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetFrontCrash() {
+		makeEmptyList().getFront();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetBackCrash() {
+		makeEmptyList().getBack();
+	}
+	
+	@Test
+	public void testFrontAndBack() {
+		ListADT<String> data = makeEmptyList();
+		data.addFront("b");
+		data.addFront("a");
+		data.addBack("c");
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("a", data.getFront());
+		Assert.assertEquals("c", data.getBack());
+		Assert.assertEquals("a", data.removeFront());
+		Assert.assertEquals("c", data.removeBack());
+		Assert.assertEquals("b", data.removeBack());
+		Assert.assertEquals(0, data.size());
+	}
+	
+	@Test
+	public void testNulls() {
+		ListADT<String> data = makeEmptyList();
+		data.addBack(null);
+		data.addBack("x");
+		data.addFront(null);
+		Assert.assertEquals(Arrays.asList(null, null, "x"), data.toJava());
+		Assert.assertNull(data.removeFront());
+		Assert.assertNull(data.getFront());
+		Assert.assertTrue(data.removeIf(x -> x == null));
+		Assert.assertEquals(Arrays.asList("x"), data.toJava());
+	}
+	
+	@Test
+	public void testGetIndex() {
+		ListADT<String> data = makeABCDList();
+		Assert.assertEquals("a", data.getIndex(0));
+		Assert.assertEquals("c", data.getIndex(2));
+		Assert.assertEquals("d", data.getIndex(3));
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		makeABCDList().getIndex(4);
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexLow() {
+		makeABCDList().getIndex(-1);
+	}
+	
+	@Test(expected=UnsupportedOperationException.class)
+	public void testSetIndexUnsupported() {
+		makeABCDList().setIndex(1, "x");
+	}
+	
+	@Test(expected=UnsupportedOperationException.class)
+	public void testAddIndexUnsupported() {
+		makeABCDList().addIndex(2, "x");
+	}
+	
+	@Test(expected=UnsupportedOperationException.class)
+	public void testRemoveRangeUnsupported() {
+		makeABCDList().removeRange(1, 2);
+	}
+	
+	@Test
+	public void testIndexZero() {
+		ListADT<String> data = makeABCDList();
+		data.addIndex(0, "z");
+		Assert.assertEquals("z", data.removeIndex(0));
+		Assert.assertEquals("a", data.getFront());
+	}
+	
+	@Test
+	public void testAddAll() {
+		ListADT<String> data = makeABCDList();
+		data.addAllBack(Arrays.asList("e", "f"));
+		data.addAll(0, new String[] {"x", "y"});
+		data.addAllBack(data);
+		Assert.assertEquals(Arrays.asList("x", "y", "a", "b", "c", "d", "e", "f", "x", "y", "a", "b", "c", "d", "e", "f"), data.toJava());
+		Assert.assertEquals(16, data.size());
+	}
+	
+	@Test
+	public void testRemoveIfRetainAll() {
+		ListADT<String> data = makeABCDList();
+		data.addBack("a");
+		Assert.assertTrue(data.removeIf(x -> x.equals("a")));
+		Assert.assertEquals(Arrays.asList("b", "c", "d"), data.toJava());
+		Assert.assertTrue(data.retainAll(new HashSet<>(Arrays.asList("c"))));
+		Assert.assertEquals(Arrays.asList("c"), data.toJava());
+		Assert.assertEquals(1, data.size());
+		Assert.assertFalse(data.removeIf(x -> false));
+	}
+	
+	@Test
+	public void testClear() {
+		ListADT<String> data = makeABCDList();
+		data.clear();
+		Assert.assertEquals(0, data.size());
+		Assert.assertTrue(data.isEmpty());
+		data.addBack("e");
+		Assert.assertEquals(Arrays.asList("e"), data.toJava());
+	}
+	
+	@Test
+	public void testIteratorWeaklyConsistent() {
+		ListADT<String> data = makeABCDList();
+		Iterator<String> it = data.iterator();
+		Assert.assertEquals("a", it.next());
+		// no ConcurrentModificationException.
+		data.removeBack();
+		data.addBack("e");
+		List<String> rest = new ArrayList<>();
+		it.forEachRemaining(rest::add);
+		Assert.assertEquals(Arrays.asList("b", "c", "e"), rest);
+	}
+	
+	@Test(expected=NoSuchElementException.class)
+	public void testIteratorEnd() {
+		ListADT<String> data = makeEmptyList();
+		data.iterator().next();
+	}
+	
+	@Test
+	public void testStream() {
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), makeABCDList().stream().collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testEqualsAndHashCode() {
+		ListADT<String> data = makeABCDList();
+		ListADT<String> same = new JavaList<>(Arrays.asList("a", "b", "c", "d"));
+		Assert.assertEquals(data, same);
+		Assert.assertEquals(same, data);
+		Assert.assertEquals(same.hashCode(), data.hashCode());
+	}
+	
+	@Test
+	public void testProducersAndConsumers() throws InterruptedException {
+		ListADT<Integer> data = makeEmptyList();
+		int producers = 4;
+		int perProducer = 20000;
+		Set<Integer> taken = ConcurrentHashMap.newKeySet();
+		List<Throwable> crashes = new CopyOnWriteArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int p=0; p<producers; p++) {
+			int base = p * perProducer;
+			threads.add(new Thread(() -> {
+				for (int i=0; i<perProducer; i++) {
+					if (i % 2 == 0) {
+						data.addBack(base + i);
+					} else {
+						data.addFront(base + i);
+					}
+				}
+			}));
+		}
+		for (int c=0; c<producers; c++) {
+			boolean front = c % 2 == 0;
+			threads.add(new Thread(() -> {
+				int got = 0;
+				while (got < perProducer) {
+					try {
+						Integer x = front ? data.removeFront() : data.removeBack();
+						Assert.assertTrue("taken twice: "+x, taken.add(x));
+						got++;
+					} catch (EmptyListError notYet) {
+						Thread.yield();
+					}
+				}
+			}));
+		}
+		for (Thread t : threads) {
+			t.setUncaughtExceptionHandler((thread, error) -> crashes.add(error));
+			t.start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		Assert.assertEquals(Arrays.asList(), crashes);
+		Assert.assertEquals(producers * perProducer, taken.size());
+		Assert.assertTrue(data.isEmpty());
+		Assert.assertEquals(0, data.size());
+	}
+	
+	@Test
+	public void testRemoveIfRemovesTestedItem() {
+		ListADT<String> data = makeEmptyList();
+		data.addBack(null);
+		data.addBack("a");
+		data.addBack(null);
+		// match only the third item; the first null is equal to it, but wasn't tested as a match.
+		int[] seen = {0};
+		Assert.assertTrue(data.removeIf(x -> ++seen[0] == 3));
+		Assert.assertEquals(Arrays.asList(null, "a"), data.toJava());
+		Assert.assertEquals(2, data.size());
+	}
+	
+	@Test
+	public void testRemoveIfWhileRemoving() throws InterruptedException {
+		ListADT<Integer> data = makeEmptyList();
+		for (int i=0; i<100000; i++) {
+			data.addBack(i);
+		}
+		Set<Integer> taken = ConcurrentHashMap.newKeySet();
+		List<Throwable> crashes = new CopyOnWriteArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int t=0; t<2; t++) {
+			threads.add(new Thread(() -> {
+				data.removeIf(x -> x % 2 == 0);
+			}));
+			threads.add(new Thread(() -> {
+				try {
+					while (true) {
+						Assert.assertTrue(taken.add(data.removeFront()));
+					}
+				} catch (EmptyListError done) {
+					// good.
+				}
+			}));
+		}
+		for (Thread t : threads) {
+			t.setUncaughtExceptionHandler((thread, error) -> crashes.add(error));
+			t.start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		Assert.assertEquals(Arrays.asList(), crashes);
+		// every item was counted exactly once, whoever got it.
+		Assert.assertEquals(data.toJava().size(), data.size());
+	}
+}
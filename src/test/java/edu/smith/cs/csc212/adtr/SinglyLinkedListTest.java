@@ -2,8 +2,15 @@ package edu.smith.cs.csc212.adtr;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -11,6 +18,8 @@ import org.junit.Test;
 import edu.smith.cs.csc212.adtr.errors.BadIndexError;
 import edu.smith.cs.csc212.adtr.errors.EmptyListError;
 import edu.smith.cs.csc212.adtr.real.GrowableList;
+import edu.smith.cs.csc212.adtr.real.JavaList;
+import edu.smith.cs.csc212.adtr.real.NodePoolStats;
 import edu.smith.cs.csc212.adtr.real.SinglyLinkedList;
 
 
@@ -365,4 +374,353 @@ public class SinglyLinkedListTest {
 	public void testToJava() {
 		assertEquals(makeABCDList().toJava(), Arrays.asList("a", "b", "c", "d"));
 	}
+	
+	@Test
+	public void testStream() {
+		assertEquals(Arrays.asList("a", "b", "c", "d"), makeABCDList().stream().collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testParallelStream() {
+		ListADT<Integer> items = makeEmptyList();
+		for (int i=0; i<1000; i++) {
+			items.addBack(i);
+		}
+		assertEquals(1000, items.spliterator().estimateSize());
+		assertEquals(999*1000/2, items.parallelStream().mapToInt(x -> x).sum());
+		assertEquals(items.toJava(), items.parallelStream().collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testIteratorEmpty() {
+		ListADT<String> data = makeEmptyList();
+		Iterator<String> it = data.iterator();
+		Assert.assertFalse(it.hasNext());
+		try {
+			it.next();
+			Assert.fail("next() on an empty iterator should crash");
+		} catch (NoSuchElementException expected) {
+			// good.
+		}
+	}
+	
+	@Test(expected=ConcurrentModificationException.class)
+	public void testIteratorFailFast() {
+		ListADT<String> data = makeABCDList();
+		Iterator<String> it = data.iterator();
+		assertEquals("a", it.next());
+		data.removeBack();
+		it.next();
+	}
+	
+	@Test
+	public void testSizeAfterMixedOps() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(42);
+		for (int i=0; i<500; i++) {
+			int choice = rand.nextInt(6);
+			if (expected.isEmpty() || choice < 3) {
+				int where = rand.nextInt(expected.size()+1);
+				data.addIndex(where, i);
+				expected.add(where, i);
+			} else if (choice == 3) {
+				assertEquals(expected.remove(0), data.removeFront());
+			} else if (choice == 4) {
+				assertEquals(expected.remove(expected.size()-1), data.removeBack());
+			} else {
+				int where = rand.nextInt(expected.size());
+				assertEquals(expected.remove(where), data.removeIndex(where));
+			}
+			assertEquals(expected.size(), data.size());
+		}
+		assertEquals(expected, data.toJava());
+	}
+	
+	@Test
+	public void testClear() {
+		ListADT<String> data = makeABCDList();
+		data.clear();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+		data.addBack("e");
+		Assert.assertEquals(Arrays.asList("e"), data.toJava());
+	}
+	
+	@Test
+	public void testAddAll() {
+		ListADT<String> data = makeABCDList();
+		data.addAll(2, new String[] {"x", "y"});
+		assertEquals(Arrays.asList("a", "b", "x", "y", "c", "d"), data.toJava());
+		data.addAll(0, Arrays.asList("1", "2"));
+		data.addAllBack(makeABCDList());
+		data.addAll(data.size(), new String[0]);
+		assertEquals(Arrays.asList("1", "2", "a", "b", "x", "y", "c", "d", "a", "b", "c", "d"), data.toJava());
+		assertEquals(12, data.size());
+	}
+	
+	@Test
+	public void testAddAllSelf() {
+		ListADT<String> data = makeABCDList();
+		data.addAll(1, data);
+		assertEquals(Arrays.asList("a", "a", "b", "c", "d", "b", "c", "d"), data.toJava());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testAddAllHigh() {
+		ListADT<String> data = makeABCDList();
+		data.addAll(data.size()+1, new String[] {"x"});
+	}
+	
+	@Test
+	public void testAddAllMany() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(11);
+		for (int round=0; round<30; round++) {
+			List<Integer> batch = new ArrayList<>();
+			int count = rand.nextInt(20);
+			for (int i=0; i<count; i++) {
+				batch.add(round*100 + i);
+			}
+			int where = rand.nextInt(expected.size()+1);
+			data.addAll(where, batch);
+			expected.addAll(where, batch);
+			assertEquals(expected.size(), data.size());
+		}
+		assertEquals(expected, data.toJava());
+		assertEquals(expected, Arrays.asList(data.toArray()));
+	}
+	
+	@Test
+	public void testRemoveRange() {
+		ListADT<String> data = makeABCDList();
+		data.removeRange(1, 3);
+		assertEquals(Arrays.asList("a", "d"), data.toJava());
+		data.removeRange(2, 2);
+		data.removeRange(0, 2);
+		assertEquals(0, data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testRemoveRangeBackwards() {
+		makeABCDList().removeRange(3, 1);
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testRemoveRangeHigh() {
+		makeABCDList().removeRange(1, 5);
+	}
+	
+	@Test
+	public void testRemoveRangeMany() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<400; i++) {
+			data.addBack(i);
+			expected.add(i);
+		}
+		Random rand = new Random(3);
+		while (!expected.isEmpty()) {
+			int from = rand.nextInt(expected.size());
+			int to = from + rand.nextInt(Math.min(40, expected.size() - from) + 1);
+			data.removeRange(from, to);
+			expected.subList(from, to).clear();
+			assertEquals(expected.size(), data.size());
+			if (!expected.isEmpty()) {
+				assertEquals(expected.get(expected.size()/2), data.getIndex(expected.size()/2));
+			}
+		}
+		assertEquals(expected, data.toJava());
+	}
+	
+	@Test
+	public void testRemoveIf() {
+		ListADT<Integer> data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		for (int i=0; i<200; i++) {
+			data.addBack(i);
+			expected.add(i);
+		}
+		Assert.assertFalse(data.removeIf(x -> x < 0));
+		Assert.assertTrue(data.removeIf(x -> x % 3 != 1 || x < 10 || (x > 50 && x < 120)));
+		expected.removeIf(x -> x % 3 != 1 || x < 10 || (x > 50 && x < 120));
+		assertEquals(expected, data.toJava());
+		assertEquals(expected.size(), data.size());
+		data.addFront(-1);
+		data.addBack(-2);
+		Assert.assertTrue(data.removeIf(x -> true));
+		Assert.assertTrue(data.isEmpty());
+	}
+	
+	@Test
+	public void testRetainAll() {
+		ListADT<String> data = makeABCDList();
+		Assert.assertTrue(data.retainAll(new HashSet<>(Arrays.asList("d", "b", "z"))));
+		assertEquals(Arrays.asList("b", "d"), data.toJava());
+	}
+	
+	@Test
+	public void testEqualsAndHashCode() {
+		ListADT<String> data = makeABCDList();
+		ListADT<String> same = new JavaList<>(Arrays.asList("a", "b", "c", "d"));
+		Assert.assertEquals(data, same);
+		Assert.assertEquals(same, data);
+		Assert.assertEquals(data, Arrays.asList("a", "b", "c", "d"));
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d").hashCode(), data.hashCode());
+		Assert.assertEquals(same.hashCode(), data.hashCode());
+		Assert.assertNotEquals(data, "abcd");
+		Assert.assertNotEquals(data, Arrays.asList("a", "b", "c"));
+		data.setIndex(2, null);
+		Assert.assertNotEquals(data, same);
+		same.setIndex(2, null);
+		Assert.assertEquals(data, same);
+		Assert.assertEquals(same.hashCode(), data.hashCode());
+	}
+	@Test
+	public void testBackAfterEveryChange() {
+		ListADT<String> data = makeEmptyList();
+		data.addFront("a");
+		assertEquals("a", data.getBack());
+		data.addBack("b");
+		assertEquals("b", data.getBack());
+		// addIndex at the very end.
+		data.addIndex(2, "c");
+		assertEquals("c", data.getBack());
+		data.addBack("d");
+		assertEquals(Arrays.asList("a", "b", "c", "d"), data.toJava());
+		// removeIndex of the last node.
+		assertEquals("d", data.removeIndex(3));
+		assertEquals("c", data.getBack());
+		data.addBack("e");
+		assertEquals(Arrays.asList("a", "b", "c", "e"), data.toJava());
+		assertEquals("e", data.removeBack());
+		assertEquals("c", data.getBack());
+		// removeFront down to empty, then start over.
+		data.removeFront();
+		data.removeFront();
+		data.removeFront();
+		assertEquals(0, data.size());
+		data.addBack("f");
+		assertEquals("f", data.getFront());
+		assertEquals("f", data.getBack());
+		assertEquals(Arrays.asList("f"), data.toJava());
+	}
+	
+	@Test
+	public void testBackAfterBulkChanges() {
+		ListADT<String> data = makeABCDList();
+		data.addAllBack(Arrays.asList("e", "f"));
+		assertEquals("f", data.getBack());
+		data.addAll(6, Arrays.asList("g"));
+		assertEquals("g", data.getBack());
+		data.removeRange(5, 7);
+		assertEquals("e", data.getBack());
+		data.removeIf(x -> x.equals("e") || x.equals("d"));
+		assertEquals("c", data.getBack());
+		data.addBack("h");
+		assertEquals(Arrays.asList("a", "b", "c", "h"), data.toJava());
+		data.removeIf(x -> true);
+		data.addBack("i");
+		assertEquals(Arrays.asList("i"), data.toJava());
+		data.clear();
+		data.addBack("j");
+		assertEquals("j", data.getBack());
+		assertEquals(Arrays.asList("j"), data.toJava());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testRemoveIndexAtSize() {
+		makeABCDList().removeIndex(4);
+	}
+	@Test
+	public void testPoolReusesNodes() {
+		SinglyLinkedList<String> data = new SinglyLinkedList<>(4);
+		data.addBack("a");
+		data.removeFront();
+		data.addBack("b");
+		NodePoolStats stats = data.poolStats();
+		assertEquals(1, stats.created());
+		assertEquals(1, stats.reused());
+		assertEquals(0.5, stats.reuseRate(), 0.0001);
+		assertEquals(0, stats.pooled());
+		assertEquals(Arrays.asList("b"), data.toJava());
+	}
+	
+	@Test
+	public void testPoolIsBounded() {
+		SinglyLinkedList<Integer> data = new SinglyLinkedList<>(4);
+		for (int i=0; i<10; i++) {
+			data.addBack(i);
+		}
+		data.clear();
+		assertEquals(4, data.poolStats().pooled());
+		for (int i=0; i<10; i++) {
+			data.addFront(i);
+		}
+		NodePoolStats stats = data.poolStats();
+		assertEquals(16, stats.created());
+		assertEquals(4, stats.reused());
+		assertEquals(0, stats.pooled());
+	}
+	
+	@Test
+	public void testPoolOff() {
+		SinglyLinkedList<Integer> data = new SinglyLinkedList<>();
+		for (int i=0; i<10; i++) {
+			data.addBack(i);
+			data.removeBack();
+		}
+		NodePoolStats stats = data.poolStats();
+		assertEquals(10, stats.created());
+		assertEquals(0, stats.reused());
+		assertEquals(0, stats.capacity());
+		assertEquals(0.0, stats.reuseRate(), 0.0);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testPoolNegative() {
+		new SinglyLinkedList<String>(-1);
+	}
+	
+	@Test
+	public void testPooledMixedOps() {
+		SinglyLinkedList<Integer> data = new SinglyLinkedList<>(8);
+		List<Integer> expected = new ArrayList<>();
+		Random rand = new Random(99);
+		for (int i=0; i<3000; i++) {
+			int choice = rand.nextInt(12);
+			if (expected.isEmpty() || choice < 4) {
+				int where = rand.nextInt(expected.size()+1);
+				data.addIndex(where, i);
+				expected.add(where, i);
+			} else if (choice < 6) {
+				int where = rand.nextInt(expected.size());
+				assertEquals(expected.remove(where), data.removeIndex(where));
+			} else if (choice < 7) {
+				assertEquals(expected.remove(0), data.removeFront());
+			} else if (choice < 8) {
+				assertEquals(expected.remove(expected.size()-1), data.removeBack());
+			} else if (choice < 9) {
+				int from = rand.nextInt(expected.size()+1);
+				int to = from + rand.nextInt(expected.size() - from + 1);
+				data.removeRange(from, to);
+				expected.subList(from, to).clear();
+			} else if (choice < 10) {
+				int mod = 2 + rand.nextInt(5);
+				data.removeIf(x -> x % mod == 0);
+				expected.removeIf(x -> x % mod == 0);
+			} else if (choice < 11) {
+				data.addAllBack(Arrays.asList(i, -i));
+				expected.addAll(Arrays.asList(i, -i));
+			} else if (rand.nextInt(20) == 0) {
+				data.clear();
+				expected.clear();
+			}
+			assertEquals(expected.size(), data.size());
+			Assert.assertTrue(data.poolStats().pooled() <= 8);
+		}
+		assertEquals(expected, data.toJava());
+		Assert.assertTrue(data.poolStats().reused() > 0);
+	}
 }
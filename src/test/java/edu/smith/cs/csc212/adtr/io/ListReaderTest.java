@@ -0,0 +1,122 @@
+package edu.smith.cs.csc212.adtr.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.offheap.FixedWidthCodec;
+import edu.smith.cs.csc212.adtr.real.GrowableList;
+import edu.smith.cs.csc212.adtr.real.SinglyLinkedList;
+
+public class ListReaderTest {
+
+	/**
+	 * @return the bytes for [1, 2, 3] with the ints codec.
+	 */
+	private static byte[] write123() throws IOException {
+		ListADT<Integer> list = new GrowableList<>();
+		list.addAllBack(Arrays.asList(1, 2, 3));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new ListWriter<>(Channels.newChannel(out), FixedWidthCodec.ints()).write(list);
+		return out.toByteArray();
+	}
+
+	private static <T> ListReader<T> reader(byte[] bytes, FixedWidthCodec<T> codec) {
+		return new ListReader<>(Channels.newChannel(new ByteArrayInputStream(bytes)), codec);
+	}
+
+	@Test
+	public void testReadIntoKeepsExisting() throws IOException {
+		ListADT<Integer> output = new SinglyLinkedList<>();
+		output.addBack(0);
+		Assert.assertEquals(3, reader(write123(), FixedWidthCodec.ints()).readInto(output));
+		Assert.assertEquals(Arrays.asList(0, 1, 2, 3), output.toJava());
+	}
+
+	@Test
+	public void testPresizes() throws IOException {
+		GrowableList<Integer> output = new GrowableList<>(0);
+		reader(write123(), FixedWidthCodec.ints()).readInto(output);
+		Assert.assertEquals(3, output.capacity());
+	}
+
+	@Test(expected=IOException.class)
+	public void testBadMagic() throws IOException {
+		byte[] bytes = write123();
+		bytes[0] = 'X';
+		reader(bytes, FixedWidthCodec.ints()).read();
+	}
+
+	@Test(expected=IOException.class)
+	public void testNewerVersion() throws IOException {
+		byte[] bytes = write123();
+		ByteBuffer.wrap(bytes).putInt(4, ListFormat.VERSION + 1);
+		reader(bytes, FixedWidthCodec.ints()).read();
+	}
+
+	@Test(expected=IOException.class)
+	public void testWrongWidth() throws IOException {
+		reader(write123(), FixedWidthCodec.longs()).read();
+	}
+
+	@Test(expected=EOFException.class)
+	public void testTruncated() throws IOException {
+		byte[] bytes = write123();
+		reader(Arrays.copyOf(bytes, bytes.length - 6), FixedWidthCodec.ints()).read();
+	}
+
+	@Test(expected=IOException.class)
+	public void testWrongCount() throws IOException {
+		byte[] bytes = write123();
+		ByteBuffer.wrap(bytes).putInt(12, 4);
+		reader(bytes, FixedWidthCodec.ints()).read();
+	}
+
+	@Test(expected=EOFException.class)
+	public void testNothing() throws IOException {
+		reader(new byte[0], FixedWidthCodec.ints()).read();
+	}
+	
+	@Test
+	public void testHugeSizeFromFile() throws IOException {
+		byte[] bytes = write123();
+		ByteBuffer.wrap(bytes).putInt(12, Integer.MAX_VALUE);
+		Path file = Files.createTempFile("list", ".bin");
+		try (FileChannel channel = FileChannel.open(Files.write(file, bytes), StandardOpenOption.READ)) {
+			new ListReader<>(channel, FixedWidthCodec.ints()).read();
+			Assert.fail("the file is much too short for that many items");
+		} catch (IOException expected) {
+			Assert.assertTrue(expected.getMessage(), expected.getMessage().contains("bytes are left"));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testHugeSizeFromStream() throws IOException {
+		byte[] bytes = write123();
+		ByteBuffer.wrap(bytes).putInt(12, Integer.MAX_VALUE);
+		GrowableList<Integer> output = new GrowableList<>(0);
+		output.addBack(0);
+		try {
+			// we can't tell how much is left, so this fails when the items run out, not when we make room.
+			reader(bytes, FixedWidthCodec.ints()).readInto(output);
+			Assert.fail("there are only 3 items");
+		} catch (IOException expected) {
+			// good.
+		}
+		Assert.assertTrue(output.capacity() <= 1 + ListFormat.BUFFER_BYTES / Integer.BYTES);
+	}
+}
@@ -0,0 +1,110 @@
+package edu.smith.cs.csc212.adtr.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.offheap.FixedWidthCodec;
+import edu.smith.cs.csc212.adtr.real.ChunkyArrayList;
+import edu.smith.cs.csc212.adtr.real.DoublyLinkedList;
+import edu.smith.cs.csc212.adtr.real.GrowableDeque;
+import edu.smith.cs.csc212.adtr.real.GrowableList;
+
+public class ListWriterTest {
+
+	/**
+	 * Write lists with the ints codec.
+	 * @return the bytes that came out.
+	 */
+	@SafeVarargs
+	private static byte[] writeAll(ListADT<Integer>... lists) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ListWriter<Integer> writer = new ListWriter<>(Channels.newChannel(out), FixedWidthCodec.ints());
+		for (ListADT<Integer> list : lists) {
+			writer.write(list);
+		}
+		return out.toByteArray();
+	}
+
+	private static ListReader<Integer> reader(byte[] bytes) {
+		return new ListReader<>(Channels.newChannel(new ByteArrayInputStream(bytes)), FixedWidthCodec.ints());
+	}
+
+	private static <L extends ListADT<Integer>> L fill(L list, int n) {
+		for (int i=0; i<n; i++) {
+			list.addBack(i * 7);
+		}
+		return list;
+	}
+
+	@Test
+	public void testEmptyList() throws IOException {
+		byte[] bytes = writeAll(new GrowableList<>());
+		// header and the end block.
+		Assert.assertEquals(ListFormat.HEADER_BYTES + 4, bytes.length);
+		Assert.assertEquals(0, reader(bytes).read().size());
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		ListADT<Integer> list = fill(new GrowableList<>(), 100000);
+		ListADT<Integer> back = reader(writeAll(list)).read();
+		Assert.assertEquals(list, back);
+	}
+
+	@Test
+	public void testRoundTripOtherLists() throws IOException {
+		ListADT<Integer> linked = fill(new DoublyLinkedList<>(), 1000);
+		ListADT<Integer> deque = fill(new GrowableDeque<>(), 50000);
+		deque.addFront(-1);
+		ListReader<Integer> reader = reader(writeAll(linked, deque));
+		Assert.assertEquals(linked, reader.read());
+		ListADT<Integer> into = new ChunkyArrayList<>(100);
+		Assert.assertEquals(50001, reader.readInto(into));
+		Assert.assertEquals(deque, into);
+	}
+
+	@Test
+	public void testChunkAligned() throws IOException {
+		ChunkyArrayList<Integer> list = fill(new ChunkyArrayList<>(4), 10);
+		list.addIndex(1, 99);
+		byte[] bytes = writeAll(list);
+		ByteBuffer buf = ByteBuffer.wrap(bytes);
+		buf.position(ListFormat.HEADER_BYTES);
+		// one block per chunk, with that chunk's items.
+		for (int fill : list.chunkFills()) {
+			Assert.assertEquals(fill, buf.getInt());
+			buf.position(buf.position() + fill * 4);
+		}
+		Assert.assertEquals(0, buf.getInt());
+		Assert.assertFalse(buf.hasRemaining());
+		Assert.assertEquals(list, reader(bytes).read());
+	}
+
+	@Test
+	public void testBlocksFillBuffer() throws IOException {
+		int perBlock = (ListFormat.BUFFER_BYTES - 4) / 4;
+		byte[] bytes = writeAll(fill(new GrowableList<>(), perBlock + 1));
+		ByteBuffer buf = ByteBuffer.wrap(bytes);
+		Assert.assertEquals(perBlock + 1, buf.getInt(12));
+		Assert.assertEquals(perBlock, buf.getInt(ListFormat.HEADER_BYTES));
+		Assert.assertEquals(1, buf.getInt(ListFormat.HEADER_BYTES + 4 + perBlock * 4));
+	}
+
+	@Test
+	public void testStrings() throws IOException {
+		ListADT<String> list = new GrowableList<>();
+		list.addAllBack(Arrays.asList("a", null, "\u00e9t\u00e9", ""));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new ListWriter<>(Channels.newChannel(out), FixedWidthCodec.strings(10)).write(list);
+		ListReader<String> reader = new ListReader<>(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), FixedWidthCodec.strings(10));
+		Assert.assertEquals(list, reader.read());
+	}
+}
@@ -0,0 +1,271 @@
+package edu.smith.cs.csc212.adtr.offheap;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.errors.BadIndexError;
+import edu.smith.cs.csc212.adtr.errors.EmptyListError;
+import edu.smith.cs.csc212.adtr.real.JavaList;
+
+public class MappedChunkyArrayListTest {
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	/**
+	 * Make a new empty list in a new file; 3 items per chunk and 4 slots per extent, so it grows often.
+	 * @return an empty list to be tested.
+	 */
+	private MappedChunkyArrayList<Integer> makeEmptyList(Path file) throws IOException {
+		return new MappedChunkyArrayList<>(file, 3, FixedWidthCodec.ints(), 4 * (8 + 3 * 4));
+	}
+
+	private Path newFile() throws IOException {
+		return tmp.newFile().toPath();
+	}
+
+	/**
+	 * Helper method to make a full list.
+	 * @return [1, 2, 3, 4] - a small, predictable list for many tests.
+	 */
+	private MappedChunkyArrayList<Integer> make1234List() throws IOException {
+		MappedChunkyArrayList<Integer> data = makeEmptyList(newFile());
+		data.addAllBack(Arrays.asList(1, 2, 3, 4));
+		return data;
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		try (MappedChunkyArrayList<Integer> data = makeEmptyList(newFile())) {
+			Assert.assertEquals(0, data.size());
+			Assert.assertEquals(0, data.chunkCount());
+			Assert.assertFalse(data.iterator().hasNext());
+		}
+	}
+
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() throws IOException {
+		makeEmptyList(newFile()).removeFront();
+	}
+
+	@Test(expected=EmptyListError.class)
+	public void testGetBackCrash() throws IOException {
+		makeEmptyList(newFile()).getBack();
+	}
+
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHighCrash() throws IOException {
+		make1234List().getIndex(4);
+	}
+
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexHighCrash() throws IOException {
+		make1234List().addIndex(5, 7);
+	}
+
+	@Test
+	public void testBasics() throws IOException {
+		ListADT<Integer> data = make1234List();
+		data.addFront(0);
+		data.addIndex(3, 100);
+		data.addBack(5);
+		Assert.assertEquals(Arrays.asList(0, 1, 2, 100, 3, 4, 5), data.toJava());
+		Assert.assertEquals(0, (int) data.removeFront());
+		Assert.assertEquals(5, (int) data.removeBack());
+		Assert.assertEquals(100, (int) data.removeIndex(2));
+		data.setIndex(0, -1);
+		Assert.assertEquals(Arrays.asList(-1, 2, 3, 4), data.toJava());
+		Assert.assertEquals(-1, (int) data.getFront());
+		Assert.assertEquals(4, (int) data.getBack());
+	}
+
+	@Test
+	public void testRandomAgainstJavaList() throws IOException {
+		Random rand = new Random(13);
+		MappedChunkyArrayList<Integer> data = makeEmptyList(newFile());
+		JavaList<Integer> expected = new JavaList<>();
+		for (int step=0; step<3000; step++) {
+			int op = rand.nextInt(5);
+			if (op < 3) {
+				int index = rand.nextInt(expected.size()+1);
+				data.addIndex(index, step);
+				expected.addIndex(index, step);
+			} else if (expected.size() > 0) {
+				int index = rand.nextInt(expected.size());
+				Assert.assertEquals(expected.removeIndex(index), data.removeIndex(index));
+			}
+		}
+		Assert.assertEquals(expected, data);
+		data.close();
+	}
+
+	@Test
+	public void testReopen() throws IOException {
+		Path file = newFile();
+		JavaList<Integer> expected = new JavaList<>();
+		try (MappedChunkyArrayList<Integer> data = makeEmptyList(file)) {
+			for (int i=0; i<100; i++) {
+				data.addIndex(i / 2, i);
+				expected.addIndex(i / 2, i);
+			}
+			data.removeRange(10, 20);
+			expected.removeRange(10, 20);
+		}
+		try (MappedChunkyArrayList<Integer> data = makeEmptyList(file)) {
+			Assert.assertEquals(expected, data);
+			data.addBack(-5);
+			data.force();
+		}
+		expected.addBack(-5);
+		try (MappedChunkyArrayList<Integer> data = new MappedChunkyArrayList<>(file, 3, FixedWidthCodec.ints())) {
+			// a different extent size doesn't matter; it isn't part of the file.
+			Assert.assertEquals(expected, data);
+		}
+	}
+
+	@Test
+	public void testFreeSlotsReused() throws IOException {
+		Path file = newFile();
+		try (MappedChunkyArrayList<Integer> data = makeEmptyList(file)) {
+			for (int i=0; i<30; i++) {
+				data.addBack(i);
+			}
+			Assert.assertEquals(10, data.chunkCount());
+			long length = file.toFile().length();
+			// empty out all the chunks, then fill them again.
+			data.removeRange(0, 30);
+			Assert.assertEquals(0, data.chunkCount());
+			for (int i=0; i<30; i++) {
+				data.addBack(i);
+			}
+			data.force();
+			Assert.assertEquals(length, file.toFile().length());
+			data.clear();
+			Assert.assertEquals(0, data.size());
+			data.addBack(7);
+			Assert.assertEquals(Arrays.asList(7), data.toJava());
+		}
+	}
+
+	@Test(expected=IOException.class)
+	public void testWrongChunkSize() throws IOException {
+		Path file = newFile();
+		makeEmptyList(file).close();
+		new MappedChunkyArrayList<>(file, 4, FixedWidthCodec.ints());
+	}
+
+	@Test(expected=IOException.class)
+	public void testWrongCodec() throws IOException {
+		Path file = newFile();
+		makeEmptyList(file).close();
+		new MappedChunkyArrayList<>(file, 3, FixedWidthCodec.longs());
+	}
+
+	@Test(expected=IOException.class)
+	public void testNotOurFile() throws IOException {
+		File file = tmp.newFile();
+		java.nio.file.Files.write(file.toPath(), "hello, this is not a list".getBytes("UTF-8"));
+		new MappedChunkyArrayList<>(file.toPath(), 3, FixedWidthCodec.ints());
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testAddAfterClose() throws IOException {
+		MappedChunkyArrayList<Integer> data = make1234List();
+		data.close();
+		data.close();
+		data.addBack(5);
+	}
+
+	@Test(expected=ConcurrentModificationException.class)
+	public void testIteratorFailFast() throws IOException {
+		ListADT<Integer> data = make1234List();
+		Iterator<Integer> it = data.iterator();
+		it.next();
+		data.addBack(5);
+		it.next();
+	}
+
+	@Test
+	public void testStrings() throws IOException {
+		try (MappedChunkyArrayList<String> data = new MappedChunkyArrayList<>(newFile(), 2, FixedWidthCodec.strings(8))) {
+			data.addAllBack(Arrays.asList("a", null, "c"));
+			data.addIndex(1, "b");
+			Assert.assertEquals(Arrays.asList("a", "b", null, "c"), data.toJava());
+		}
+	}
+	
+	@Test
+	public void testCodecCrashLeavesListAlone() throws IOException {
+		try (MappedChunkyArrayList<Integer> data = make1234List()) {
+			// the first chunk is full, so this add would split it.
+			for (int index : new int[] {1, 4}) {
+				try {
+					data.addIndex(index, null);
+					Assert.fail("ints() can't store null");
+				} catch (RuntimeException expected) {
+					// good.
+				}
+			}
+			Assert.assertEquals(Arrays.asList(1, 2, 3, 4), data.toJava());
+			Assert.assertEquals(2, data.chunkCount());
+		}
+	}
+	
+	/**
+	 * Move items between the counts of the first two slots in a closed list's file, keeping the total the same.
+	 * @param file - a list of 4 items, in 2 chunks of at most 3.
+	 * @param firstCount - the new count for slot 0; slot 1 gets whatever is left over.
+	 */
+	private void corruptCounts(Path file, int firstCount) throws IOException {
+		int slotBytes = 8 + 3 * 4;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer bytes = ByteBuffer.allocate(4);
+			channel.read(bytes, MappedChunkyArrayList.HEADER_BYTES);
+			int total = bytes.getInt(0);
+			bytes.clear();
+			channel.read(bytes, MappedChunkyArrayList.HEADER_BYTES + slotBytes);
+			total += bytes.getInt(0);
+			Assert.assertEquals(4, total);
+			
+			bytes.putInt(0, firstCount);
+			bytes.clear();
+			channel.write(bytes, MappedChunkyArrayList.HEADER_BYTES);
+			bytes.putInt(0, total - firstCount);
+			bytes.clear();
+			channel.write(bytes, MappedChunkyArrayList.HEADER_BYTES + slotBytes);
+		}
+	}
+	
+	@Test(expected=IOException.class)
+	public void testTooManyInChunk() throws IOException {
+		Path file = newFile();
+		try (MappedChunkyArrayList<Integer> data = makeEmptyList(file)) {
+			data.addAllBack(Arrays.asList(1, 2, 3, 4));
+		}
+		corruptCounts(file, 4);
+		new MappedChunkyArrayList<>(file, 3, FixedWidthCodec.ints());
+	}
+	
+	@Test(expected=IOException.class)
+	public void testNegativeInChunk() throws IOException {
+		Path file = newFile();
+		try (MappedChunkyArrayList<Integer> data = makeEmptyList(file)) {
+			data.addAllBack(Arrays.asList(1, 2, 3, 4));
+		}
+		corruptCounts(file, -1);
+		new MappedChunkyArrayList<>(file, 3, FixedWidthCodec.ints());
+	}
+}
@@ -0,0 +1,500 @@
+package edu.smith.cs.csc212.adtr.offheap;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.errors.BadIndexError;
+import edu.smith.cs.csc212.adtr.errors.EmptyListError;
+import edu.smith.cs.csc212.adtr.errors.RanOutOfSpaceError;
+import edu.smith.cs.csc212.adtr.real.JavaList;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Assert;
+
+public class OffHeapFixedSizeListTest {
+	
+	/**
+	 * Make a new empty list of short Strings.
+	 * @param maximumSize - how many items it can hold.
+	 * @return an empty list to be tested.
+	 */
+	private OffHeapFixedSizeList<String> makeList(int maximumSize) {
+		return new OffHeapFixedSizeList<>(maximumSize, FixedWidthCodec.strings(16));
+	}
+	
+	@Test
+	public void testEmpty() {
+		OffHeapFixedSizeList<String> data = makeList(0);
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+		data = makeList(32);
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() {
+		OffHeapFixedSizeList<String> data = makeList(4);
+		data.removeFront();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveBackCrash() {
+		OffHeapFixedSizeList<String> data = makeList(4);
+		data.removeBack();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testRemoveIndexCrash() {
+		OffHeapFixedSizeList<String> data = makeList(4);
+		data.removeIndex(3);
+	}
+
+	@Test
+	public void testAddToFront() {
+		OffHeapFixedSizeList<String> data = makeList(4);
+		Assert.assertEquals(true, data.isEmpty());
+		data.addFront("1");
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("1", data.getIndex(0));
+		Assert.assertEquals(false, data.isEmpty());
+		data.addFront("0");
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("0", data.getIndex(0));
+		Assert.assertEquals("1", data.getIndex(1));
+		Assert.assertEquals(false, data.isEmpty());
+		data.addFront("-1");
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("-1", data.getIndex(0));
+		Assert.assertEquals("0", data.getIndex(1));
+		Assert.assertEquals("1", data.getIndex(2));
+		Assert.assertEquals(false, data.isEmpty());
+		data.addFront("-2");
+		Assert.assertEquals("-2", data.getIndex(0));
+		Assert.assertEquals("-1", data.getIndex(1));
+		Assert.assertEquals("0", data.getIndex(2));
+		Assert.assertEquals("1", data.getIndex(3));
+		Assert.assertEquals(false, data.isEmpty());
+	}
+	
+	@Test
+	public void testAddToBack() {
+		OffHeapFixedSizeList<String> data = makeList(4);
+		data.addBack("1");
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("1", data.getIndex(0));
+		data.addBack("0");
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("0", data.getIndex(1));
+		Assert.assertEquals("1", data.getIndex(0));
+		data.addBack("-1");
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("-1", data.getIndex(2));
+		Assert.assertEquals("0", data.getIndex(1));
+		Assert.assertEquals("1", data.getIndex(0));
+		data.addBack("-2");
+		Assert.assertEquals("-2", data.getIndex(3));
+		Assert.assertEquals("-1", data.getIndex(2));
+		Assert.assertEquals("0", data.getIndex(1));
+		Assert.assertEquals("1", data.getIndex(0));
+	}
+	
+	/**
+	 * Helper method to make a full list.
+	 * @return [a,b,c,d]
+	 */
+	public OffHeapFixedSizeList<String> makeFullList() {
+		OffHeapFixedSizeList<String> data = makeList(4);
+		data.addBack("a");
+		data.addBack("b");
+		data.addBack("c");
+		data.addBack("d");
+		return data;
+	}
+	
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddBackFull() {
+		makeFullList().addBack("no space");
+	}
+	
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddFrontFull() {
+		makeFullList().addFront("no space");
+	}
+	
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddIndexFull() {
+		makeFullList().addIndex(2, "no space");
+	}
+	
+	@Test
+	public void testRemoveFront() {
+		ListADT<String> data = makeFullList();
+		Assert.assertEquals(4, data.size());
+		Assert.assertEquals("a", data.removeFront());
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("b", data.removeFront());
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("c", data.removeFront());
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("d", data.removeFront());
+		Assert.assertEquals(0, data.size());
+	}
+	
+	@Test
+	public void testRemoveBack() {
+		ListADT<String> data = makeFullList();
+		Assert.assertEquals(4, data.size());
+		Assert.assertEquals("d", data.removeBack());
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("c", data.removeBack());
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("b", data.removeBack());
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("a", data.removeBack());
+		Assert.assertEquals(0, data.size());
+	}
+	
+	@Test
+	public void testRemoveIndex() {
+		ListADT<String> data = makeFullList();
+		Assert.assertEquals(4, data.size());
+		Assert.assertEquals("c", data.removeIndex(2));
+		Assert.assertEquals(3, data.size());
+		Assert.assertEquals("d", data.removeIndex(2));
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("b", data.removeIndex(1));
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("a", data.removeIndex(0));
+		Assert.assertEquals(0, data.size());
+	}
+	
+	@Test
+	public void testAddIndexFront() {
+		OffHeapFixedSizeList<String> data = makeList(10);
+		data.addBack("A");
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("A", data.getFront());
+		data.addIndex(0, "B");
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("B", data.getFront());
+		Assert.assertEquals("A", data.getBack());
+	}
+	
+	@Test
+	public void testAddIndexBack() {
+		OffHeapFixedSizeList<String> data = makeList(10);
+		data.addBack("A");
+		Assert.assertEquals(1, data.size());
+		Assert.assertEquals("A", data.getFront());
+		data.addIndex(1, "B");
+		Assert.assertEquals(2, data.size());
+		Assert.assertEquals("A", data.getFront());
+		Assert.assertEquals("B", data.getBack());
+	}
+	
+	@Test
+	public void testAddIndexCenter() {
+		OffHeapFixedSizeList<String> data = makeList(10);
+		data.addBack("A");
+		data.addBack("C");
+		data.addBack("D");
+		data.addBack("E");
+		Assert.assertEquals(4, data.size());
+		
+		data.addIndex(1, "B");
+		Assert.assertEquals(5, data.size());
+		Assert.assertEquals("B", data.getIndex(1));
+	}
+	
+	@Test
+	public void testGetFront() {
+		ListADT<String> data = makeFullList();
+		assertEquals("a", data.getFront());
+	}
+	
+	@Test
+	public void testGetBack() {
+		ListADT<String> data = makeFullList();
+		assertEquals("d", data.getBack());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetFrontCrash() {
+		OffHeapFixedSizeList<String> data = makeList(3);
+		data.getFront();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetBackCrash() {
+		OffHeapFixedSizeList<String> data = makeList(3);
+		data.getBack();
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexLow() {
+		ListADT<String> data = makeFullList();
+		data.getIndex(-2);
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		ListADT<String> data = makeFullList();
+		data.getIndex(data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHighEasy() {
+		ListADT<String> data = makeFullList();
+		data.getIndex(data.size()*2);
+	}
+	
+	@Test
+	public void testStream() {
+		assertEquals(Arrays.asList("a", "b", "c", "d"), makeFullList().stream().collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testParallelStream() {
+		ListADT<Integer> items = new OffHeapFixedSizeList<>(1000, FixedWidthCodec.ints());
+		for (int i=0; i<1000; i++) {
+			items.addBack(i);
+		}
+		assertEquals(1000, items.spliterator().estimateSize());
+		assertEquals(999*1000/2, items.parallelStream().mapToInt(x -> x).sum());
+		assertEquals(items.toJava(), items.parallelStream().collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testIteratorEmpty() {
+		OffHeapFixedSizeList<String> data = makeList(4);
+		Iterator<String> it = data.iterator();
+		Assert.assertFalse(it.hasNext());
+		try {
+			it.next();
+			Assert.fail("next() on an empty iterator should crash");
+		} catch (NoSuchElementException expected) {
+			// good.
+		}
+	}
+	
+	@Test(expected=ConcurrentModificationException.class)
+	public void testIteratorFailFast() {
+		ListADT<String> data = makeFullList();
+		Iterator<String> it = data.iterator();
+		assertEquals("a", it.next());
+		data.removeBack();
+		it.next();
+	}
+	
+	@Test
+	public void testClear() {
+		OffHeapFixedSizeList<String> data = makeFullList();
+		data.clear();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+		data.addBack("e");
+		Assert.assertEquals(Arrays.asList("e"), data.toJava());
+	}
+	
+	@Test
+	public void testAddAll() {
+		OffHeapFixedSizeList<String> data = makeList(6);
+		data.addAllBack(new String[] {"a", "d"});
+		data.addAll(1, Arrays.asList("b", "c"));
+		assertEquals(Arrays.asList("a", "b", "c", "d"), data.toJava());
+		data.addAll(0, data.toJava().subList(0, 2));
+		assertEquals(Arrays.asList("a", "b", "a", "b", "c", "d"), data.toJava());
+	}
+	
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddAllFull() {
+		ListADT<String> data = makeFullList();
+		data.removeBack();
+		data.addAll(1, new String[] {"x", "y"});
+	}
+	
+	@Test
+	public void testRemoveRange() {
+		ListADT<String> data = makeFullList();
+		data.removeRange(1, 3);
+		assertEquals(Arrays.asList("a", "d"), data.toJava());
+		data.addBack("e");
+		data.addBack("f");
+		data.removeRange(0, 4);
+		assertEquals(0, data.size());
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testRemoveRangeBackwards() {
+		makeFullList().removeRange(3, 1);
+	}
+	
+	@Test
+	public void testRemoveIf() {
+		ListADT<String> data = makeFullList();
+		Assert.assertFalse(data.removeIf(x -> x.equals("z")));
+		Assert.assertTrue(data.removeIf(x -> x.equals("a") || x.equals("c")));
+		assertEquals(Arrays.asList("b", "d"), data.toJava());
+		data.addBack("e");
+		data.addBack("f");
+		Assert.assertTrue(data.retainAll(new HashSet<>(Arrays.asList("f", "b"))));
+		assertEquals(Arrays.asList("b", "f"), data.toJava());
+	}
+	
+	@Test
+	public void testEqualsAndHashCode() {
+		ListADT<String> data = makeFullList();
+		ListADT<String> same = new JavaList<>(Arrays.asList("a", "b", "c", "d"));
+		Assert.assertEquals(data, same);
+		Assert.assertEquals(same, data);
+		Assert.assertEquals(data, Arrays.asList("a", "b", "c", "d"));
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d").hashCode(), data.hashCode());
+		Assert.assertEquals(same.hashCode(), data.hashCode());
+		Assert.assertNotEquals(data, "abcd");
+		Assert.assertNotEquals(data, Arrays.asList("a", "b", "c"));
+		data.setIndex(2, null);
+		Assert.assertNotEquals(data, same);
+		same.setIndex(2, null);
+		Assert.assertEquals(data, same);
+		Assert.assertEquals(same.hashCode(), data.hashCode());
+	}
+
+	@Test
+	public void testAcrossSegments() {
+		// 3 ints per segment, so every shift crosses segment boundaries.
+		OffHeapFixedSizeList<Integer> data = new OffHeapFixedSizeList<>(20, FixedWidthCodec.ints(), true, 12);
+		JavaList<Integer> expected = new JavaList<>();
+		for (int i=0; i<10; i++) {
+			data.addBack(i);
+			expected.addBack(i);
+		}
+		data.addIndex(1, 100);
+		expected.addIndex(1, 100);
+		data.addFront(-1);
+		expected.addFront(-1);
+		Assert.assertEquals(expected, data);
+		data.removeIndex(2);
+		expected.removeIndex(2);
+		data.removeRange(3, 8);
+		expected.removeRange(3, 8);
+		Assert.assertEquals(expected, data);
+		data.addAll(2, Arrays.asList(7, 8, 9, 10, 11));
+		expected.addAll(2, Arrays.asList(7, 8, 9, 10, 11));
+		Assert.assertEquals(expected, data);
+		data.removeIf(x -> x % 2 == 0);
+		expected.removeIf(x -> x % 2 == 0);
+		Assert.assertEquals(expected, data);
+	}
+	
+	@Test
+	public void testOnHeapFallback() {
+		OffHeapFixedSizeList<Long> data = new OffHeapFixedSizeList<>(4, FixedWidthCodec.longs(), false);
+		Assert.assertFalse(data.isDirect());
+		data.addBack(Long.MAX_VALUE);
+		data.addFront(-1L);
+		assertEquals(Arrays.asList(-1L, Long.MAX_VALUE), data.toJava());
+		Assert.assertTrue(new OffHeapFixedSizeList<>(4, FixedWidthCodec.longs()).isDirect());
+	}
+	
+	@Test
+	public void testDoubles() {
+		ListADT<Double> data = new OffHeapFixedSizeList<>(3, FixedWidthCodec.doubles());
+		data.addBack(1.5);
+		data.addBack(Double.NaN);
+		data.addFront(-0.25);
+		assertEquals(Arrays.asList(-0.25, 1.5, Double.NaN), data.toJava());
+	}
+	
+	@Test
+	public void testStringsRoundTrip() {
+		OffHeapFixedSizeList<String> data = makeList(3);
+		data.addBack("");
+		data.addBack("\u00e9t\u00e9");
+		data.addBack(null);
+		assertEquals(Arrays.asList("", "\u00e9t\u00e9", null), data.toJava());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testStringTooLong() {
+		makeList(3).addBack("this string is too long");
+	}
+	
+	@Test
+	public void testCodecCrashLeavesListAlone() {
+		ListADT<String> data = makeFullList();
+		data.removeBack();
+		try {
+			data.addIndex(1, "this string is too long");
+			Assert.fail("should have crashed");
+		} catch (IllegalArgumentException expected) {
+			// good.
+		}
+		assertEquals(Arrays.asList("a", "b", "c"), data.toJava());
+	}
+	
+	@Test
+	public void testCodecCrashInAddAllLeavesListAlone() {
+		ListADT<String> data = makeList(10);
+		data.addAllBack(Arrays.asList("a", "b", "c"));
+		try {
+			data.addAll(1, Arrays.asList("x", "this string is too long", "y"));
+			Assert.fail("should have crashed");
+		} catch (IllegalArgumentException expected) {
+			// good.
+		}
+		assertEquals(Arrays.asList("a", "b", "c"), data.toJava());
+	}
+	
+	@Test
+	public void testRelease() {
+		OffHeapFixedSizeList<String> data = new OffHeapFixedSizeList<>(4, FixedWidthCodec.strings(4));
+		data.addBack("a");
+		Assert.assertFalse(data.isReleased());
+		data.release();
+		Assert.assertTrue(data.isReleased());
+		Assert.assertEquals(0, data.size());
+		// twice is fine.
+		data.release();
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void testAddAfterRelease() {
+		OffHeapFixedSizeList<String> data = new OffHeapFixedSizeList<>(4, FixedWidthCodec.strings(4));
+		data.release();
+		data.addBack("a");
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNegativeSizeCrash() {
+		makeList(-1);
+	}
+	
+	@Test
+	public void testRemoveIfCrashes() {
+		OffHeapFixedSizeList<String> data = makeFullList();
+		try {
+			data.removeIf(x -> {
+				if (x.equals("b")) {
+					throw new IllegalStateException("crash");
+				}
+				return x.equals("a");
+			});
+			Assert.fail("filter should have crashed");
+		} catch (IllegalStateException expected) {
+			// "a" was already gone when filter crashed; the list should still make sense.
+		}
+		assertEquals(Arrays.asList("b", "c", "d"), data.toJava());
+		assertEquals(3, data.size());
+		data.addBack("e");
+		assertEquals(Arrays.asList("b", "c", "d", "e"), data.toJava());
+	}
+}
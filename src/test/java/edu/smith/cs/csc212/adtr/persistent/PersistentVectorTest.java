@@ -0,0 +1,282 @@
+package edu.smith.cs.csc212.adtr.persistent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.errors.BadIndexError;
+import edu.smith.cs.csc212.adtr.errors.EmptyListError;
+import edu.smith.cs.csc212.adtr.real.JavaList;
+
+public class PersistentVectorTest {
+	
+	/**
+	 * Helper method to make a full list.
+	 * @return [a, b, c, d] - a small, predictable list for many tests.
+	 */
+	private PersistentVector<String> makeABCDList() {
+		return PersistentVector.of("a", "b", "c", "d");
+	}
+	
+	/**
+	 * Make a vector of 0..n-1 the slow way, one version at a time.
+	 */
+	private PersistentVector<Integer> countTo(int n) {
+		PersistentVector<Integer> data = PersistentVector.empty();
+		for (int i=0; i<n; i++) {
+			data = data.withBack(i);
+		}
+		return data;
+	}
+	
+	@Test
+	public void testEmpty() {
+		PersistentVector<String> data = PersistentVector.empty();
+		Assert.assertEquals(0, data.size());
+		Assert.assertTrue(data.isEmpty());
+		Assert.assertFalse(data.iterator().hasNext());
+		Assert.assertSame(data, PersistentVector.builder().build());
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testGetFrontEmpty() {
+		PersistentVector.empty().getFront();
+	}
+	
+	@Test(expected=EmptyListError.class)
+	public void testWithoutBackEmpty() {
+		PersistentVector.empty().withoutBack();
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHigh() {
+		makeABCDList().getIndex(4);
+	}
+	
+	@Test(expected=BadIndexError.class)
+	public void testWithIndexLow() {
+		makeABCDList().withIndex(-1, "x");
+	}
+	
+	@Test
+	public void testGets() {
+		PersistentVector<String> data = makeABCDList();
+		Assert.assertEquals("a", data.getFront());
+		Assert.assertEquals("b", data.getIndex(1));
+		Assert.assertEquals("d", data.getBack());
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), data.toJava());
+	}
+	
+	@Test
+	public void testOldVersionsDontChange() {
+		PersistentVector<String> v1 = makeABCDList();
+		PersistentVector<String> v2 = v1.withBack("e");
+		PersistentVector<String> v3 = v2.withIndex(0, "A");
+		PersistentVector<String> v4 = v3.withoutBack().withoutBack();
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), v1.toJava());
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e"), v2.toJava());
+		Assert.assertEquals(Arrays.asList("A", "b", "c", "d", "e"), v3.toJava());
+		Assert.assertEquals(Arrays.asList("A", "b", "c"), v4.toJava());
+	}
+	
+	@Test
+	public void testDeepTree() {
+		// 32 * 32 * 32 + some: the root has to grow twice.
+		int n = 40000;
+		PersistentVector<Integer> data = countTo(n);
+		Assert.assertEquals(n, data.size());
+		for (int i=0; i<n; i++) {
+			Assert.assertEquals(i, (int) data.getIndex(i));
+		}
+		int expected = 0;
+		for (int x : data) {
+			Assert.assertEquals(expected++, x);
+		}
+		// and shrink all the way back down.
+		for (int i=n-1; i>=0; i--) {
+			Assert.assertEquals(i, (int) data.getBack());
+			data = data.withoutBack();
+		}
+		Assert.assertTrue(data.isEmpty());
+	}
+	
+	@Test
+	public void testWithIndexSharesTheRest() {
+		PersistentVector<Integer> big = countTo(5000);
+		PersistentVector<Integer> changed = big.withIndex(1234, -1);
+		Assert.assertEquals(1234, (int) big.getIndex(1234));
+		Assert.assertEquals(-1, (int) changed.getIndex(1234));
+		for (int i=0; i<5000; i++) {
+			if (i != 1234) {
+				Assert.assertSame(big.getIndex(i), changed.getIndex(i));
+			}
+		}
+	}
+	
+	@Test
+	public void testRandomVersions() {
+		Random rand = new Random(13);
+		List<PersistentVector<Integer>> versions = new ArrayList<>();
+		List<List<Integer>> expected = new ArrayList<>();
+		PersistentVector<Integer> data = PersistentVector.empty();
+		List<Integer> model = new ArrayList<>();
+		for (int step=0; step<3000; step++) {
+			int choice = rand.nextInt(10);
+			if (model.isEmpty() || choice < 6) {
+				data = data.withBack(step);
+				model.add(step);
+			} else if (choice < 8) {
+				int where = rand.nextInt(model.size());
+				data = data.withIndex(where, -step);
+				model.set(where, -step);
+			} else {
+				data = data.withoutBack();
+				model.remove(model.size() - 1);
+			}
+			if (step % 100 == 0) {
+				versions.add(data);
+				expected.add(new ArrayList<>(model));
+			}
+		}
+		Assert.assertEquals(model, data.toJava());
+		for (int v=0; v<versions.size(); v++) {
+			Assert.assertEquals(expected.get(v), versions.get(v).toJava());
+		}
+	}
+	
+	@Test
+	public void testBuilder() {
+		PersistentVector.Builder<Integer> builder = PersistentVector.builder();
+		for (int i=0; i<2000; i++) {
+			builder.addBack(i);
+		}
+		builder.setIndex(5, -5);
+		builder.setIndex(1999, -1999);
+		Assert.assertEquals(1999, -builder.removeBack());
+		Assert.assertEquals(1999, builder.size());
+		PersistentVector<Integer> data = builder.build();
+		Assert.assertEquals(1999, data.size());
+		Assert.assertEquals(-5, (int) data.getIndex(5));
+		Assert.assertEquals(1998, (int) data.getBack());
+	}
+	
+	@Test
+	public void testBuilderRemoveAcrossTail() {
+		PersistentVector.Builder<Integer> builder = PersistentVector.builder();
+		for (int i=0; i<1100; i++) {
+			builder.addBack(i);
+		}
+		for (int i=1099; i>=10; i--) {
+			Assert.assertEquals(i, (int) builder.removeBack());
+		}
+		for (int i=10; i<50; i++) {
+			builder.addBack(i);
+		}
+		Assert.assertEquals(countTo(50), builder.build());
+	}
+	
+	@Test
+	public void testBuilderLeavesStartAlone() {
+		PersistentVector<Integer> start = countTo(3000);
+		PersistentVector.Builder<Integer> builder = start.toBuilder();
+		for (int i=0; i<3000; i+=7) {
+			builder.setIndex(i, -i);
+		}
+		while (builder.size() > 1000) {
+			builder.removeBack();
+		}
+		builder.addBack(-1);
+		PersistentVector<Integer> changed = builder.build();
+		Assert.assertEquals(countTo(3000), start);
+		Assert.assertEquals(1001, changed.size());
+		Assert.assertEquals(-7, (int) changed.getIndex(7));
+		Assert.assertEquals(8, (int) changed.getIndex(8));
+		Assert.assertEquals(-1, (int) changed.getBack());
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void testBuilderAfterBuild() {
+		PersistentVector.Builder<String> builder = PersistentVector.builder();
+		builder.addBack("a");
+		builder.build();
+		builder.addBack("b");
+	}
+	
+	@Test
+	public void testWithAllBack() {
+		PersistentVector<String> data = makeABCDList();
+		PersistentVector<String> more = data.withAllBack(Arrays.asList("e", "f"));
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), data.toJava());
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e", "f"), more.toJava());
+		Assert.assertEquals(Arrays.asList("x", "y"), PersistentVector.from(Arrays.asList("x", "y")).toJava());
+	}
+	
+	@Test
+	public void testMutatorsUnsupported() {
+		ListADT<String> data = makeABCDList();
+		List<Runnable> changes = Arrays.asList(
+				() -> data.addBack("x"),
+				() -> data.addFront("x"),
+				() -> data.addIndex(1, "x"),
+				() -> data.setIndex(1, "x"),
+				() -> data.removeBack(),
+				() -> data.removeFront(),
+				() -> data.removeIndex(1),
+				() -> data.removeRange(1, 2),
+				() -> data.removeIf(x -> true),
+				() -> data.addAllBack(Arrays.asList("x")),
+				() -> data.clear());
+		for (Runnable change : changes) {
+			try {
+				change.run();
+				Assert.fail("a PersistentVector should never change");
+			} catch (UnsupportedOperationException expected) {
+				// good.
+			}
+		}
+		Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), data.toJava());
+	}
+	
+	@Test
+	public void testIteratorEnd() {
+		Iterator<String> it = makeABCDList().iterator();
+		for (int i=0; i<4; i++) {
+			it.next();
+		}
+		try {
+			it.next();
+			Assert.fail("next() past the end should crash");
+		} catch (NoSuchElementException expected) {
+			// good.
+		}
+	}
+	
+	@Test
+	public void testEqualsAndHashCode() {
+		PersistentVector<String> data = makeABCDList();
+		ListADT<String> same = new JavaList<>(Arrays.asList("a", "b", "c", "d"));
+		Assert.assertEquals(data, same);
+		Assert.assertEquals(same, data);
+		Assert.assertEquals(same.hashCode(), data.hashCode());
+		// the second time comes from the cache.
+		Assert.assertEquals(same.hashCode(), data.hashCode());
+		Assert.assertNotEquals(data, data.withIndex(0, "z"));
+		Assert.assertEquals(data, data.withBack("e").withoutBack());
+	}
+	
+	@Test
+	public void testStream() {
+		PersistentVector<Integer> data = countTo(1000);
+		List<Integer> expected = new ArrayList<>(data.toJava());
+		Assert.assertEquals(expected, data.stream().collect(Collectors.toList()));
+		Assert.assertEquals(999 * 1000 / 2, data.parallelStream().mapToInt(x -> x).sum());
+	}
+}
@@ -0,0 +1,255 @@
+package edu.smith.cs.csc212.adtr.primitive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.smith.cs.csc212.adtr.ListADT;
+import edu.smith.cs.csc212.adtr.errors.BadIndexError;
+import edu.smith.cs.csc212.adtr.errors.EmptyListError;
+import edu.smith.cs.csc212.adtr.errors.RanOutOfSpaceError;
+
+
+public class DoubleFixedSizeListTest {
+
+	/**
+	 * Make a new empty list.
+	 * @return an empty list to be tested.
+	 */
+	private DoubleFixedSizeList makeEmptyList() {
+		return new DoubleFixedSizeList(100);
+	}
+
+	/**
+	 * Helper method to make a full list.
+	 * @return [1, 2, 3, 4] - a small, predictable list for many tests.
+	 */
+	private DoubleFixedSizeList make1234List() {
+		DoubleFixedSizeList data = makeEmptyList();
+		data.addBack(1);
+		data.addBack(2);
+		data.addBack(3);
+		data.addBack(4);
+		return data;
+	}
+
+	/**
+	 * Compare without worrying about which kind of number it is.
+	 */
+	private static void assertItem(int expected, double actual) {
+		Assert.assertEquals((double) expected, actual, 0.0);
+	}
+
+	/**
+	 * Check the whole list, in order.
+	 */
+	private static void assertItems(DoubleListADT data, int... expected) {
+		Assert.assertEquals(expected.length, data.size());
+		for (int i=0; i<expected.length; i++) {
+			assertItem(expected[i], data.getIndex(i));
+		}
+	}
+
+	@Test
+	public void testEmpty() {
+		DoubleFixedSizeList data = makeEmptyList();
+		Assert.assertEquals(0, data.size());
+		Assert.assertEquals(true, data.isEmpty());
+		Assert.assertEquals(0, data.toArray().length);
+		Assert.assertEquals("[]", data.toString());
+	}
+
+	@Test(expected=EmptyListError.class)
+	public void testRemoveFrontCrash() {
+		makeEmptyList().removeFront();
+	}
+
+	@Test(expected=EmptyListError.class)
+	public void testRemoveBackCrash() {
+		makeEmptyList().removeBack();
+	}
+
+	@Test(expected=EmptyListError.class)
+	public void testRemoveIndexCrash() {
+		makeEmptyList().removeIndex(3);
+	}
+
+	@Test(expected=EmptyListError.class)
+	public void testGetFrontCrash() {
+		makeEmptyList().getFront();
+	}
+
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexHighCrash() {
+		make1234List().getIndex(4);
+	}
+
+	@Test(expected=BadIndexError.class)
+	public void testGetIndexLowCrash() {
+		make1234List().getIndex(-1);
+	}
+
+	@Test(expected=BadIndexError.class)
+	public void testAddIndexHighCrash() {
+		make1234List().addIndex(5, 7);
+	}
+
+	@Test(expected=BadIndexError.class)
+	public void testSetIndexHighCrash() {
+		make1234List().setIndex(4, 7);
+	}
+
+	@Test
+	public void testAddFrontAndBack() {
+		DoubleFixedSizeList data = makeEmptyList();
+		data.addFront(2);
+		data.addFront(1);
+		data.addBack(3);
+		assertItems(data, 1, 2, 3);
+		assertItem(1, data.getFront());
+		assertItem(3, data.getBack());
+	}
+
+	@Test
+	public void testAddIndex() {
+		DoubleFixedSizeList data = make1234List();
+		data.addIndex(0, 0);
+		data.addIndex(3, 9);
+		data.addIndex(6, 5);
+		assertItems(data, 0, 1, 2, 9, 3, 4, 5);
+	}
+
+	@Test
+	public void testRemove() {
+		DoubleFixedSizeList data = make1234List();
+		assertItem(1, data.removeFront());
+		assertItem(4, data.removeBack());
+		assertItems(data, 2, 3);
+		assertItem(3, data.removeIndex(1));
+		assertItem(2, data.removeIndex(0));
+		Assert.assertTrue(data.isEmpty());
+	}
+
+	@Test
+	public void testSetIndex() {
+		DoubleFixedSizeList data = make1234List();
+		data.setIndex(0, 7);
+		data.setIndex(3, 8);
+		assertItems(data, 7, 2, 3, 8);
+	}
+
+	@Test
+	public void testClear() {
+		DoubleFixedSizeList data = make1234List();
+		data.clear();
+		Assert.assertEquals(0, data.size());
+		data.addBack(5);
+		assertItems(data, 5);
+	}
+
+	@Test
+	public void testToArrayAndString() {
+		DoubleFixedSizeList data = make1234List();
+		double[] array = data.toArray();
+		Assert.assertEquals(4, array.length);
+		for (int i=0; i<4; i++) {
+			assertItem(i+1, array[i]);
+		}
+		Assert.assertEquals(java.util.Arrays.toString(array), data.toString());
+	}
+
+	@Test
+	public void testForEachReduceStream() {
+		DoubleFixedSizeList data = make1234List();
+		List<Double> seen = new ArrayList<>();
+		data.forEach(x -> seen.add(x));
+		Assert.assertEquals(4, seen.size());
+		assertItem(10, data.reduce(0, (a, b) -> a + b));
+		assertItem(24, data.reduce(1, (a, b) -> a * b));
+		assertItem(10, data.stream().sum());
+		assertItem(6, data.stream().filter(x -> x % 2 == 0).sum());
+		assertItem(0, makeEmptyList().stream().sum());
+	}
+
+	@Test
+	public void testAsList() {
+		DoubleFixedSizeList data = make1234List();
+		ListADT<Double> boxed = data.asList();
+		Assert.assertEquals(4, boxed.size());
+		assertItem(3, boxed.getIndex(2));
+		// changes go both ways.
+		boxed.addBack(5.0);
+		boxed.removeFront();
+		data.setIndex(0, 9);
+		assertItems(data, 9, 3, 4, 5);
+		Assert.assertEquals(data.toString(), boxed.toString());
+		Assert.assertEquals("9,3,4,5",
+				boxed.stream().map(x -> Integer.toString(x.intValue())).collect(Collectors.joining(",")));
+	}
+
+	@Test(expected=java.util.ConcurrentModificationException.class)
+	public void testAsListIteratorFailFast() {
+		DoubleFixedSizeList data = make1234List();
+		for (Double x : data.asList()) {
+			if (x.intValue() == 2) {
+				data.addBack(5);
+			}
+		}
+	}
+
+	@Test
+	public void testRandomAgainstBoxed() {
+		Random rand = new Random(42);
+		DoubleFixedSizeList data = makeEmptyList();
+		List<Integer> expected = new ArrayList<>();
+		for (int step=0; step<2000; step++) {
+			int op = rand.nextInt(4);
+			if (op < 2 && expected.size() < 100) {
+				int index = rand.nextInt(expected.size()+1);
+				int value = rand.nextInt(1000);
+				data.addIndex(index, value);
+				expected.add(index, value);
+			} else if (op == 2 && !expected.isEmpty()) {
+				int index = rand.nextInt(expected.size());
+				assertItem(expected.remove(index), data.removeIndex(index));
+			} else if (!expected.isEmpty()) {
+				int index = rand.nextInt(expected.size());
+				data.setIndex(index, step);
+				expected.set(index, step);
+			}
+		}
+		int[] all = new int[expected.size()];
+		for (int i=0; i<all.length; i++) {
+			all[i] = expected.get(i);
+		}
+		assertItems(data, all);
+	}
+
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddBackFullCrash() {
+		DoubleFixedSizeList data = new DoubleFixedSizeList(4);
+		data.addBack(1);
+		data.addBack(2);
+		data.addBack(3);
+		data.addBack(4);
+		Assert.assertTrue(data.isFull());
+		data.addBack(5);
+	}
+
+	@Test(expected=RanOutOfSpaceError.class)
+	public void testAddIndexFullCrash() {
+		DoubleFixedSizeList data = new DoubleFixedSizeList(1);
+		data.addBack(1);
+		data.addIndex(0, 2);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testNegativeSizeCrash() {
+		new DoubleFixedSizeList(-1);
+	}
+
+}